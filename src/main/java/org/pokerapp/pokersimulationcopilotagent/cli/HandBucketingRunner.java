@@ -0,0 +1,76 @@
+package org.pokerapp.pokersimulationcopilotagent.cli;
+
+import org.pokerapp.pokersimulationcopilotagent.service.HandBucketingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for the offline hand bucketing job, only active when {@code poker.buckets.output} is set.
+ * Rerunning the same command after an interruption resumes from the work directory:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --poker.buckets.street=flop --poker.buckets.output=flop.buckets
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(prefix = "poker.buckets", name = "output")
+public class HandBucketingRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HandBucketingRunner.class);
+
+    private final HandBucketingService bucketingService;
+
+    @Value("${poker.buckets.output}")
+    private String output;
+
+    @Value("${poker.buckets.work-dir:}")
+    private String workDir;
+
+    @Value("${poker.buckets.street:flop}")
+    private String street;
+
+    @Value("${poker.buckets.bins:" + HandBucketingService.DEFAULT_BINS + "}")
+    private int bins;
+
+    @Value("${poker.buckets.buckets:" + HandBucketingService.DEFAULT_BUCKETS + "}")
+    private int buckets;
+
+    @Value("${poker.buckets.iterations:" + HandBucketingService.DEFAULT_ITERATIONS + "}")
+    private int iterations;
+
+    @Value("${poker.buckets.runouts:0}")
+    private int runouts;
+
+    @Value("${poker.buckets.seed:0}")
+    private long seed;
+
+    @Value("${poker.buckets.hands:0}")
+    private int hands;
+
+    public HandBucketingRunner(HandBucketingService bucketingService) {
+        this.bucketingService = bucketingService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        HandBucketingService.Job job = new HandBucketingService.Job(
+                HandBucketingService.Street.valueOf(street.toUpperCase()), bins, buckets, iterations, runouts, seed, hands);
+        Path outputPath = Path.of(output);
+        Path workPath = workDir.isEmpty() ? Path.of(output + ".work") : Path.of(workDir);
+
+        log.info("Bucketing {} hands into {} buckets, work directory {}", street, buckets, workPath);
+        HandBucketingService.BucketingSummary summary = bucketingService.run(job, workPath, outputPath,
+                (phase, done, total) -> log.info("{}: {} / {}", phase, done, total));
+
+        log.info("Wrote {} {} hands in {} buckets to {} after {} k-means iterations ({}), {} hands resumed, {} ms",
+                summary.getHands(), summary.getStreet(), summary.getBuckets(), outputPath, summary.getIterations(),
+                summary.isConverged() ? "converged" : "not converged", summary.getResumedHands(),
+                summary.getElapsedMillis());
+    }
+}
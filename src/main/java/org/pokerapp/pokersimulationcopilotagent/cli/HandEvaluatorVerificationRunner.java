@@ -0,0 +1,66 @@
+package org.pokerapp.pokersimulationcopilotagent.cli;
+
+import org.pokerapp.pokersimulationcopilotagent.config.HandEvaluatorConfiguration;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluator;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluatorVerifier;
+import org.pokerapp.pokersimulationcopilotagent.service.ReferenceHandEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point for the exhaustive comparison of two hand evaluator engines, only active when
+ * {@code poker.verify.engine} is set:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --poker.verify.engine=bitmask --poker.verify.cards=7
+ * </pre>
+ * Any mismatch fails the application run, so the process exits with a non-zero status.
+ */
+@Component
+@ConditionalOnProperty(prefix = "poker.verify", name = "engine")
+public class HandEvaluatorVerificationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HandEvaluatorVerificationRunner.class);
+
+    private final Map<String, HandEvaluator> engines;
+    private final HandEvaluatorVerifier verifier;
+
+    @Value("${poker.verify.engine}")
+    private String engine;
+
+    @Value("${poker.verify.reference:" + ReferenceHandEvaluator.ENGINE_NAME + "}")
+    private String reference;
+
+    @Value("${poker.verify.cards:7}")
+    private int cards;
+
+    public HandEvaluatorVerificationRunner(List<HandEvaluator> engines, HandEvaluatorVerifier verifier) {
+        this.engines = HandEvaluatorConfiguration.byName(engines);
+        this.verifier = verifier;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        HandEvaluator candidate = HandEvaluatorConfiguration.engine(engines, engine);
+        HandEvaluator baseline = HandEvaluatorConfiguration.engine(engines, reference);
+
+        log.info("Comparing hand evaluator engine '{}' with '{}' on all {}-card hands", engine, reference, cards);
+        HandEvaluatorVerifier.VerificationReport report = verifier.verifyExhaustive(candidate, baseline, cards);
+
+        if (!report.isPassed()) {
+            throw new IllegalStateException(String.format(
+                    "Engines '%s' and '%s' disagree on %d of %d hands, first mismatch: %s (%d ms)",
+                    report.getEngine(), report.getReference(), report.getMismatches(), report.getHands(),
+                    HandEvaluatorVerifier.describe(report.getFirstMismatch()), report.getElapsedMillis()));
+        }
+        log.info("Engines '{}' and '{}' agree on all {} hands ({} ms)",
+                report.getEngine(), report.getReference(), report.getHands(), report.getElapsedMillis());
+    }
+}
@@ -0,0 +1,59 @@
+package org.pokerapp.pokersimulationcopilotagent.cli;
+
+import org.pokerapp.pokersimulationcopilotagent.service.HandHistoryIngestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for ingesting a hand-history file, only active when {@code poker.ingest.input} is set:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --poker.ingest.input=hands.ndjson
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(prefix = "poker.ingest", name = "input")
+public class HandHistoryIngestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HandHistoryIngestRunner.class);
+
+    private final HandHistoryIngestService ingestService;
+
+    @Value("${poker.ingest.input}")
+    private String input;
+
+    @Value("${poker.ingest.output:}")
+    private String output;
+
+    @Value("${poker.ingest.format:}")
+    private String format;
+
+    @Value("${poker.ingest.samples:" + HandHistoryIngestService.DEFAULT_SAMPLES + "}")
+    private int samples;
+
+    public HandHistoryIngestRunner(HandHistoryIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path inputPath = Path.of(input);
+        Path outputPath = output.isEmpty() ? Path.of(input + ".results.ndjson") : Path.of(output);
+        HandHistoryIngestService.Format inputFormat = format.isEmpty()
+                ? HandHistoryIngestService.Format.fromPath(inputPath)
+                : HandHistoryIngestService.Format.valueOf(format.toUpperCase());
+
+        HandHistoryIngestService.IngestSummary summary =
+                ingestService.ingest(inputPath, outputPath, inputFormat, samples);
+
+        log.info("Ingested {} hands ({} invalid) from {} into {} in {} ms, {} MB/s",
+                summary.getHands(), summary.getErrors(), inputPath, outputPath,
+                summary.getElapsedNanos() / 1_000_000, String.format("%.1f", summary.getMegabytesPerSecond()));
+    }
+}
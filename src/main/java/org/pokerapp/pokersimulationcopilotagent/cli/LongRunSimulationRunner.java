@@ -0,0 +1,98 @@
+package org.pokerapp.pokersimulationcopilotagent.cli;
+
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.service.LongRunSimulationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line entry point for long reference simulations, only active when {@code poker.longrun.checkpoint} is set.
+ * Hands are separated by {@code ;}, {@code random} deals a random hand; rerunning the same command after an
+ * interruption resumes from the checkpoint:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --poker.longrun.checkpoint=aks-qq.checkpoint \
+ *     --poker.longrun.hands="AS KS;QD QC" --poker.longrun.samples=1000000000 --poker.longrun.seed=1
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(prefix = "poker.longrun", name = "checkpoint")
+public class LongRunSimulationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LongRunSimulationRunner.class);
+
+    private final LongRunSimulationService longRunSimulationService;
+
+    @Value("${poker.longrun.checkpoint}")
+    private String checkpoint;
+
+    @Value("${poker.longrun.hands}")
+    private String hands;
+
+    @Value("${poker.longrun.board:}")
+    private String board;
+
+    @Value("${poker.longrun.samples}")
+    private long samples;
+
+    @Value("${poker.longrun.seed:0}")
+    private long seed;
+
+    @Value("${poker.longrun.chunk-size:" + LongRunSimulationService.DEFAULT_CHUNK_SIZE + "}")
+    private int chunkSize;
+
+    public LongRunSimulationRunner(LongRunSimulationService longRunSimulationService) {
+        this.longRunSimulationService = longRunSimulationService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        LongRunSimulationService.Job job = new LongRunSimulationService.Job(spec(), samples, seed, chunkSize);
+
+        log.info("Simulating {} samples, checkpoint {}", samples, checkpoint);
+        LongRunSimulationService.LongRunSummary summary = longRunSimulationService.run(job, Path.of(checkpoint),
+                (done, total) -> log.info("{} / {} samples ({}%)", done, total, String.format("%.1f", done * 100.0 / total)));
+
+        for (int p = 0; p < summary.getPlayerNames().size(); p++) {
+            log.info("{}: {} wins ({}%)", summary.getPlayerNames().get(p), summary.getWins()[p],
+                    String.format("%.6f", summary.winPercentage(p)));
+        }
+        log.info("Ties: {} ({}%), {} samples resumed, {} ms", summary.getTies(),
+                String.format("%.6f", summary.tiePercentage()), summary.getResumedSamples(), summary.getElapsedMillis());
+    }
+
+    private SimulationSpec spec() {
+        String[] players = hands.split(";");
+        List<String> names = new ArrayList<>(players.length);
+        int[] holeCards = new int[players.length * 2];
+        for (int p = 0; p < players.length; p++) {
+            names.add("Player " + (p + 1));
+            String hand = players[p].trim();
+            if (hand.equalsIgnoreCase("random")) {
+                holeCards[2 * p] = SimulationSpec.RANDOM_CARD;
+                holeCards[2 * p + 1] = SimulationSpec.RANDOM_CARD;
+                continue;
+            }
+            String[] cards = hand.split("\\s+");
+            if (cards.length != 2) {
+                throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
+            }
+            holeCards[2 * p] = Cards.parse(cards[0]);
+            holeCards[2 * p + 1] = Cards.parse(cards[1]);
+        }
+        int[] communityCards = board.isBlank()
+                ? new int[0]
+                : Arrays.stream(board.trim().split("\\s+")).mapToInt(Cards::parse).toArray();
+        return new SimulationSpec(names, holeCards, communityCards, Math.min(chunkSize, SimulationSpec.MAX_SIMULATIONS));
+    }
+}
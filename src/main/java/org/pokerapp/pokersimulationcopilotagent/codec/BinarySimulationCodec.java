@@ -0,0 +1,136 @@
+package org.pokerapp.pokersimulationcopilotagent.codec;
+
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.http.MediaType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact big-endian binary encoding of simulation requests and results.
+ *
+ * <pre>
+ * request:  u8 version, u8 playerCount, u8 communityCount, i32 numberOfSimulations,
+ *           playerCount * 2 x u8 hole card index (0xFF 0xFF for a random player), communityCount x u8 card index
+ * response: u8 version, u8 playerCount, i32 totalSimulations, i32 ties,
+ *           playerCount x (i32 wins, u8 bestHandRank value or 0)
+ * </pre>
+ *
+ * Card indices are those of {@link org.pokerapp.pokersimulationcopilotagent.model.Cards}.
+ * Players are named "Player 1" to "Player n" in request order.
+ */
+public final class BinarySimulationCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-poker-simulation";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int VERSION = 1;
+
+    private static final int RANDOM_CARD = 0xFF;
+
+    private BinarySimulationCodec() {
+    }
+
+    public static SimulationSpec decodeRequest(ByteBuffer buffer) {
+        try {
+            int version = buffer.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary format version: " + version);
+            }
+            int playerCount = buffer.get() & 0xFF;
+            int communityCount = buffer.get() & 0xFF;
+            int numberOfSimulations = buffer.getInt();
+
+            List<String> names = new ArrayList<>(playerCount);
+            int[] holeCards = new int[playerCount * 2];
+            for (int i = 0; i < holeCards.length; i++) {
+                int card = buffer.get() & 0xFF;
+                holeCards[i] = card == RANDOM_CARD ? SimulationSpec.RANDOM_CARD : card;
+            }
+            for (int p = 0; p < playerCount; p++) {
+                names.add("Player " + (p + 1));
+            }
+
+            int[] communityCards = new int[communityCount];
+            for (int i = 0; i < communityCount; i++) {
+                communityCards[i] = buffer.get() & 0xFF;
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected trailing bytes in binary request");
+            }
+
+            return new SimulationSpec(names, holeCards, communityCards, numberOfSimulations);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary request");
+        }
+    }
+
+    public static byte[] encodeRequest(SimulationSpec spec) {
+        ByteBuffer buffer = ByteBuffer.allocate(7 + spec.getHoleCards().length + spec.getCommunityCards().length);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) spec.getPlayerCount());
+        buffer.put((byte) spec.getCommunityCards().length);
+        buffer.putInt(spec.getNumberOfSimulations());
+        for (int card : spec.getHoleCards()) {
+            buffer.put((byte) (card == SimulationSpec.RANDOM_CARD ? RANDOM_CARD : card));
+        }
+        for (int card : spec.getCommunityCards()) {
+            buffer.put((byte) card);
+        }
+        return buffer.array();
+    }
+
+    public static byte[] encodeResult(SimulationResult result) {
+        int players = result.getWins().length;
+        ByteBuffer buffer = ByteBuffer.allocate(10 + players * 5);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) players);
+        buffer.putInt(result.getTotalSimulations());
+        buffer.putInt(result.getTies());
+        for (int p = 0; p < players; p++) {
+            buffer.putInt(result.getWins()[p]);
+            HandRank bestHandRank = result.getBestHandRanks() != null ? result.getBestHandRanks()[p] : null;
+            buffer.put((byte) (bestHandRank != null ? bestHandRank.getValue() : 0));
+        }
+        return buffer.array();
+    }
+
+    public static SimulationResult decodeResult(ByteBuffer buffer) {
+        try {
+            int version = buffer.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary format version: " + version);
+            }
+            int players = buffer.get() & 0xFF;
+            int totalSimulations = buffer.getInt();
+            int ties = buffer.getInt();
+
+            int[] wins = new int[players];
+            HandRank[] bestHandRanks = new HandRank[players];
+            boolean hasHandRanks = false;
+            for (int p = 0; p < players; p++) {
+                wins[p] = buffer.getInt();
+                int handRank = buffer.get() & 0xFF;
+                if (handRank > HandRank.values().length) {
+                    throw new IllegalArgumentException("Invalid hand rank in binary result: " + handRank);
+                }
+                if (handRank != 0) {
+                    bestHandRanks[p] = HandRank.values()[handRank - 1];
+                    hasHandRanks = true;
+                }
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected trailing bytes in binary result");
+            }
+
+            return new SimulationResult(wins, ties, totalSimulations, hasHandRanks ? bestHandRanks : null);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary result");
+        }
+    }
+}
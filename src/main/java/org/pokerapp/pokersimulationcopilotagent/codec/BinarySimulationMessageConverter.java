@@ -0,0 +1,55 @@
+package org.pokerapp.pokersimulationcopilotagent.codec;
+
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads {@link SimulationSpec} and writes {@link SimulationResult} in the
+ * {@link BinarySimulationCodec} media type. Registered with Spring MVC as a bean.
+ */
+@Component
+public class BinarySimulationMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public BinarySimulationMessageConverter() {
+        super(BinarySimulationCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SimulationSpec.class == clazz || SimulationResult.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return SimulationSpec.class == clazz && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return SimulationResult.class == clazz && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            return BinarySimulationCodec.decodeRequest(ByteBuffer.wrap(body));
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object result, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(BinarySimulationCodec.encodeResult((SimulationResult) result));
+    }
+}
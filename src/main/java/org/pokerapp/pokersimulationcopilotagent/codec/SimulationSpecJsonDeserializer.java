@@ -0,0 +1,192 @@
+package org.pokerapp.pokersimulationcopilotagent.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming deserializer reading the JSON simulation request (same shape as
+ * {@link org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest}) straight into a
+ * {@link SimulationSpec}. Card tokens are parsed from the parser's character buffer into card indices,
+ * format and duplicate checks happen while reading, so no String lists or Card objects are created.
+ * Validation failures surface as {@link JsonMappingException} caused by an {@link IllegalArgumentException}.
+ */
+@JsonComponent
+public class SimulationSpecJsonDeserializer extends StdDeserializer<SimulationSpec> {
+
+    public SimulationSpecJsonDeserializer() {
+        super(SimulationSpec.class);
+    }
+
+    @Override
+    public SimulationSpec deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        try {
+            return read(parser);
+        } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(parser, e.getMessage(), e);
+        }
+    }
+
+    private SimulationSpec read(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, "request object");
+
+        State state = new State();
+        int numberOfSimulations = 0;
+        boolean perStreet = false;
+        Long seed = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "players":
+                    readPlayers(parser, value, state);
+                    break;
+                case "communityCards":
+                    readCommunityCards(parser, value, state);
+                    break;
+                case "numberOfSimulations":
+                    numberOfSimulations = value == JsonToken.VALUE_NULL ? 0 : parser.getValueAsInt();
+                    break;
+                case "perStreet":
+                    perStreet = parser.getValueAsBoolean();
+                    break;
+                case "seed":
+                    if (value != JsonToken.VALUE_NULL) {
+                        expect(value, JsonToken.VALUE_NUMBER_INT, "integer seed");
+                        seed = parser.getLongValue();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        if (state.names.isEmpty()) {
+            throw new IllegalArgumentException("At least one player is required");
+        }
+
+        return new SimulationSpec(state.names, Arrays.copyOf(state.holeCards, state.names.size() * 2),
+                Arrays.copyOf(state.communityCards, state.communityCount), numberOfSimulations, perStreet, seed);
+    }
+
+    private void readPlayers(JsonParser parser, JsonToken value, State state) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(value, JsonToken.START_ARRAY, "players array");
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser.currentToken(), JsonToken.START_OBJECT, "player object");
+            String name = null;
+            int holeCardCount = 0;
+            boolean random = false;
+            int player = state.names.size();
+            state.ensurePlayerCapacity(player + 1);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("name".equals(field)) {
+                    if (fieldValue != JsonToken.VALUE_NULL) {
+                        expect(fieldValue, JsonToken.VALUE_STRING, "player name string");
+                        name = parser.getText();
+                    }
+                } else if ("random".equals(field)) {
+                    if (fieldValue != JsonToken.VALUE_NULL && !fieldValue.isBoolean()) {
+                        throw new IllegalArgumentException("Expected random flag boolean but found " + fieldValue);
+                    }
+                    random = fieldValue == JsonToken.VALUE_TRUE;
+                } else if ("holeCards".equals(field) && fieldValue == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (holeCardCount == 2) {
+                            throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
+                        }
+                        state.holeCards[2 * player + holeCardCount++] = state.use(parseCard(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Player name cannot be empty");
+            }
+            if (random) {
+                if (holeCardCount != 0) {
+                    throw new IllegalArgumentException("Random players cannot have hole cards");
+                }
+                state.holeCards[2 * player] = SimulationSpec.RANDOM_CARD;
+                state.holeCards[2 * player + 1] = SimulationSpec.RANDOM_CARD;
+            } else if (holeCardCount != 2) {
+                throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
+            }
+            state.names.add(name);
+        }
+    }
+
+    private void readCommunityCards(JsonParser parser, JsonToken value, State state) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(value, JsonToken.START_ARRAY, "communityCards array");
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (state.communityCount == 5) {
+                throw new IllegalArgumentException("Cannot have more than 5 community cards");
+            }
+            state.communityCards[state.communityCount++] = state.use(parseCard(parser));
+        }
+    }
+
+    private static int parseCard(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException("Invalid card format: " + parser.getText());
+        }
+        return Cards.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String what) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Expected " + what + " but found " + actual);
+        }
+    }
+
+    /**
+     * Mutable parse state of one request
+     */
+    private static class State {
+        private final List<String> names = new ArrayList<>();
+        private int[] holeCards = new int[18];
+        private final int[] communityCards = new int[5];
+        private int communityCount;
+        private long usedCards;
+
+        void ensurePlayerCapacity(int players) {
+            if (holeCards.length < players * 2) {
+                holeCards = Arrays.copyOf(holeCards, Math.max(players * 2, holeCards.length * 2));
+            }
+        }
+
+        /**
+         * Mark a card as used, rejecting duplicates as soon as they are read
+         */
+        int use(int card) {
+            long bit = 1L << card;
+            if ((usedCards & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+            }
+            usedCards |= bit;
+            return card;
+        }
+    }
+}
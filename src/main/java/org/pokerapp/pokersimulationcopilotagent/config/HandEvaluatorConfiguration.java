@@ -0,0 +1,89 @@
+package org.pokerapp.pokersimulationcopilotagent.config;
+
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluator;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluatorService;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluatorVerifier;
+import org.pokerapp.pokersimulationcopilotagent.service.ReferenceHandEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the {@link HandEvaluator} engine injected into the simulation and showdown services by
+ * {@code poker.evaluator.engine} (default {@value HandEvaluatorService#ENGINE_NAME}) among all {@link HandEvaluator}
+ * components. Every engine except the reference one is self-checked against the reference engine before the application starts.
+ */
+@Configuration
+public class HandEvaluatorConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(HandEvaluatorConfiguration.class);
+
+    /**
+     * Engine beans by {@link HandEvaluator#name()}, the reference engine first
+     *
+     * @throws IllegalStateException when two different engines share a name
+     */
+    public static Map<String, HandEvaluator> byName(Collection<? extends HandEvaluator> engines) {
+        Map<String, HandEvaluator> byName = new LinkedHashMap<>();
+        engines.stream()
+                .filter(engine -> engine.name().equals(ReferenceHandEvaluator.ENGINE_NAME))
+                .forEach(engine -> put(byName, engine));
+        engines.forEach(engine -> put(byName, engine));
+        return byName;
+    }
+
+    private static void put(Map<String, HandEvaluator> byName, HandEvaluator engine) {
+        HandEvaluator existing = byName.putIfAbsent(engine.name(), engine);
+        if (existing != null && existing != engine) {
+            throw new IllegalStateException("Hand evaluator engine name used twice: " + engine.name());
+        }
+    }
+
+    /**
+     * Engine of the given name
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static HandEvaluator engine(Map<String, HandEvaluator> engines, String name) {
+        HandEvaluator engine = engines.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown hand evaluator engine: " + name
+                    + " (available: " + String.join(", ", engines.keySet()) + ")");
+        }
+        return engine;
+    }
+
+    /**
+     * The engine list never contains the bean being created here, only the {@link HandEvaluator} components
+     */
+    @Bean
+    @Primary
+    public HandEvaluator handEvaluator(List<HandEvaluator> engineBeans, HandEvaluatorVerifier verifier,
+                                       @Value("${poker.evaluator.engine:" + HandEvaluatorService.ENGINE_NAME + "}")
+                                       String name) {
+        Map<String, HandEvaluator> engines = byName(engineBeans);
+        HandEvaluator selected = engine(engines, name);
+        HandEvaluator reference = engine(engines, ReferenceHandEvaluator.ENGINE_NAME);
+
+        for (HandEvaluator engine : engines.values()) {
+            if (engine.name().equals(reference.name())) {
+                continue;
+            }
+            long start = System.nanoTime();
+            verifier.selfCheck(engine, reference);
+            log.info("Hand evaluator engine '{}' passed its self-check against '{}' in {} ms",
+                    engine.name(), reference.name(), (System.nanoTime() - start) / 1_000_000);
+        }
+
+        log.info("Using hand evaluator engine '{}'", selected.name());
+        return selected;
+    }
+}
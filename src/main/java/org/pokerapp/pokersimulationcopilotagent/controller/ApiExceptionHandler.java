@@ -0,0 +1,42 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+/**
+ * Error handling shared by all poker API controllers
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Malformed or invalid request bodies
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableRequest(HttpMessageNotReadableException e) {
+        Throwable cause = e.getMostSpecificCause();
+        String message = cause instanceof IllegalArgumentException ? cause.getMessage() : "Malformed request body";
+        return ErrorResponse.of(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Required query parameters that are missing
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(MissingServletRequestParameterException e) {
+        return ErrorResponse.of(HttpStatus.BAD_REQUEST, "Missing parameter: " + e.getParameterName());
+    }
+
+    /**
+     * Query parameters or path variables that do not convert to their type, such as a non-numeric seed
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        return ErrorResponse.of(HttpStatus.BAD_REQUEST, "Invalid value for parameter " + e.getName() + ": " + e.getValue());
+    }
+}
@@ -0,0 +1,29 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Simple error response class
+ */
+class ErrorResponse {
+    private final String error;
+
+    public ErrorResponse(String error) {
+        this.error = error;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Errors are always rendered as JSON, also for binary clients
+     */
+    static ResponseEntity<ErrorResponse> of(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(message));
+    }
+}
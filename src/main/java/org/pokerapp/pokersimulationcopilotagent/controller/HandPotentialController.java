@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.HandPotentialRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.HandPotentialService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for hand strength and hand potential metrics
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class HandPotentialController {
+
+    private final HandPotentialService handPotentialService;
+
+    public HandPotentialController(HandPotentialService handPotentialService) {
+        this.handPotentialService = handPotentialService;
+    }
+
+    /**
+     * Endpoint to compute HS, PPot, NPot and EHS of a hand against a random opponent
+     * POST /api/poker/potential
+     */
+    @PostMapping("/potential")
+    public ResponseEntity<?> computePotential(@RequestBody HandPotentialRequest request) {
+        try {
+            return ResponseEntity.ok(handPotentialService.compute(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.NutRankingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for river nut rankings
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class NutRankingController {
+
+    private final NutRankingService nutRankingService;
+
+    public NutRankingController(NutRankingService nutRankingService) {
+        this.nutRankingService = nutRankingService;
+    }
+
+    /**
+     * Endpoint to rank every two-card combo on a complete board, ties grouped
+     * POST /api/poker/nuts
+     */
+    @PostMapping("/nuts")
+    public ResponseEntity<?> rankCombos(@RequestBody NutRankingRequest request) {
+        try {
+            return ResponseEntity.ok(nutRankingService.rank(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
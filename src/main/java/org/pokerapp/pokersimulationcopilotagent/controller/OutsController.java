@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.OutsRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.OutsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for per-next-card equity breakdowns
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class OutsController {
+
+    private final OutsService outsService;
+
+    public OutsController(OutsService outsService) {
+        this.outsService = outsService;
+    }
+
+    /**
+     * Endpoint to compute every player's equity for each possible next board card
+     * POST /api/poker/outs
+     */
+    @PostMapping("/outs")
+    public ResponseEntity<?> analyzeOuts(@RequestBody OutsRequest request) {
+        try {
+            return ResponseEntity.ok(outsService.analyze(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
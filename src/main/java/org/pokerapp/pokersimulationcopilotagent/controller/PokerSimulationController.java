@@ -1,12 +1,20 @@
 package org.pokerapp.pokersimulationcopilotagent.controller;
 
+import org.pokerapp.pokersimulationcopilotagent.codec.BinarySimulationCodec;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
 import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
-import org.pokerapp.pokersimulationcopilotagent.dto.SimulationResponse;
-import org.pokerapp.pokersimulationcopilotagent.service.PokerSimulationService;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.service.SimulationBatchDispatcher;
+import org.pokerapp.pokersimulationcopilotagent.service.SimulationUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * REST Controller for poker simulation endpoints
  */
@@ -15,23 +23,31 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class PokerSimulationController {
 
-    private final PokerSimulationService pokerSimulationService;
+    private final SimulationBatchDispatcher simulationBatchDispatcher;
+    private final SimulationCachePolicy simulationCachePolicy;
 
-    public PokerSimulationController(PokerSimulationService pokerSimulationService) {
-        this.pokerSimulationService = pokerSimulationService;
+    public PokerSimulationController(SimulationBatchDispatcher simulationBatchDispatcher,
+                                     SimulationCachePolicy simulationCachePolicy) {
+        this.simulationBatchDispatcher = simulationBatchDispatcher;
+        this.simulationCachePolicy = simulationCachePolicy;
     }
 
     /**
      * Endpoint to simulate poker hands
      * POST /api/poker/simulate
+     * The JSON body is read straight into a {@link SimulationSpec}, see {@code SimulationSpecJsonDeserializer}.
+     * Deterministic results carry an ETag, see {@link SimulationCachePolicy}; as POST is not a safe method, a
+     * matching If-None-Match is answered with 412 instead of 304.
      */
     @PostMapping("/simulate")
-    public ResponseEntity<?> simulatePoker(@RequestBody SimulationRequest request) {
+    public ResponseEntity<?> simulatePoker(@RequestBody SimulationSpec spec,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            SimulationResponse response = pokerSimulationService.runSimulation(request);
-            return ResponseEntity.ok(response);
+            return cachedSimulation(spec, ifNoneMatch, false);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (SimulationUnavailableException e) {
+            return ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("An error occurred: " + e.getMessage()));
@@ -39,18 +55,101 @@ public class PokerSimulationController {
     }
 
     /**
-     * Simple error response class
+     * URL form of the simulate endpoint for edge caches, one {@code player} parameter per player as
+     * {@code name:card,card} or {@code name:random}. Deterministic results are answered with 304 on a matching
+     * If-None-Match.
+     * GET /api/poker/simulate?player=Alice:AS,KS&player=Bob:random&communityCards=JS,10S,9S&numberOfSimulations=10000&seed=7
      */
-    private static class ErrorResponse {
-        private final String error;
+    @GetMapping("/simulate")
+    public ResponseEntity<?> simulatePokerGet(@RequestParam(value = "player", required = false) List<String> players,
+                                              @RequestParam(required = false) String communityCards,
+                                              @RequestParam int numberOfSimulations,
+                                              @RequestParam(defaultValue = "false") boolean perStreet,
+                                              @RequestParam(required = false) Long seed,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            List<PlayerRequest> playerRequests = new ArrayList<>();
+            if (players != null) {
+                for (String player : players) {
+                    playerRequests.add(player(player));
+                }
+            }
+            List<String> board = communityCards == null || communityCards.isBlank()
+                    ? null
+                    : Arrays.asList(communityCards.split(","));
+            SimulationSpec spec = new SimulationRequest(playerRequests, board, numberOfSimulations, perStreet, seed)
+                    .toSpec();
+            return cachedSimulation(spec, ifNoneMatch, true);
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (SimulationUnavailableException e) {
+            return ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Binary variant of the simulate endpoint for high-frequency clients, selected by
+     * Content-Type/Accept {@value BinarySimulationCodec#MEDIA_TYPE_VALUE}.
+     * The request decodes straight into a {@link SimulationSpec}, the result is returned as raw counts.
+     */
+    @PostMapping(value = "/simulate",
+            consumes = BinarySimulationCodec.MEDIA_TYPE_VALUE,
+            produces = BinarySimulationCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<?> simulatePokerBinary(@RequestBody SimulationSpec spec) {
+        try {
+            return ResponseEntity.ok(simulationBatchDispatcher.simulate(spec));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (SimulationUnavailableException e) {
+            return ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
 
-        public ErrorResponse(String error) {
-            this.error = error;
+    /**
+     * Simulate unless If-None-Match matches the ETag of a deterministic result. RFC 9110 only allows 304 for
+     * GET and HEAD, any other method gets 412 and the simulation is not run.
+     */
+    private ResponseEntity<?> cachedSimulation(SimulationSpec spec, String ifNoneMatch, boolean safeMethod) {
+        String etag = simulationCachePolicy.etag(spec);
+        if (SimulationCachePolicy.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(safeMethod ? HttpStatus.NOT_MODIFIED : HttpStatus.PRECONDITION_FAILED)
+                    .eTag(etag)
+                    .cacheControl(simulationCachePolicy.cacheControl(spec))
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(simulationCachePolicy.cacheControl(spec));
+        if (etag != null) {
+            response.eTag(etag);
         }
+        return response.body(simulationBatchDispatcher.runSimulation(spec));
+    }
 
-        public String getError() {
-            return error;
+    /**
+     * Player of the URL form, {@code name:card,card} or {@code name:random}
+     */
+    private static PlayerRequest player(String player) {
+        int separator = player.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Player must be given as name:card,card or name:random");
         }
+        String name = player.substring(0, separator);
+        String hand = player.substring(separator + 1);
+        if (hand.equalsIgnoreCase("random")) {
+            return PlayerRequest.random(name);
+        }
+        return new PlayerRequest(name, Arrays.asList(hand.split(",")));
     }
-}
 
+    /**
+     * Endpoint for the micro-batching settings and the batch sizes and added latency achieved so far
+     * GET /api/poker/simulate/batching
+     */
+    @GetMapping("/simulate/batching")
+    public ResponseEntity<?> batchingStats() {
+        return ResponseEntity.ok(simulationBatchDispatcher.stats());
+    }
+}
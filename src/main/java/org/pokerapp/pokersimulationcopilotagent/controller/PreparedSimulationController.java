@@ -0,0 +1,77 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.PreparedExecutionRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.service.PreparedSimulationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for prepared (compiled once, executed many times) simulations
+ */
+@RestController
+@RequestMapping("/api/poker/simulate")
+@CrossOrigin(origins = "http://localhost:4200")
+public class PreparedSimulationController {
+
+    private final PreparedSimulationService preparedSimulationService;
+
+    public PreparedSimulationController(PreparedSimulationService preparedSimulationService) {
+        this.preparedSimulationService = preparedSimulationService;
+    }
+
+    /**
+     * Endpoint to compile a simulation request into a reusable plan, same body as /api/poker/simulate
+     * POST /api/poker/simulate/prepare
+     */
+    @PostMapping("/prepare")
+    public ResponseEntity<?> prepare(@RequestBody SimulationSpec spec) {
+        try {
+            return ResponseEntity.ok(preparedSimulationService.prepare(spec));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to run a prepared plan, optionally with a different number of simulations or seed
+     * POST /api/poker/simulate/prepared/{handle}
+     */
+    @PostMapping("/prepared/{handle}")
+    public ResponseEntity<?> execute(@PathVariable String handle,
+                                     @RequestBody(required = false) PreparedExecutionRequest request) {
+        try {
+            Integer numberOfSimulations = null;
+            Long seed = null;
+            if (request != null) {
+                request.validate();
+                numberOfSimulations = request.getNumberOfSimulations();
+                seed = request.getSeed();
+            }
+            return ResponseEntity.ok(preparedSimulationService.execute(handle, numberOfSimulations, seed));
+        } catch (NoSuchElementException e) {
+            return ErrorResponse.of(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to drop a prepared plan
+     * DELETE /api/poker/simulate/prepared/{handle}
+     */
+    @DeleteMapping("/prepared/{handle}")
+    public ResponseEntity<?> remove(@PathVariable String handle) {
+        if (!preparedSimulationService.remove(handle)) {
+            return ErrorResponse.of(HttpStatus.NOT_FOUND, "Unknown or expired simulation handle: " + handle);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
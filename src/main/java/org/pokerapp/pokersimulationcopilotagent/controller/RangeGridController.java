@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.RangeGridService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for starting-hand equity grids against a range
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class RangeGridController {
+
+    private final RangeGridService rangeGridService;
+
+    public RangeGridController(RangeGridService rangeGridService) {
+        this.rangeGridService = rangeGridService;
+    }
+
+    /**
+     * Endpoint to compute the hero's equity for all 169 starting-hand classes against a villain range
+     * POST /api/poker/range-grid
+     */
+    @PostMapping("/range-grid")
+    public ResponseEntity<?> computeGrid(@RequestBody RangeGridRequest request) {
+        try {
+            return ResponseEntity.ok(rangeGridService.computeGrid(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
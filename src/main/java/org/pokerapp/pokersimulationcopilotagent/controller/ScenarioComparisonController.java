@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.ScenarioComparisonService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for comparing variants of a spot on common random runouts
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ScenarioComparisonController {
+
+    private final ScenarioComparisonService scenarioComparisonService;
+
+    public ScenarioComparisonController(ScenarioComparisonService scenarioComparisonService) {
+        this.scenarioComparisonService = scenarioComparisonService;
+    }
+
+    /**
+     * Endpoint to compare the first player's equity across scenarios, with differences to the first scenario
+     * POST /api/poker/compare
+     */
+    @PostMapping("/compare")
+    public ResponseEntity<?> compare(@RequestBody ComparisonRequest request) {
+        try {
+            return ResponseEntity.ok(scenarioComparisonService.compare(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
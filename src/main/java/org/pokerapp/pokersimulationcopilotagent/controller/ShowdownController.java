@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.ShowdownBatchRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.ShowdownService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for evaluating fully specified showdowns
+ */
+@RestController
+@RequestMapping("/api/poker")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ShowdownController {
+
+    private final ShowdownService showdownService;
+
+    public ShowdownController(ShowdownService showdownService) {
+        this.showdownService = showdownService;
+    }
+
+    /**
+     * Endpoint to rank many completed hands at once
+     * POST /api/poker/showdown/batch
+     */
+    @PostMapping("/showdown/batch")
+    public ResponseEntity<?> evaluateShowdowns(@RequestBody ShowdownBatchRequest request) {
+        try {
+            return ResponseEntity.ok(showdownService.evaluateBatch(request));
+        } catch (IllegalArgumentException e) {
+            return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.service.PokerSimulationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP caching of simulation results. A result is a pure function of the request when the run is seeded or
+ * when every hand and the whole board are known (a single showdown); those responses get a strong ETag
+ * computed from the canonical request and are publicly cacheable, every other response is marked no-store.
+ * The canonical form uses card masks, so the order of cards within a hand or on the board does not matter.
+ */
+@Component
+public class SimulationCachePolicy {
+
+    /**
+     * Part of every ETag, to be raised whenever a change to the engine changes results for the same request.
+     * Changes to the seeded random streams are covered by {@link PokerSimulationService#RNG_VERSION}, which is
+     * part of the ETag as well.
+     */
+    static final int RESULT_VERSION = 1;
+
+    public static final long DEFAULT_MAX_AGE_SECONDS = 86_400;
+
+    private final long maxAgeSeconds;
+
+    public SimulationCachePolicy(@Value("${poker.cache.max-age-seconds:" + DEFAULT_MAX_AGE_SECONDS + "}") long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public boolean isDeterministic(SimulationSpec spec) {
+        return spec.getSeed() != null
+                || (spec.getCommunityCards().length == 5 && spec.getRandomPlayerCount() == 0);
+    }
+
+    /**
+     * Strong ETag of a deterministic request, null otherwise
+     */
+    public String etag(SimulationSpec spec) {
+        if (!isDeterministic(spec)) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+                out.writeInt(RESULT_VERSION);
+                out.writeInt(PokerSimulationService.RNG_VERSION);
+                out.writeInt(spec.getNumberOfSimulations());
+                out.writeBoolean(spec.isPerStreet());
+                out.writeBoolean(spec.getSeed() != null);
+                out.writeLong(spec.getSeed() != null ? spec.getSeed() : 0L);
+                out.writeLong(spec.communityMask());
+                out.writeInt(spec.getPlayerCount());
+                for (int p = 0; p < spec.getPlayerCount(); p++) {
+                    out.writeUTF(spec.getPlayerNames().get(p));
+                    out.writeLong(spec.isRandom(p) ? -1L : spec.holeMask(p));
+                }
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public CacheControl cacheControl(SimulationSpec spec) {
+        return isDeterministic(spec)
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noStore();
+    }
+
+    /**
+     * Whether an If-None-Match header matches the ETag: {@code *} or any listed tag, compared weakly as
+     * RFC 9110 requires for If-None-Match
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
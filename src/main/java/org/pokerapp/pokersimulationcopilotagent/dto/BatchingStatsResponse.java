@@ -0,0 +1,27 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the micro-batching dispatcher's settings and counters since startup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchingStatsResponse {
+    private boolean enabled;
+    private long windowMicros;
+    private int maxBatchSize;
+    private int maxIterations;          // Larger requests always run inline
+    private long maxBatchIterations;    // Total iterations of one batch
+    private int workers;
+    private long batches;
+    private long batchedRequests;
+    private long inlineRequests;
+    private double averageBatchSize;
+    private long largestBatch;
+    private double averageAddedLatencyMicros; // Time a batched request waited before its run started
+    private double maxAddedLatencyMicros;
+}
@@ -0,0 +1,36 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for comparing the first player's equity across variants of a spot on common sampled runouts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonRequest {
+
+    public static final int MAX_SCENARIOS = 16;
+
+    private List<ComparisonScenario> scenarios; // The first scenario is the baseline of every difference
+    private int numberOfSimulations;
+
+    public void validate() {
+        if (scenarios == null || scenarios.size() < 2) {
+            throw new IllegalArgumentException("At least 2 scenarios are required for a comparison");
+        }
+        if (scenarios.size() > MAX_SCENARIOS) {
+            throw new IllegalArgumentException("Cannot compare more than " + MAX_SCENARIOS + " scenarios");
+        }
+        if (numberOfSimulations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+        if (numberOfSimulations > 1000000) {
+            throw new IllegalArgumentException("Number of simulations cannot exceed 1,000,000");
+        }
+    }
+}
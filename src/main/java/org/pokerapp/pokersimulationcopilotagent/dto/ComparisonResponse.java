@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a scenario comparison
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonResponse {
+    private int totalSimulations;
+    private List<ScenarioEquity> scenarios;
+    private List<EquityDifference> differences; // One per scenario after the baseline
+}
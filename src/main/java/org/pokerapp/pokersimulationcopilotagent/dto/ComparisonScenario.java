@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one variant of a spot in a scenario comparison, the first player is the one whose equity is compared
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonScenario {
+    private String name;
+    private List<PlayerRequest> players;
+    private List<String> communityCards; // 0-5 cards in string format
+}
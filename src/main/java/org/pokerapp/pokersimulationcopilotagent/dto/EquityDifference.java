@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the equity difference between a scenario and the baseline scenario
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityDifference {
+    private String scenario;
+    private String baseline;
+    private double difference;               // Scenario minus baseline, in percentage points
+    private double standardError;            // Of the paired difference on common runouts
+    private double independentStandardError; // What two separate runs of the same size would give
+}
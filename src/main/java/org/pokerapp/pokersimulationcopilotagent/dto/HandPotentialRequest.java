@@ -0,0 +1,37 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the hand strength and potential of one hand against a random opponent
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandPotentialRequest {
+
+    public static final int MAX_SIMULATIONS = 10_000_000;
+
+    private List<String> holeCards;      // Two cards in string format
+    private List<String> communityCards; // 3-5 cards in string format
+    private int numberOfSimulations;     // Sampled opponent/runout pairs, 0 for exact enumeration
+
+    public void validate() {
+        if (holeCards == null || holeCards.size() != 2) {
+            throw new IllegalArgumentException("Exactly 2 hole cards are required");
+        }
+        if (communityCards == null || communityCards.size() < 3 || communityCards.size() > 5) {
+            throw new IllegalArgumentException("Hand potential requires 3-5 community cards");
+        }
+        if (numberOfSimulations < 0) {
+            throw new IllegalArgumentException("Number of simulations cannot be negative");
+        }
+        if (numberOfSimulations > MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Number of simulations cannot exceed 10,000,000");
+        }
+    }
+}
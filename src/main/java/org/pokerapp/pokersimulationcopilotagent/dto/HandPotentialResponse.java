@@ -0,0 +1,23 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for hand strength, positive and negative potential and effective hand strength, all as fractions 0-1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandPotentialResponse {
+    private double handStrength;          // Share of opponent hands beaten now, ties count half
+    private double positivePotential;     // Chance to get ahead by the river when behind or tied now
+    private double negativePotential;     // Chance to fall behind by the river when ahead or tied now
+    private double effectiveHandStrength; // HS * (1 - NPot) + (1 - HS) * PPot
+    private double aheadNow;
+    private double tiedNow;
+    private double behindNow;
+    private boolean exact;                // Full enumeration rather than sampling
+    private long samples;                 // Evaluated opponent/runout pairs
+}
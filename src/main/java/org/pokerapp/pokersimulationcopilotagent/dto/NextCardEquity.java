@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for every player's equity once a specific card has been dealt next
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NextCardEquity {
+    private String card;
+    private List<Double> equityPercentages; // In request player order
+}
@@ -0,0 +1,20 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for all combos of the same strength on a board
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutRankingGroup {
+    private int rank;            // 1 for the nuts
+    private String handRank;     // Display name of the hand category
+    private int combosAhead;     // Combos that beat this group
+    private List<String> combos; // E.g. "AS KS", higher rank first
+}
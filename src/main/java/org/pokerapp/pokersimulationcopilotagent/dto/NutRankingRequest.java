@@ -0,0 +1,24 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for ranking every two-card combo on a complete board
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutRankingRequest {
+    private List<String> communityCards; // Exactly 5 cards in string format
+    private List<String> deadCards;      // Optional known cards (e.g. the hero's hand), combos holding them are removed
+
+    public void validate() {
+        if (communityCards == null || communityCards.size() != 5) {
+            throw new IllegalArgumentException("A nut ranking requires exactly 5 community cards");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the strength ranking of every combo on a board
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutRankingResponse {
+    private int combos;                  // Combos not blocked by the board or dead cards
+    private List<NutRankingGroup> groups; // Strongest first
+}
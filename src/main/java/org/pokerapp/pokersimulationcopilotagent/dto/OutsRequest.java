@@ -0,0 +1,35 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a per-next-card equity breakdown of a flop or turn spot
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutsRequest {
+    private List<PlayerRequest> players;
+    private List<String> communityCards; // 3 (flop) or 4 (turn) cards in string format
+
+    public void validate() {
+        if (players == null || players.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players are required for a poker game");
+        }
+        if (communityCards == null || communityCards.size() < 3 || communityCards.size() > 4) {
+            throw new IllegalArgumentException("Outs analysis requires 3 or 4 community cards");
+        }
+
+        // Validate each player
+        for (PlayerRequest player : players) {
+            player.validate();
+            if (player.isRandom()) {
+                throw new IllegalArgumentException("Random players are only supported by simulations");
+            }
+        }
+    }
+}
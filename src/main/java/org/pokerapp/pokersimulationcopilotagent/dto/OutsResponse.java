@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the per-next-card equity breakdown
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutsResponse {
+    private List<PlayerOuts> players;
+    private List<NextCardEquity> nextCards; // One entry per unseen card, in card index order
+}
@@ -0,0 +1,17 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a player's result on one street
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerEquity {
+    private String name;
+    private double winPercentage;
+    private double equityPercentage; // Wins plus the player's share of split pots
+}
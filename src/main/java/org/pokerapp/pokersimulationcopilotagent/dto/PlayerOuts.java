@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a player's current equity and the next cards that make the player the sole favourite
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerOuts {
+    private String name;
+    private double equityPercentage;
+    private List<String> outs; // Empty for the current sole favourite
+}
@@ -15,11 +15,29 @@ import java.util.List;
 public class PlayerRequest {
     private String name;
     private List<String> holeCards; // Two cards in string format (e.g., ["AS", "KH"])
+    private boolean random;         // Unknown hand, dealt from the remaining deck every simulation
+
+    public PlayerRequest(String name, List<String> holeCards) {
+        this(name, holeCards, false);
+    }
+
+    /**
+     * Player with unknown hole cards
+     */
+    public static PlayerRequest random(String name) {
+        return new PlayerRequest(name, null, true);
+    }
 
     public void validate() {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Player name cannot be empty");
         }
+        if (random) {
+            if (holeCards != null && !holeCards.isEmpty()) {
+                throw new IllegalArgumentException("Random players cannot have hole cards");
+            }
+            return;
+        }
         if (holeCards == null || holeCards.size() != 2) {
             throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
         }
@@ -1,9 +1,12 @@
 package org.pokerapp.pokersimulationcopilotagent.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * DTO for individual player results
  */
@@ -14,5 +17,12 @@ public class PlayerResult {
     private String name;
     private double winPercentage;
     private String bestHandRank; // Only included when 5 community cards provided
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> handRankDistribution; // Percentage per final hand rank, lowest rank first
+
+    public PlayerResult(String name, double winPercentage, String bestHandRank) {
+        this(name, winPercentage, bestHandRank, null);
+    }
 }
 
@@ -0,0 +1,22 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for executing a prepared simulation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreparedExecutionRequest {
+    private Integer numberOfSimulations; // Optional, defaults to the number the plan was prepared with
+    private Long seed;                   // Optional, defaults to the seed the plan was prepared with
+
+    public void validate() {
+        if (numberOfSimulations != null && numberOfSimulations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+    }
+}
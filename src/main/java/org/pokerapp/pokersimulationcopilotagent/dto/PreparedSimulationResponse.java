@@ -0,0 +1,17 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a prepared simulation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreparedSimulationResponse {
+    private String handle;               // Pass to /api/poker/simulate/prepared/{handle}
+    private String mode;                 // Simulation kernel chosen for the plan
+    private int numberOfSimulations;     // Default for executions that do not set one
+}
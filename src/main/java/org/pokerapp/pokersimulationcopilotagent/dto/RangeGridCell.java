@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the hero's equity with one starting-hand class of the grid
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeGridCell {
+    private String hand;              // Class name, e.g. "AKs"
+    private int combos;               // Combos of the class not blocked by the board
+    private long samples;             // Evaluated showdowns over all of these combos
+    private Double equityPercentage;  // Pot share including half of the ties, null without samples
+}
@@ -0,0 +1,34 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a hero-versus-range equity grid over all 169 starting-hand classes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeGridRequest {
+
+    public static final int MAX_SIMULATIONS = 50_000;
+
+    private List<String> villainRange;   // Hand classes (e.g. ["AA", "AKs", "KQo"]), empty for any two cards
+    private List<String> communityCards; // 0-5 cards in string format
+    private int numberOfSimulations;     // Runouts per hero combo
+
+    public void validate() {
+        if (numberOfSimulations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+        if (numberOfSimulations > MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Number of simulations cannot exceed 50,000 per hand");
+        }
+        if (communityCards != null && communityCards.size() > 5) {
+            throw new IllegalArgumentException("Cannot have more than 5 community cards");
+        }
+    }
+}
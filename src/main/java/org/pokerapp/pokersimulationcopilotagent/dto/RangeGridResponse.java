@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the 13x13 hero equity grid against a villain range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangeGridResponse {
+    private List<String> ranks;            // Row and column headers from "A" down to "2"
+    private List<List<RangeGridCell>> grid; // grid[row][column], suited above the diagonal, offsuit below
+    private int villainCombos;             // Villain combos not blocked by the board
+}
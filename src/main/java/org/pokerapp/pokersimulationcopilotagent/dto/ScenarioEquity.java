@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the compared player's equity in one scenario
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioEquity {
+    private String name;
+    private String player;
+    private double equityPercentage; // Wins plus the player's share of split pots
+    private double standardError;    // In percentage points
+}
@@ -0,0 +1,34 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk showdown evaluation request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowdownBatchRequest {
+
+    public static final int MAX_HANDS = 100_000;
+
+    private List<ShowdownHandRequest> hands;
+
+    public void validate() {
+        if (hands == null || hands.isEmpty()) {
+            throw new IllegalArgumentException("At least one hand is required");
+        }
+        if (hands.size() > MAX_HANDS) {
+            throw new IllegalArgumentException("Cannot evaluate more than 100,000 hands per batch");
+        }
+        for (int h = 0; h < hands.size(); h++) {
+            if (hands.get(h) == null) {
+                throw new IllegalArgumentException("Hand " + (h + 1) + ": Hand cannot be null");
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk showdown evaluation response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowdownBatchResponse {
+    private List<ShowdownHandResult> results;
+    private int totalHands;
+}
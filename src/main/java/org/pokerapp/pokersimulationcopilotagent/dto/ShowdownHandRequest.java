@@ -0,0 +1,38 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one fully specified showdown: every player's hole cards and the complete board
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowdownHandRequest {
+    private List<PlayerRequest> players;
+    private List<String> communityCards; // Exactly 5 cards in string format
+
+    public void validate() {
+        if (players == null || players.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players are required for a showdown");
+        }
+        if (communityCards == null || communityCards.size() != 5) {
+            throw new IllegalArgumentException("A showdown requires exactly 5 community cards");
+        }
+
+        // Validate each player
+        for (PlayerRequest player : players) {
+            if (player == null) {
+                throw new IllegalArgumentException("Player cannot be null");
+            }
+            player.validate();
+            if (player.isRandom()) {
+                throw new IllegalArgumentException("Random players are only supported by simulations");
+            }
+        }
+    }
+}
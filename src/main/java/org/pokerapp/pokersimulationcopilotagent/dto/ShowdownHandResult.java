@@ -0,0 +1,18 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of one showdown, in the order of the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowdownHandResult {
+    private List<String> winners; // More than one name on a split pot
+    private List<ShowdownPlayerResult> players;
+}
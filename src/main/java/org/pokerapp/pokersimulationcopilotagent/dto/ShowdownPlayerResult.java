@@ -0,0 +1,17 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one player's hand at showdown
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowdownPlayerResult {
+    private String name;
+    private String handRank;
+    private boolean winner;
+}
@@ -3,7 +3,10 @@ package org.pokerapp.pokersimulationcopilotagent.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +19,17 @@ public class SimulationRequest {
     private List<PlayerRequest> players;
     private List<String> communityCards; // 0-5 cards in string format
     private int numberOfSimulations;
+    private boolean perStreet; // Also report equity after every street of the runout
+    private Long seed;         // Optional, the same seed and number of simulations give identical results
+
+    public SimulationRequest(List<PlayerRequest> players, List<String> communityCards, int numberOfSimulations) {
+        this(players, communityCards, numberOfSimulations, false);
+    }
+
+    public SimulationRequest(List<PlayerRequest> players, List<String> communityCards, int numberOfSimulations,
+                             boolean perStreet) {
+        this(players, communityCards, numberOfSimulations, perStreet, null);
+    }
 
     public void validate() {
         if (players == null || players.isEmpty()) {
@@ -39,5 +53,31 @@ public class SimulationRequest {
             player.validate();
         }
     }
-}
 
+    /**
+     * Validate and convert into the engine's primitive representation
+     */
+    public SimulationSpec toSpec() {
+        validate();
+
+        List<String> names = new ArrayList<>(players.size());
+        int[] holeCards = new int[players.size() * 2];
+        for (int i = 0; i < players.size(); i++) {
+            PlayerRequest player = players.get(i);
+            names.add(player.getName());
+            if (player.isRandom()) {
+                holeCards[2 * i] = SimulationSpec.RANDOM_CARD;
+                holeCards[2 * i + 1] = SimulationSpec.RANDOM_CARD;
+                continue;
+            }
+            holeCards[2 * i] = Cards.parse(player.getHoleCards().get(0));
+            holeCards[2 * i + 1] = Cards.parse(player.getHoleCards().get(1));
+        }
+
+        int[] board = communityCards != null
+                ? communityCards.stream().mapToInt(Cards::parse).toArray()
+                : new int[0];
+
+        return new SimulationSpec(names, holeCards, board, numberOfSimulations, perStreet, seed);
+    }
+}
@@ -1,5 +1,6 @@
 package org.pokerapp.pokersimulationcopilotagent.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,5 +17,14 @@ public class SimulationResponse {
     private List<PlayerResult> playerResults;
     private double tiePercentage;
     private int totalSimulations;
-}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<StreetEquity> streetEquities; // Only included for per-street requests
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double leadChangePercentage;      // Only included for per-street requests
+
+    public SimulationResponse(List<PlayerResult> playerResults, double tiePercentage, int totalSimulations) {
+        this(playerResults, tiePercentage, totalSimulations, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package org.pokerapp.pokersimulationcopilotagent.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the equity of all players once a street has been dealt
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreetEquity {
+    private String street;
+    private List<PlayerEquity> playerEquities;
+    private double tiePercentage;
+}
@@ -0,0 +1,99 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped lookup table from the hands of one street to their abstraction bucket, a dense array by
+ * {@link HandIndexer} index. Big-endian layout:
+ *
+ * <pre>
+ * i32 magic "PKBT", i32 version, i32 board cards, i32 bucket count, i64 hand count,
+ * hand count x u16 bucket
+ * </pre>
+ *
+ * A table may cover only the first indices of its street (see the {@code hands} limit of the bucketing job).
+ */
+public final class BucketTable {
+
+    public static final int MAGIC = 0x504B4254;
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 24;
+
+    private final MappedByteBuffer buffer;
+    private final int boardCards;
+    private final int buckets;
+    private final int hands;
+    private final HandIndexer indexer;
+
+    private BucketTable(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a bucket table of version " + VERSION);
+        }
+        this.boardCards = buffer.getInt(8);
+        this.buckets = buffer.getInt(12);
+        this.hands = Math.toIntExact(buffer.getLong(16));
+        this.indexer = HandIndexer.forBoard(boardCards);
+    }
+
+    public static BucketTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BucketTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void write(Path path, int boardCards, int buckets, int[] assignments) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(boardCards);
+            out.writeInt(buckets);
+            out.writeLong(assignments.length);
+            for (int bucket : assignments) {
+                out.writeShort(bucket);
+            }
+        }
+    }
+
+    public int getBoardCards() {
+        return boardCards;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public int getHands() {
+        return hands;
+    }
+
+    /**
+     * Bucket of any hole cards and board of this table's street
+     */
+    public int bucket(long hole, long board) {
+        if (Long.bitCount(board) != boardCards) {
+            throw new IllegalArgumentException("Expected a board of " + boardCards + " cards");
+        }
+        long index = indexer.index(hole, board);
+        if (index >= hands) {
+            throw new IllegalStateException("Hand is missing from the bucket table");
+        }
+        return bucketAt((int) index);
+    }
+
+    /**
+     * Bucket of the hand with the given index
+     */
+    public int bucketAt(int hand) {
+        return Short.toUnsignedInt(buffer.getShort(HEADER_BYTES + 2 * hand));
+    }
+}
@@ -0,0 +1,163 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+/**
+ * Primitive card encoding used by the simulation engine.
+ * A card is an index 0-51 (suit ordinal * 13 + rank ordinal), a set of cards is a 52-bit mask
+ * in which every suit occupies 13 consecutive bits.
+ */
+public final class Cards {
+
+    public static final int DECK_SIZE = 52;
+    public static final int RANK_COUNT = 13;
+    public static final long FULL_DECK = (1L << DECK_SIZE) - 1;
+
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+    private static final String[] NAMES = new String[DECK_SIZE];
+
+    static {
+        for (int i = 0; i < DECK_SIZE; i++) {
+            NAMES[i] = rank(i).getSymbol() + suit(i).getSymbol();
+        }
+    }
+
+    private Cards() {
+    }
+
+    public static int index(Rank rank, Suit suit) {
+        return suit.ordinal() * RANK_COUNT + rank.ordinal();
+    }
+
+    public static int index(Card card) {
+        return index(card.getRank(), card.getSuit());
+    }
+
+    public static Rank rank(int index) {
+        return RANKS[index % RANK_COUNT];
+    }
+
+    public static Suit suit(int index) {
+        return SUITS[index / RANK_COUNT];
+    }
+
+    public static Card toCard(int index) {
+        return new Card(rank(index), suit(index));
+    }
+
+    public static String toString(int index) {
+        return NAMES[index];
+    }
+
+    /**
+     * 13-bit rank mask of all cards of the given suit ordinal
+     */
+    public static int suitRanks(long cards, int suit) {
+        return (int) (cards >>> (suit * RANK_COUNT)) & 0x1FFF;
+    }
+
+    public static long mask(int... cards) {
+        long mask = 0L;
+        for (int card : cards) {
+            mask |= 1L << card;
+        }
+        return mask;
+    }
+
+    /**
+     * Parse a card from string format (e.g., "AS", "KH", "10D", "2C") straight into its index
+     */
+    public static int parse(String cardStr) {
+        if (cardStr == null || cardStr.length() < 2) {
+            throw new IllegalArgumentException("Invalid card format: " + cardStr);
+        }
+        return parse(cardStr, 0, cardStr.length());
+    }
+
+    /**
+     * Parse the card in {@code text[start, end)} without creating intermediate strings
+     */
+    public static int parse(CharSequence text, int start, int end) {
+        int length = end - start;
+        int card = length == 2 ? parse(text.charAt(start), '\0', text.charAt(start + 1))
+                : length == 3 ? parse(text.charAt(start), text.charAt(start + 1), text.charAt(start + 2))
+                : -1;
+        if (card < 0) {
+            throw invalidCard(card, text.subSequence(start, end).toString());
+        }
+        return card;
+    }
+
+    /**
+     * Parse the card in {@code chars[offset, offset + length)}, e.g. straight from a JSON parser buffer
+     */
+    public static int parse(char[] chars, int offset, int length) {
+        int card = length == 2 ? parse(chars[offset], '\0', chars[offset + 1])
+                : length == 3 ? parse(chars[offset], chars[offset + 1], chars[offset + 2])
+                : -1;
+        if (card < 0) {
+            throw invalidCard(card, new String(chars, offset, length));
+        }
+        return card;
+    }
+
+    /**
+     * Card index for a one or two character rank symbol ({@code second == '\0'} for one character),
+     * -1 for an invalid format, -2 for an invalid rank and -3 for an invalid suit
+     */
+    private static int parse(char first, char second, char suitSymbol) {
+        int rank;
+        if (second == '\0') {
+            rank = rankOrdinal(first);
+        } else {
+            rank = first == '1' && second == '0' ? Rank.TEN.ordinal() : -1;
+        }
+        if (rank < 0) {
+            return -2;
+        }
+
+        int suit = suitOrdinal(suitSymbol);
+        if (suit < 0) {
+            return -3;
+        }
+
+        return suit * RANK_COUNT + rank;
+    }
+
+    private static IllegalArgumentException invalidCard(int error, String cardStr) {
+        if (error == -2) {
+            return new IllegalArgumentException("Invalid rank symbol: " + cardStr.substring(0, cardStr.length() - 1));
+        }
+        if (error == -3) {
+            return new IllegalArgumentException("Invalid suit symbol: " + cardStr.substring(cardStr.length() - 1));
+        }
+        return new IllegalArgumentException("Invalid card format: " + cardStr);
+    }
+
+    private static int rankOrdinal(char symbol) {
+        switch (Character.toUpperCase(symbol)) {
+            case '2': return 0;
+            case '3': return 1;
+            case '4': return 2;
+            case '5': return 3;
+            case '6': return 4;
+            case '7': return 5;
+            case '8': return 6;
+            case '9': return 7;
+            case 'J': return 9;
+            case 'Q': return 10;
+            case 'K': return 11;
+            case 'A': return 12;
+            default: return -1;
+        }
+    }
+
+    private static int suitOrdinal(char symbol) {
+        switch (Character.toUpperCase(symbol)) {
+            case 'H': return Suit.HEARTS.ordinal();
+            case 'D': return Suit.DIAMONDS.ordinal();
+            case 'C': return Suit.CLUBS.ordinal();
+            case 'S': return Suit.SPADES.ordinal();
+            default: return -1;
+        }
+    }
+}
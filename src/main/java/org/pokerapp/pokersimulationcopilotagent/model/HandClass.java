@@ -0,0 +1,127 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+/**
+ * The 169 starting-hand classes of the 13x13 grid. Rows and columns are ranks from ace (0) down to two (12):
+ * pairs on the diagonal, suited hands above it and offsuit hands below it, so row A / column K is AKs and
+ * row K / column A is AKo. A class index is {@code row * 13 + column}, names use T for tens ("KTs").
+ */
+public final class HandClass {
+
+    public static final int GRID_SIZE = Cards.RANK_COUNT;
+    public static final int COUNT = GRID_SIZE * GRID_SIZE;
+    public static final int COMBO_COUNT = 1326; // Two-card combos of a full deck
+
+    private static final String RANK_SYMBOLS = "AKQJT98765432";
+    private static final String[] NAMES = new String[COUNT];
+    private static final long[][] COMBOS = new long[COUNT][];
+
+    static {
+        for (int row = 0; row < GRID_SIZE; row++) {
+            for (int column = 0; column < GRID_SIZE; column++) {
+                int handClass = row * GRID_SIZE + column;
+                int highRow = Math.min(row, column);
+                int lowRow = Math.max(row, column);
+                String ranks = rankSymbol(highRow) + rankSymbol(lowRow);
+                NAMES[handClass] = row == column ? ranks : ranks + (row < column ? "s" : "o");
+
+                int high = rankOrdinal(highRow);
+                int low = rankOrdinal(lowRow);
+
+                // 6 pairs, 4 suited or 12 offsuit combos
+                long[] combos = new long[row == column ? 6 : row < column ? 4 : 12];
+                int n = 0;
+                for (int s1 = 0; s1 < 4; s1++) {
+                    for (int s2 = 0; s2 < 4; s2++) {
+                        boolean take = row == column ? s1 < s2 : row < column ? s1 == s2 : s1 != s2;
+                        if (take) {
+                            combos[n++] = (1L << (s1 * Cards.RANK_COUNT + high)) | (1L << (s2 * Cards.RANK_COUNT + low));
+                        }
+                    }
+                }
+                COMBOS[handClass] = combos;
+            }
+        }
+    }
+
+    private HandClass() {
+    }
+
+    public static int index(int row, int column) {
+        return row * GRID_SIZE + column;
+    }
+
+    public static String name(int handClass) {
+        return NAMES[handClass];
+    }
+
+    /**
+     * Rank symbol of a grid row or column, from "A" down to "2"
+     */
+    public static String rankSymbol(int row) {
+        return String.valueOf(RANK_SYMBOLS.charAt(row));
+    }
+
+    /**
+     * Hole card masks of all combos of a class. The array is shared and must not be modified.
+     */
+    public static long[] combos(int handClass) {
+        return COMBOS[handClass];
+    }
+
+    /**
+     * Class of two hole cards
+     */
+    public static int of(long holeMask) {
+        int first = Long.numberOfTrailingZeros(holeMask);
+        int second = 63 - Long.numberOfLeadingZeros(holeMask);
+        int a = Cards.RANK_COUNT - 1 - first % Cards.RANK_COUNT;
+        int b = Cards.RANK_COUNT - 1 - second % Cards.RANK_COUNT;
+        boolean suited = first / Cards.RANK_COUNT == second / Cards.RANK_COUNT;
+        int high = Math.min(a, b);
+        int low = Math.max(a, b);
+        return suited ? index(high, low) : index(low, high);
+    }
+
+    /**
+     * Parse a class name such as "AA", "AKs", "KTo" or "K10o" (case-insensitive)
+     */
+    public static int parse(String name) {
+        if (name == null) {
+            throw invalid(null);
+        }
+        String text = name.trim().toUpperCase().replace("10", "T");
+        if (text.length() < 2 || text.length() > 3) {
+            throw invalid(name);
+        }
+        int first = RANK_SYMBOLS.indexOf(text.charAt(0));
+        int second = RANK_SYMBOLS.indexOf(text.charAt(1));
+        if (first < 0 || second < 0) {
+            throw invalid(name);
+        }
+        int high = Math.min(first, second);
+        int low = Math.max(first, second);
+
+        char kind = text.length() == 3 ? text.charAt(2) : ' ';
+        if (high == low) {
+            if (kind != ' ') {
+                throw invalid(name);
+            }
+            return index(high, low);
+        }
+        if (kind == 'S') {
+            return index(high, low);
+        }
+        if (kind == 'O') {
+            return index(low, high);
+        }
+        throw invalid(name);
+    }
+
+    private static int rankOrdinal(int row) {
+        return Cards.RANK_COUNT - 1 - row;
+    }
+
+    private static IllegalArgumentException invalid(String name) {
+        return new IllegalArgumentException("Invalid hand class: " + name);
+    }
+}
@@ -0,0 +1,534 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dense index of hands under suit isomorphism: hands that only differ by a renaming of the {@link Suit}s
+ * share one index in {@code [0, size())}, and every index maps back to a representative hand. A hand is
+ * given as one card mask (see {@link Cards}) per round, e.g. hole cards and board; cards within a round are
+ * unordered. The predefined indexers take the hole cards and the whole board as two rounds:
+ * 169 preflop, 1,286,792 flop, 13,960,050 turn and 123,156,254 river hands. Boards dealt street by street
+ * use one round per street, e.g. {@code new HandIndexer(2, 3, 1, 1)} with 2,428,287,420 river hands.
+ *
+ * <p>Each suit's cards are indexed on their own (colex rank of its ranks per round among the ranks not used
+ * by earlier rounds). The suits are then sorted by their per-round card counts and that index, the sorted
+ * counts select a configuration with its own offset, and suits sharing the same counts are indexed as a
+ * multiset. Index and unindex only use table lookups and bit arithmetic on the masks; the suit sort and the
+ * multiset terms of index are branch-free, and unindex finds the configuration through a table of index blocks.
+ */
+public final class HandIndexer {
+
+    private static final int SUITS = Suit.values().length;
+    private static final int COUNT_BITS = 4;
+    private static final int COUNT_KEY_SHIFT = 40;
+    private static final long SUIT_INDEX_MASK = (1L << COUNT_KEY_SHIFT) - 1;
+    private static final int[][] BINOMIAL = binomials();
+    private static final long[] FACTORIALS = {1, 1, 2, 6, 24};
+
+    // Colex rank of every rank set and, per set size, the sets in colex order: the first C(m, n) sets of
+    // size n are exactly those within the lowest m ranks
+    private static final int[] COLEX = colex();
+    private static final int[][] UNCOLEX = uncolex();
+
+    // Declared after the tables their constructor uses
+    public static final HandIndexer PREFLOP = new HandIndexer(2);
+    public static final HandIndexer FLOP = new HandIndexer(2, 3);
+    public static final HandIndexer TURN = new HandIndexer(2, 4);
+    public static final HandIndexer RIVER = new HandIndexer(2, 5);
+
+    private final int[] cardsPerRound;
+    private final int[] cardsBefore;
+
+    // A suit's count key holds its card count per round, 4 bits each; count keys are ranked by value and
+    // a configuration, the ranks of the four suits' count keys in ascending order, is looked up by the
+    // multiset rank of those four ranks
+    private final int[] countRanks;
+    private final int[] configByRanks;
+    private final long[] configOffsets;
+    private final int[][] groupCountKeys;
+    private final int[][] groupSizes;
+    private final long[][] groupSuitSpaces;
+    private final long[][] groupSpaces;
+
+    // Per configuration and sorted suit position: the radix of the suit's group, and where the multiset term
+    // choose(a + i, i + 1) of the i-th suit of a group is found in terms; the first suit of a group has mask 0,
+    // its term is its own suit index
+    private final long[] positionRadix;
+    private final int[] positionTerms;
+    private final int[] positionMasks;
+    private final long[] terms;
+
+    // Lowest configuration overlapping each block of 2^blockShift indices
+    private final int blockShift;
+    private final int[] configByBlock;
+
+    public HandIndexer(int... cardsPerRound) {
+        if (cardsPerRound.length < 1 || cardsPerRound.length > 4) {
+            throw new IllegalArgumentException("A hand indexer takes 1 to 4 rounds");
+        }
+        int total = 0;
+        for (int cards : cardsPerRound) {
+            if (cards < 1 || cards >= 1 << COUNT_BITS) {
+                throw new IllegalArgumentException("Invalid number of cards in a round: " + cards);
+            }
+            total += cards;
+        }
+        if (total > 7) {
+            throw new IllegalArgumentException("A hand indexer takes at most 7 cards");
+        }
+        this.cardsPerRound = cardsPerRound.clone();
+        cardsBefore = new int[cardsPerRound.length];
+        for (int r = 1; r < cardsPerRound.length; r++) {
+            cardsBefore[r] = cardsBefore[r - 1] + cardsPerRound[r - 1];
+        }
+
+        int[] countKeys = countKeys();
+        countRanks = new int[1 << (COUNT_BITS * cardsPerRound.length)];
+        for (int k = 0; k < countKeys.length; k++) {
+            countRanks[countKeys[k]] = k;
+        }
+        configByRanks = new int[(int) multisetRank(countKeys.length - 1, countKeys.length - 1,
+                countKeys.length - 1, countKeys.length - 1) + 1];
+
+        List<int[]> configs = new ArrayList<>();
+        configurations(countKeys, new int[SUITS], 0, 0, configs);
+        int n = configs.size();
+        configOffsets = new long[n + 1];
+        groupCountKeys = new int[n][];
+        groupSizes = new int[n][];
+        groupSuitSpaces = new long[n][];
+        groupSpaces = new long[n][];
+        positionRadix = new long[n * SUITS];
+        int[] positionRank = new int[n * SUITS];
+        positionTerms = new int[n * SUITS];
+        positionMasks = new int[n * SUITS];
+        for (int c = 0; c < n; c++) {
+            int[] config = configs.get(c);
+            int groups = 1;
+            for (int s = 1; s < SUITS; s++) {
+                if (config[s] != config[s - 1]) {
+                    groups++;
+                }
+            }
+            groupCountKeys[c] = new int[groups];
+            groupSizes[c] = new int[groups];
+            groupSuitSpaces[c] = new long[groups];
+            groupSpaces[c] = new long[groups];
+
+            configByRanks[(int) multisetRank(countRanks[config[0]], countRanks[config[1]], countRanks[config[2]],
+                    countRanks[config[3]])] = c;
+            long size = 1;
+            for (int s = 0, g = -1; s < SUITS; s++) {
+                if (s == 0 || config[s] != config[s - 1]) {
+                    groupCountKeys[c][++g] = config[s];
+                    groupSuitSpaces[c][g] = suitSpace(config[s]);
+                }
+                groupSizes[c][g]++;
+            }
+            for (int g = 0; g < groups; g++) {
+                groupSpaces[c][g] = choose(groupSuitSpaces[c][g] + groupSizes[c][g] - 1, groupSizes[c][g]);
+                size *= groupSpaces[c][g];
+            }
+            long radix = 1;
+            for (int g = 0, s = 0; g < groups; g++) {
+                for (int i = 0; i < groupSizes[c][g]; i++, s++) {
+                    positionRadix[c * SUITS + s] = radix;
+                    positionRank[c * SUITS + s] = i;
+                }
+                radix *= groupSpaces[c][g];
+            }
+            configOffsets[c + 1] = configOffsets[c] + size;
+        }
+
+        blockShift = Math.max(0, 64 - Long.numberOfLeadingZeros(size()) - 12);
+        configByBlock = new int[(int) ((size() - 1) >>> blockShift) + 1];
+        for (int c = n - 1; c >= 0; c--) {
+            for (long block = configOffsets[c] >>> blockShift; block <= (configOffsets[c + 1] - 1) >>> blockShift; block++) {
+                configByBlock[(int) block] = c;
+            }
+        }
+
+        // Suits sharing their counts hold at most three cards each, so their multiset terms fit a small table
+        int limit = 0;
+        for (int c = 0; c < n; c++) {
+            for (int g = 0; g < groupSizes[c].length; g++) {
+                if (groupSizes[c][g] > 1) {
+                    limit = (int) Math.max(limit, groupSuitSpaces[c][g] + groupSizes[c][g]);
+                }
+            }
+        }
+        terms = new long[(SUITS - 1) * limit + 1];
+        for (int k = 2; k <= SUITS; k++) {
+            for (int v = 0; v < limit; v++) {
+                terms[(k - 2) * limit + v + 1] = choose(v, k);
+            }
+        }
+        for (int p = 0; p < n * SUITS; p++) {
+            if (positionRank[p] > 0) {
+                positionTerms[p] = (positionRank[p] - 1) * limit + 1 + positionRank[p];
+                positionMasks[p] = -1;
+            }
+        }
+    }
+
+    /**
+     * Indexer of hole cards plus a board of 0 or 3-5 cards
+     */
+    public static HandIndexer forBoard(int boardCards) {
+        switch (boardCards) {
+            case 0:
+                return PREFLOP;
+            case 3:
+                return FLOP;
+            case 4:
+                return TURN;
+            case 5:
+                return RIVER;
+            default:
+                throw new IllegalArgumentException("Board must have 0, 3, 4 or 5 cards");
+        }
+    }
+
+    public int rounds() {
+        return cardsPerRound.length;
+    }
+
+    public int cardsInRound(int round) {
+        return cardsPerRound[round];
+    }
+
+    /**
+     * Number of distinct hands up to suit isomorphism
+     */
+    public long size() {
+        return configOffsets[configOffsets.length - 1];
+    }
+
+    /**
+     * Index of hole cards and board, for indexers of one round (board must be empty) or two rounds
+     */
+    public long index(long hole, long board) {
+        if (cardsPerRound.length == 1) {
+            if (board != 0) {
+                throw new IllegalArgumentException("This hand indexer takes no board");
+            }
+            return index(new long[]{hole});
+        }
+        return index(new long[]{hole, board});
+    }
+
+    /**
+     * Index of a hand given as one card mask per round
+     */
+    public long index(long[] rounds) {
+        if (rounds.length != cardsPerRound.length) {
+            throw new IllegalArgumentException("Expected " + cardsPerRound.length + " rounds");
+        }
+        long seen = 0L;
+        for (int r = 0; r < rounds.length; r++) {
+            if (Long.bitCount(rounds[r]) != cardsPerRound[r] || (rounds[r] & seen) != 0
+                    || (rounds[r] >>> Cards.DECK_SIZE) != 0) {
+                throw new IllegalArgumentException("Round " + r + " must have " + cardsPerRound[r] + " new cards");
+            }
+            seen |= rounds[r];
+        }
+
+        // Per suit: rank of its count key in the high bits, index of its cards among hands with the same counts
+        // below
+        long s0 = suitKey(rounds, 0);
+        long s1 = suitKey(rounds, 1);
+        long s2 = suitKey(rounds, 2);
+        long s3 = suitKey(rounds, 3);
+
+        // Sorting network for the four suits
+        long low01 = min(s0, s1);
+        long high01 = max(s0, s1);
+        long low23 = min(s2, s3);
+        long high23 = max(s2, s3);
+        long first = min(low01, low23);
+        long last = max(high01, high23);
+        long middle0 = max(low01, low23);
+        long middle1 = min(high01, high23);
+        long second = min(middle0, middle1);
+        long third = max(middle0, middle1);
+
+        int config = configByRanks[(int) multisetRank(first >>> COUNT_KEY_SHIFT, second >>> COUNT_KEY_SHIFT,
+                third >>> COUNT_KEY_SHIFT, last >>> COUNT_KEY_SHIFT)];
+
+        int base = config * SUITS;
+        long index = positionRadix[base] * multisetTerm(first & SUIT_INDEX_MASK, base)
+                + positionRadix[base + 1] * multisetTerm(second & SUIT_INDEX_MASK, base + 1)
+                + positionRadix[base + 2] * multisetTerm(third & SUIT_INDEX_MASK, base + 2)
+                + positionRadix[base + 3] * multisetTerm(last & SUIT_INDEX_MASK, base + 3);
+        return configOffsets[config] + index;
+    }
+
+    /**
+     * Representative hand of an index, one card mask per round
+     */
+    public long[] unindex(long index) {
+        long[] rounds = new long[cardsPerRound.length];
+        unindex(index, rounds);
+        return rounds;
+    }
+
+    public void unindex(long index, long[] rounds) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException("Hand index out of range: " + index);
+        }
+        int config = configByBlock[(int) (index >>> blockShift)];
+        while (configOffsets[config + 1] <= index) {
+            config++;
+        }
+        Arrays.fill(rounds, 0, cardsPerRound.length, 0L);
+
+        long rest = index - configOffsets[config];
+        int[] sizes = groupSizes[config];
+        int last = sizes.length - 1;
+        for (int g = 0, suit = 0; g <= last; g++) {
+            long multiset = rest;
+            if (g < last) {
+                rest = multiset / groupSpaces[config][g];
+                multiset -= rest * groupSpaces[config][g];
+            }
+            int countKey = groupCountKeys[config][g];
+            for (int i = sizes[g] - 1; i > 0; i--) {
+                long value = largest(multiset, i + 1, groupSuitSpaces[config][g] + i);
+                multiset -= choose(value, i + 1);
+                placeSuit(countKey, (int) (value - i), suit + i, rounds);
+            }
+            placeSuit(countKey, (int) multiset, suit, rounds);
+            suit += sizes[g];
+        }
+    }
+
+    /**
+     * {@code choose(value + i, i + 1)} for the suit at sorted position {@code i} of its group
+     */
+    private long multisetTerm(long value, int position) {
+        int mask = positionMasks[position];
+        return value ^ ((value ^ terms[(positionTerms[position] + (int) value) & mask]) & mask);
+    }
+
+    private long suitKey(long[] rounds, int suit) {
+        // The first round needs no renumbering, nothing is used yet
+        int used = Cards.suitRanks(rounds[0], suit);
+        int countKey = Integer.bitCount(used);
+        long index = COLEX[used];
+        if (rounds.length > 1) {
+            long radix = BINOMIAL[Cards.RANK_COUNT][countKey];
+            for (int r = 1; ; r++) {
+                int ranks = Cards.suitRanks(rounds[r], suit);
+                int n = Integer.bitCount(ranks);
+                countKey |= n << (COUNT_BITS * r);
+                index += radix * COLEX[compress(ranks, used, cardsBefore[r])];
+                if (r + 1 == rounds.length) {
+                    break;
+                }
+                radix *= BINOMIAL[Cards.RANK_COUNT - Integer.bitCount(used)][n];
+                used |= ranks;
+            }
+        }
+        return (long) countRanks[countKey] << COUNT_KEY_SHIFT | index;
+    }
+
+    /**
+     * Deal the cards of the suit index {@code index} with the counts of {@code countKey} into {@code suit}
+     */
+    private void placeSuit(int countKey, int index, int suit, long[] rounds) {
+        int used = 0;
+        int last = cardsPerRound.length - 1;
+        for (int r = 0; r < last; r++) {
+            int n = (countKey >>> (COUNT_BITS * r)) & ((1 << COUNT_BITS) - 1);
+            int space = BINOMIAL[Cards.RANK_COUNT - Integer.bitCount(used)][n];
+            int quotient = index / space;
+            int ranks = expand(UNCOLEX[n][index - quotient * space], used, cardsBefore[r]);
+            index = quotient;
+            rounds[r] |= (long) ranks << (suit * Cards.RANK_COUNT);
+            used |= ranks;
+        }
+        int n = countKey >>> (COUNT_BITS * last);
+        rounds[last] |= (long) expand(UNCOLEX[n][index], used, cardsBefore[last]) << (suit * Cards.RANK_COUNT);
+    }
+
+    /**
+     * The ranks of {@code ranks} renumbered among the ranks not in {@code used}: every used rank, highest
+     * first, is cut out and the ranks above it move down by one
+     */
+    private static int compress(int ranks, int used, int steps) {
+        for (int rest = used, k = 0; k < steps; k++) {
+            int highest = Integer.highestOneBit(rest);
+            rest ^= highest;
+            ranks = ranks & (highest - 1) | (ranks >>> 1) & -highest;
+        }
+        return ranks;
+    }
+
+    /**
+     * Inverse of {@link #compress}: a gap is opened at every used rank, lowest first
+     */
+    private static int expand(int positions, int used, int steps) {
+        for (int rest = used, k = 0; k < steps; k++) {
+            int lowest = rest & -rest;
+            rest ^= lowest;
+            positions = positions & (lowest - 1) | (positions & -lowest) << 1;
+        }
+        return positions;
+    }
+
+    /**
+     * Largest {@code value <= max} with {@code choose(value, k) <= target}
+     */
+    private static long largest(long target, int k, long max) {
+        if (k == 1) {
+            return Math.min(target, max);
+        }
+        // Start from the continuous estimate value^k / k! = target and correct the rounding
+        double scaled = target * (double) FACTORIALS[k];
+        long value = (long) (k == 2 ? Math.sqrt(scaled) : k == 3 ? Math.cbrt(scaled) : Math.sqrt(Math.sqrt(scaled)))
+                + (k - 1) / 2;
+        value = Math.max(k - 1, Math.min(value, max));
+        while (value > k - 1 && choose(value, k) > target) {
+            value--;
+        }
+        while (value < max && choose(value + 1, k) <= target) {
+            value++;
+        }
+        return value;
+    }
+
+    /**
+     * Number of ways one suit can hold the per-round counts of {@code countKey}
+     */
+    private long suitSpace(int countKey) {
+        long space = 1;
+        int free = Cards.RANK_COUNT;
+        for (int r = 0; r < cardsPerRound.length; r++) {
+            int n = (countKey >>> (COUNT_BITS * r)) & ((1 << COUNT_BITS) - 1);
+            space *= BINOMIAL[free][n];
+            free -= n;
+        }
+        return space;
+    }
+
+    /**
+     * Count keys of every per-round count vector a single suit can hold, ascending
+     */
+    private int[] countKeys() {
+        List<Integer> keys = new ArrayList<>();
+        int combinations = 1;
+        for (int cards : cardsPerRound) {
+            combinations *= cards + 1;
+        }
+        for (int c = 0; c < combinations; c++) {
+            int key = 0;
+            int total = 0;
+            for (int r = 0, rest = c; r < cardsPerRound.length; r++) {
+                int n = rest % (cardsPerRound[r] + 1);
+                rest /= cardsPerRound[r] + 1;
+                key |= n << (COUNT_BITS * r);
+                total += n;
+            }
+            if (total <= Cards.RANK_COUNT) {
+                keys.add(key);
+            }
+        }
+        return keys.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Every non-decreasing assignment of count keys to the four suits that deals each round's cards exactly
+     */
+    private void configurations(int[] keys, int[] config, int suit, int from, List<int[]> configs) {
+        if (suit == SUITS) {
+            for (int r = 0; r < cardsPerRound.length; r++) {
+                int sum = 0;
+                for (int key : config) {
+                    sum += (key >>> (COUNT_BITS * r)) & ((1 << COUNT_BITS) - 1);
+                }
+                if (sum != cardsPerRound[r]) {
+                    return;
+                }
+            }
+            configs.add(config.clone());
+            return;
+        }
+        for (int k = from; k < keys.length; k++) {
+            config[suit] = keys[k];
+            configurations(keys, config, suit + 1, k, configs);
+        }
+    }
+
+    private static long min(long a, long b) {
+        long difference = a - b;
+        return b + (difference & difference >> 63);
+    }
+
+    private static long max(long a, long b) {
+        long difference = a - b;
+        return a - (difference & difference >> 63);
+    }
+
+    /**
+     * Colex rank of the multiset {@code a <= b <= c <= d}
+     */
+    private static long multisetRank(long a, long b, long c, long d) {
+        return a + b * (b + 1) / 2 + c * (c + 1) * (c + 2) / 6 + d * (d + 1) * (d + 2) * (d + 3) / 24;
+    }
+
+    /**
+     * Binomial coefficient for the multiset sizes of at most four suits
+     */
+    private static long choose(long n, int k) {
+        if (n < k) {
+            return 0;
+        }
+        switch (k) {
+            case 0:
+                return 1;
+            case 1:
+                return n;
+            case 2:
+                return n * (n - 1) / 2;
+            case 3:
+                return n * (n - 1) * (n - 2) / 6;
+            default:
+                return n * (n - 1) * (n - 2) * (n - 3) / 24;
+        }
+    }
+
+    private static int[] colex() {
+        int[] colex = new int[1 << Cards.RANK_COUNT];
+        for (int set = 0; set < colex.length; set++) {
+            int i = 1;
+            for (int rest = set; rest != 0; rest &= rest - 1, i++) {
+                colex[set] += BINOMIAL[Integer.numberOfTrailingZeros(rest)][i];
+            }
+        }
+        return colex;
+    }
+
+    private static int[][] uncolex() {
+        int[][] uncolex = new int[Cards.RANK_COUNT + 1][];
+        for (int n = 0; n <= Cards.RANK_COUNT; n++) {
+            uncolex[n] = new int[BINOMIAL[Cards.RANK_COUNT][n]];
+        }
+        for (int set = 0; set < COLEX.length; set++) {
+            uncolex[Integer.bitCount(set)][COLEX[set]] = set;
+        }
+        return uncolex;
+    }
+
+    private static int[][] binomials() {
+        int[][] binomial = new int[Cards.RANK_COUNT + 1][Cards.RANK_COUNT + 2];
+        for (int n = 0; n <= Cards.RANK_COUNT; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + binomial[n - 1][k];
+            }
+        }
+        return binomial;
+    }
+}
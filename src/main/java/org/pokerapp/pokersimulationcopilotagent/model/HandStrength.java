@@ -0,0 +1,83 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packed integer representation of a hand evaluation.
+ * Bits 20+ hold the {@link HandRank} value, bits 0-19 hold up to five 4-bit tiebreaker rank values,
+ * so two strengths compare exactly like the corresponding {@link HandEvaluation}s.
+ */
+public final class HandStrength {
+
+    public static final int CATEGORY_SHIFT = 20;
+
+    /**
+     * Power of two above the largest hand rank value, for flat per-player category counter arrays
+     */
+    public static final int CATEGORY_STRIDE = 16;
+
+    private static final HandRank[] HAND_RANKS = HandRank.values();
+
+    private HandStrength() {
+    }
+
+    public static int of(HandRank handRank, int tiebreakers) {
+        return (handRank.getValue() << CATEGORY_SHIFT) | tiebreakers;
+    }
+
+    /**
+     * Pack an evaluation of the reference evaluator, the inverse of {@link #toEvaluation(int)}
+     */
+    public static int of(HandEvaluation evaluation) {
+        int tiebreakers = 0;
+        List<Integer> values = evaluation.getTiebreakers();
+        for (int i = 0; i < values.size(); i++) {
+            tiebreakers |= values.get(i) << (16 - 4 * i);
+        }
+        return of(evaluation.getHandRank(), tiebreakers);
+    }
+
+    /**
+     * Hand rank value (1-10) of a packed strength
+     */
+    public static int category(int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    public static HandRank handRank(int strength) {
+        return HAND_RANKS[category(strength) - 1];
+    }
+
+    /**
+     * Unpack into the object representation used by the reference evaluator
+     */
+    public static HandEvaluation toEvaluation(int strength) {
+        HandRank handRank = handRank(strength);
+        int count = tiebreakerCount(handRank);
+        List<Integer> tiebreakers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tiebreakers.add((strength >>> (16 - 4 * i)) & 0xF);
+        }
+        return new HandEvaluation(handRank, tiebreakers);
+    }
+
+    private static int tiebreakerCount(HandRank handRank) {
+        switch (handRank) {
+            case ROYAL_FLUSH:
+            case STRAIGHT_FLUSH:
+            case STRAIGHT:
+                return 1;
+            case FOUR_OF_A_KIND:
+            case FULL_HOUSE:
+                return 2;
+            case THREE_OF_A_KIND:
+            case TWO_PAIR:
+                return 3;
+            case ONE_PAIR:
+                return 4;
+            default:
+                return 5;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Compiled form of a {@link SimulationSpec}: everything a simulation run needs that does not depend on the
+ * number of iterations (hole masks, random seats, board, stub deck, kernel mode and, on a complete board, the
+ * players' hand ranks) is computed once, so a plan can be executed any number of times. Plans are immutable
+ * and shared between threads; the arrays are owned by the plan and must not be modified, kernels work on
+ * copies of the ones they shuffle or deal into.
+ * <p>
+ * A plan holds no per-player evaluator state. With one or two cards to come every distinct runout is
+ * resolved once, so there is nothing left to fold incrementally; on longer runouts and with random players
+ * the board changes every iteration, and {@link
+ * org.pokerapp.pokersimulationcopilotagent.service.HandEvaluator#showdown(long, long[], int[]) showdown}
+ * already builds the board state once per runout and only folds in each player's two hole cards.
+ */
+@Getter
+public final class SimulationPlan {
+
+    /**
+     * Simulation kernel chosen for the plan
+     */
+    public enum Mode {
+        /** Complete board and every hand known: a single showdown decides every iteration */
+        SHOWDOWN,
+        /** One or two cards to come and every hand known: dealt runouts are counted and resolved once each */
+        RUNOUT_COUNTING,
+        /** Three or more cards to come and every hand known: a runout is dealt and evaluated every iteration */
+        RUNOUT_SAMPLING,
+        /** At least one random player: hands and runout are dealt and evaluated every iteration */
+        RANDOM_OPPONENTS,
+        /** Results after every street of each runout */
+        PER_STREET
+    }
+
+    private final List<String> playerNames;
+    private final long[] holeMasks;          // Known hands, 0 for random players
+    private final int[] randomSeats;         // Players dealt at random every iteration
+    private final long communityMask;
+    private final int communityCardCount;
+    private final int[] deck;                // Unused card indices
+    private final Mode mode;
+    private final HandRank[] bestHandRanks;  // Only set on a complete board, null entries for random players
+    private final int numberOfSimulations;   // Iterations requested with the spec
+    private final Long seed;                 // Seed requested with the spec, null for an unseeded run
+
+    public SimulationPlan(List<String> playerNames, long[] holeMasks, int[] randomSeats, long communityMask,
+                          int[] deck, Mode mode, HandRank[] bestHandRanks, int numberOfSimulations, Long seed) {
+        this.playerNames = List.copyOf(playerNames);
+        this.holeMasks = holeMasks;
+        this.randomSeats = randomSeats;
+        this.communityMask = communityMask;
+        this.communityCardCount = Long.bitCount(communityMask);
+        this.deck = deck;
+        this.mode = mode;
+        this.bestHandRanks = bestHandRanks;
+        this.numberOfSimulations = numberOfSimulations;
+        this.seed = seed;
+    }
+
+    public int getPlayerCount() {
+        return playerNames.size();
+    }
+
+    public boolean isPerStreet() {
+        return mode == Mode.PER_STREET;
+    }
+}
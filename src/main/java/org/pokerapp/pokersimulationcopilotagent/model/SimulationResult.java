@@ -0,0 +1,30 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Raw counters of a simulation run, indexed like the players of the {@link SimulationSpec}
+ */
+@Getter
+@AllArgsConstructor
+public class SimulationResult {
+    private final int[] wins;
+    private final int ties;
+    private final int totalSimulations;
+    private final HandRank[] bestHandRanks; // Only set when all 5 community cards are known
+    private final StreetResult[] streets;   // Only set for per-street runs, from the next street to the river
+    private final int leadChanges;          // Runouts whose winners changed between two streets
+    private final int[] handRankCounts;     // Final hand categories, HandStrength.CATEGORY_STRIDE slots per player
+
+    public SimulationResult(int[] wins, int ties, int totalSimulations, HandRank[] bestHandRanks) {
+        this(wins, ties, totalSimulations, bestHandRanks, null, 0, null);
+    }
+
+    /**
+     * Number of runouts in which the player finished with the given hand rank
+     */
+    public int getHandRankCount(int player, HandRank handRank) {
+        return handRankCounts[player * HandStrength.CATEGORY_STRIDE + handRank.getValue()];
+    }
+}
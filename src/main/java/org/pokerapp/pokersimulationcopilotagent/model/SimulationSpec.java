@@ -0,0 +1,121 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Compact, prevalidated description of a simulation in the engine's primitive card encoding
+ * (see {@link Cards}). The arrays are owned by the spec and must not be modified.
+ */
+@Getter
+public class SimulationSpec {
+
+    public static final int MAX_SIMULATIONS = 1_000_000;
+
+    /**
+     * Hole card index of a random player, whose two hole cards are dealt from the remaining deck every iteration
+     */
+    public static final int RANDOM_CARD = -1;
+
+    private final List<String> playerNames;
+    private final int[] holeCards;      // Two card indices per player in player order, RANDOM_CARD for random players
+    private final int[] communityCards; // 0-5 card indices
+    private final int numberOfSimulations;
+    private final long usedCards;       // Mask of all hole and community cards
+    private final boolean perStreet;    // Also count results after every street of the runout
+    private final int randomPlayerCount;
+    private final Long seed;            // Optional, makes the run reproducible
+
+    public SimulationSpec(List<String> playerNames, int[] holeCards, int[] communityCards,
+                          int numberOfSimulations) {
+        this(playerNames, holeCards, communityCards, numberOfSimulations, false);
+    }
+
+    public SimulationSpec(List<String> playerNames, int[] holeCards, int[] communityCards,
+                          int numberOfSimulations, boolean perStreet) {
+        this(playerNames, holeCards, communityCards, numberOfSimulations, perStreet, null);
+    }
+
+    public SimulationSpec(List<String> playerNames, int[] holeCards, int[] communityCards,
+                          int numberOfSimulations, boolean perStreet, Long seed) {
+        if (playerNames.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players are required for a poker game");
+        }
+        if (holeCards.length != playerNames.size() * 2) {
+            throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
+        }
+        if (communityCards.length > 5) {
+            throw new IllegalArgumentException("Cannot have more than 5 community cards");
+        }
+        if (numberOfSimulations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+        if (numberOfSimulations > MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Number of simulations cannot exceed 1,000,000");
+        }
+
+        this.playerNames = List.copyOf(playerNames);
+        this.holeCards = holeCards;
+        this.communityCards = communityCards;
+        this.numberOfSimulations = numberOfSimulations;
+        int randomPlayers = 0;
+        long used = 0L;
+        for (int p = 0; p < playerNames.size(); p++) {
+            int first = holeCards[2 * p];
+            int second = holeCards[2 * p + 1];
+            if (first == RANDOM_CARD && second == RANDOM_CARD) {
+                randomPlayers++;
+            } else if (first == RANDOM_CARD || second == RANDOM_CARD) {
+                throw new IllegalArgumentException("Random players cannot have a known hole card");
+            } else {
+                used = addCards(used, first, second);
+            }
+        }
+        used = addCards(used, communityCards);
+        if (Cards.DECK_SIZE - Long.bitCount(used) < 2 * randomPlayers + 5 - communityCards.length) {
+            throw new IllegalArgumentException("Not enough cards left to deal every random player");
+        }
+
+        this.usedCards = used;
+        this.perStreet = perStreet;
+        this.randomPlayerCount = randomPlayers;
+        this.seed = seed;
+    }
+
+    public int getPlayerCount() {
+        return playerNames.size();
+    }
+
+    /**
+     * Whether the player's hole cards are dealt at random every iteration
+     */
+    public boolean isRandom(int player) {
+        return holeCards[2 * player] == RANDOM_CARD;
+    }
+
+    /**
+     * Mask of the two hole cards of a player, empty for a random player
+     */
+    public long holeMask(int player) {
+        return isRandom(player) ? 0L : (1L << holeCards[2 * player]) | (1L << holeCards[2 * player + 1]);
+    }
+
+    public long communityMask() {
+        return Cards.mask(communityCards);
+    }
+
+    private static long addCards(long used, int... cards) {
+        for (int card : cards) {
+            if (card < 0 || card >= Cards.DECK_SIZE) {
+                throw new IllegalArgumentException("Invalid card index: " + card);
+            }
+            long bit = 1L << card;
+            if ((used & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+            }
+            used |= bit;
+        }
+        return used;
+    }
+}
@@ -0,0 +1,33 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+/**
+ * Enum representing the betting streets that follow a community card deal
+ */
+public enum Street {
+    FLOP(3, "Flop"),
+    TURN(4, "Turn"),
+    RIVER(5, "River");
+
+    private final int communityCards;
+    private final String displayName;
+
+    Street(int communityCards, String displayName) {
+        this.communityCards = communityCards;
+        this.displayName = displayName;
+    }
+
+    public int getCommunityCards() {
+        return communityCards;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Street reached with the given number of community cards (3-5)
+     */
+    public static Street ofCommunityCards(int communityCards) {
+        return values()[communityCards - FLOP.communityCards];
+    }
+}
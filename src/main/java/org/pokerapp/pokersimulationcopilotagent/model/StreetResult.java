@@ -0,0 +1,16 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Raw counters of one street of a per-street simulation run, indexed like the players of the {@link SimulationSpec}
+ */
+@Getter
+@AllArgsConstructor
+public class StreetResult {
+    private final Street street;
+    private final int[] wins;
+    private final int ties;
+    private final double[] potShares; // Sum over all runouts of each player's share of the pot
+}
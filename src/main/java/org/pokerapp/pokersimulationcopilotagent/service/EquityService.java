@@ -0,0 +1,112 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.springframework.stereotype.Service;
+
+import java.util.SplittableRandom;
+
+/**
+ * Service for all-in equity (expected share of the pot, split pots divided evenly) of known hole cards
+ * on a partial board, by exact enumeration of the remaining runouts or by sampling them
+ */
+@Service
+public class EquityService {
+
+    /**
+     * Largest number of missing board cards that is enumerated exactly by {@link #equity}
+     */
+    public static final int MAX_EXACT_MISSING_CARDS = 2;
+
+    private final HandEvaluator handEvaluator;
+
+    public EquityService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    /**
+     * Exact equity when at most {@link #MAX_EXACT_MISSING_CARDS} cards are missing, sampled otherwise
+     */
+    public double[] equity(long[] holeMasks, long board, int samples, SplittableRandom random) {
+        int missing = 5 - Long.bitCount(board);
+        return missing <= MAX_EXACT_MISSING_CARDS
+                ? exactEquity(holeMasks, board)
+                : sampledEquity(holeMasks, board, samples, random);
+    }
+
+    /**
+     * Equity over every possible completion of the board
+     */
+    public double[] exactEquity(long[] holeMasks, long board) {
+        int[] deck = PokerSimulationService.stubDeck(usedCards(holeMasks, board));
+        int missing = 5 - Long.bitCount(board);
+        double[] shares = new double[holeMasks.length];
+        long runouts = enumerate(holeMasks, board, deck, 0, missing, shares);
+        return normalize(shares, runouts);
+    }
+
+    /**
+     * Equity over randomly dealt completions of the board
+     */
+    public double[] sampledEquity(long[] holeMasks, long board, int samples, SplittableRandom random) {
+        int[] deck = PokerSimulationService.stubDeck(usedCards(holeMasks, board));
+        int missing = 5 - Long.bitCount(board);
+        double[] shares = new double[holeMasks.length];
+        for (int i = 0; i < samples; i++) {
+            long runout = board;
+            int remaining = deck.length;
+            for (int k = 0; k < missing; k++) {
+                int j = random.nextInt(remaining);
+                int card = deck[j];
+                deck[j] = deck[--remaining];
+                deck[remaining] = card;
+                runout |= 1L << card;
+            }
+            addShares(holeMasks, runout, shares);
+        }
+        return normalize(shares, samples);
+    }
+
+    /**
+     * Recursively deal {@code missing} cards from {@code deck[from..]} in increasing index order
+     */
+    private long enumerate(long[] holeMasks, long board, int[] deck, int from, int missing, double[] shares) {
+        if (missing == 0) {
+            addShares(holeMasks, board, shares);
+            return 1;
+        }
+        long runouts = 0;
+        for (int i = from; i <= deck.length - missing; i++) {
+            runouts += enumerate(holeMasks, board | (1L << deck[i]), deck, i + 1, missing - 1, shares);
+        }
+        return runouts;
+    }
+
+    /**
+     * Add each winner's share of the pot on a complete board
+     */
+    private void addShares(long[] holeMasks, long board, double[] shares) {
+        long winners = handEvaluator.showdown(board, holeMasks, null);
+        double share = 1.0 / Long.bitCount(winners);
+        for (long w = winners; w != 0; w &= w - 1) {
+            shares[Long.numberOfTrailingZeros(w)] += share;
+        }
+    }
+
+    private static long usedCards(long[] holeMasks, long board) {
+        long used = board;
+        for (long hole : holeMasks) {
+            used |= hole;
+        }
+        if (Long.bitCount(used) != Long.bitCount(board) + 2 * holeMasks.length || (used & ~Cards.FULL_DECK) != 0) {
+            throw new IllegalArgumentException("Hole cards and board must be distinct valid cards");
+        }
+        return used;
+    }
+
+    private static double[] normalize(double[] shares, long runouts) {
+        for (int p = 0; p < shares.length; p++) {
+            shares[p] /= runouts;
+        }
+        return shares;
+    }
+}
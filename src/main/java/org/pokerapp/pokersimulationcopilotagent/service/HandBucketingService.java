@@ -0,0 +1,577 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.pokerapp.pokersimulationcopilotagent.model.BucketTable;
+import org.pokerapp.pokersimulationcopilotagent.model.HandIndexer;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Offline job that buckets every flop or turn hand up to suit isomorphism (see {@link HandIndexer}) for card
+ * abstraction.
+ * Each hand gets a histogram of its river equity against one random opponent over its runouts (all of them,
+ * or a per-hand seeded sample), and the histograms are clustered by k-means with the earth mover's distance,
+ * which on equally spaced bins is the L1 distance of the cumulative histograms. Histograms are computed in
+ * parallel chunks and every phase is checkpointed in a work directory, so an interrupted job resumes where
+ * it stopped:
+ *
+ * <pre>
+ * job.properties       job parameters, a resume must use the same ones
+ * histograms.bin       bins x u16 runout counts per hand, by hand index
+ * histograms.progress  number of chunks already written
+ * centroids.bin        k-means iteration and centroids
+ * </pre>
+ *
+ * The result is a {@link BucketTable}.
+ */
+@Service
+public class HandBucketingService {
+
+    public static final int DEFAULT_BINS = 50;
+    public static final int DEFAULT_BUCKETS = 200;
+    public static final int DEFAULT_ITERATIONS = 25;
+    public static final int MAX_BUCKETS = 0xFFFF;
+
+    private static final int CHUNK = 4096;
+    private static final int CHUNKS_PER_CHECKPOINT = 64;
+    private static final int SEED_SAMPLE = 20_000;
+    private static final int OPPONENTS = 990; // Opponent combos left after 2 hole and 5 board cards: C(45, 2)
+
+    public enum Street {
+        FLOP(3), TURN(4);
+
+        private final int boardCards;
+
+        Street(int boardCards) {
+            this.boardCards = boardCards;
+        }
+
+        public int getBoardCards() {
+            return boardCards;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(String phase, long done, long total);
+    }
+
+    private final HandEvaluator handEvaluator;
+
+    public HandBucketingService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    public BucketingSummary run(Job job, Path workDir, Path output, ProgressListener listener) throws IOException {
+        job.validate();
+        long begin = System.nanoTime();
+        Files.createDirectories(workDir);
+        checkJob(job, workDir.resolve("job.properties"));
+
+        HandIndexer indexer = HandIndexer.forBoard(job.getStreet().getBoardCards());
+        int hands = Math.toIntExact(job.getHands() > 0 ? Math.min(job.getHands(), indexer.size()) : indexer.size());
+        int resumedHands = histograms(job, indexer, hands, workDir, listener);
+        Clustering clustering = cluster(job, hands, workDir, listener);
+
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        BucketTable.write(temp, job.getStreet().getBoardCards(), clustering.centroids.length, clustering.assignments);
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return new BucketingSummary(job.getStreet(), hands, clustering.centroids.length,
+                clustering.iterations, clustering.converged, resumedHands, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /**
+     * Histogram of the river equity of {@code hole} against one random opponent over the runouts of
+     * {@code board}, all of them or {@code runouts} drawn with a generator seeded from {@code seed} and the hand
+     */
+    int[] histogram(long hole, long board, int bins, int runouts, long seed) {
+        int[] deck = PokerSimulationService.stubDeck(hole | board);
+        long[] all = runouts(deck, 5 - Long.bitCount(board));
+        int count = all.length;
+        if (runouts > 0 && runouts < count) {
+            long hand = HandIndexer.forBoard(Long.bitCount(board)).index(hole, board);
+            SplittableRandom random = PokerSimulationService.chunkRandom(seed, hand);
+            for (int i = 0; i < runouts; i++) {
+                int j = i + random.nextInt(count - i);
+                long swap = all[i];
+                all[i] = all[j];
+                all[j] = swap;
+            }
+            count = runouts;
+        }
+
+        int[] histogram = new int[bins];
+        long[] opponents = new long[OPPONENTS];
+        int[] strengths = new int[OPPONENTS];
+        for (int r = 0; r < count; r++) {
+            long river = board | all[r];
+            int hero = handEvaluator.evaluate(river | hole);
+
+            for (int i = 0, n = 0; i < deck.length; i++) {
+                long first = 1L << deck[i];
+                if ((first & river) != 0) {
+                    continue;
+                }
+                for (int j = i + 1; j < deck.length; j++) {
+                    long second = 1L << deck[j];
+                    if ((second & river) == 0) {
+                        opponents[n++] = first | second;
+                    }
+                }
+            }
+            handEvaluator.evaluateAll(river, opponents, strengths);
+
+            int points = 0; // Two per win, one per tie
+            for (int strength : strengths) {
+                points += hero > strength ? 2 : hero == strength ? 1 : 0;
+            }
+            histogram[Math.min(bins - 1, points * bins / (2 * OPPONENTS))]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Earth mover's distance of two histograms given as cumulative distributions on equally spaced bins
+     */
+    static double distance(double[] cdf, double[] other) {
+        double distance = 0.0;
+        for (int b = 0; b < cdf.length; b++) {
+            distance += Math.abs(cdf[b] - other[b]);
+        }
+        return distance;
+    }
+
+    static double[] cdf(int[] histogram) {
+        double total = 0.0;
+        for (int count : histogram) {
+            total += count;
+        }
+        double[] cdf = new double[histogram.length];
+        double sum = 0.0;
+        for (int b = 0; b < histogram.length; b++) {
+            sum += histogram[b];
+            cdf[b] = sum / total;
+        }
+        return cdf;
+    }
+
+    private static void checkJob(Job job, Path file) throws IOException {
+        Properties properties = job.toProperties();
+        if (Files.exists(file)) {
+            Properties existing = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+                existing.load(reader);
+            }
+            if (!existing.equals(properties)) {
+                throw new IllegalStateException("Work directory " + file.getParent() + " belongs to a different job");
+            }
+            return;
+        }
+        writeAtomically(file, out -> {
+            try (Writer writer = new OutputStreamWriter(out, StandardCharsets.ISO_8859_1)) {
+                properties.store(writer, "Hand bucketing job");
+            }
+        });
+    }
+
+    /**
+     * Fill {@code histograms.bin} chunk by chunk, returns the number of hands already done by an earlier run
+     */
+    private int histograms(Job job, HandIndexer indexer, int hands, Path workDir, ProgressListener listener)
+            throws IOException {
+        Path progress = workDir.resolve("histograms.progress");
+        int chunks = (hands + CHUNK - 1) / CHUNK;
+        int next = Files.exists(progress) ? Integer.parseInt(Files.readString(progress).trim()) : 0;
+        int resumedHands = Math.min(hands, next * CHUNK);
+
+        try (FileChannel channel = FileChannel.open(workDir.resolve("histograms.bin"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            while (next < chunks) {
+                int end = Math.min(chunks, next + CHUNKS_PER_CHECKPOINT);
+                IntStream.range(next, end).parallel().forEach(chunk -> histogramChunk(job, indexer, hands, chunk, channel));
+                channel.force(false);
+
+                next = end;
+                String done = Integer.toString(next);
+                writeAtomically(progress, out -> out.write(done.getBytes(StandardCharsets.US_ASCII)));
+                listener.progress("histograms", Math.min(hands, (long) next * CHUNK), hands);
+            }
+        }
+        return resumedHands;
+    }
+
+    private void histogramChunk(Job job, HandIndexer indexer, int hands, int chunk, FileChannel channel) {
+        long[] hand = new long[2];
+        int from = chunk * CHUNK;
+        int to = Math.min(hands, from + CHUNK);
+        ByteBuffer buffer = ByteBuffer.allocate((to - from) * job.getBins() * Short.BYTES);
+        for (int i = from; i < to; i++) {
+            indexer.unindex(i, hand);
+            int[] histogram = histogram(hand[0], hand[1], job.getBins(), job.getRunouts(), job.getSeed());
+            for (int count : histogram) {
+                buffer.putShort((short) count);
+            }
+        }
+        buffer.flip();
+
+        try {
+            long position = (long) from * job.getBins() * Short.BYTES;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * k-means over the cumulative histograms, seeded by k-means++ on a sample and checkpointed after every
+     * iteration. The assignments of the final centroids are computed by one more pass unless the last
+     * iteration already converged.
+     */
+    private static Clustering cluster(Job job, int hands, Path workDir, ProgressListener listener) throws IOException {
+        Path checkpoint = workDir.resolve("centroids.bin");
+        int bins = job.getBins();
+        int[] assignments = new int[hands];
+        Arrays.fill(assignments, -1);
+
+        try (FileChannel channel = FileChannel.open(workDir.resolve("histograms.bin"), StandardOpenOption.READ)) {
+            Clustering clustering = Files.exists(checkpoint)
+                    ? readCheckpoint(checkpoint, bins)
+                    : new Clustering(seed(channel, hands, job), 0, false);
+
+            boolean assigned = false;
+            while (!clustering.converged && clustering.iterations < job.getIterations()) {
+                Pass pass = assign(channel, hands, clustering.centroids, assignments);
+                clustering = new Clustering(pass.means(clustering.centroids), clustering.iterations + 1,
+                        pass.changed == 0);
+                writeCheckpoint(checkpoint, clustering);
+                listener.progress("k-means", clustering.iterations, job.getIterations());
+                assigned = clustering.converged;
+            }
+            if (!assigned) {
+                assign(channel, hands, clustering.centroids, assignments);
+            }
+            clustering.assignments = assignments;
+            return clustering;
+        }
+    }
+
+    /**
+     * k-means++: each further centroid is a sampled hand drawn with probability proportional to its squared
+     * distance from the nearest centroid so far
+     */
+    private static double[][] seed(FileChannel channel, int hands, Job job) {
+        int k = Math.min(job.getBuckets(), hands);
+        int sampleSize = Math.min(hands, Math.max(SEED_SAMPLE, k));
+        SplittableRandom random = new SplittableRandom(job.getSeed());
+
+        double[][] sample = new double[sampleSize][];
+        for (int s = 0; s < sampleSize; s++) {
+            int hand = sampleSize == hands ? s : random.nextInt(hands);
+            sample[s] = readCdfs(channel, hand, hand + 1, job.getBins())[0];
+        }
+
+        double[][] centroids = new double[k][];
+        centroids[0] = sample[random.nextInt(sampleSize)].clone();
+        double[] weights = new double[sampleSize];
+        for (int s = 0; s < sampleSize; s++) {
+            double d = distance(sample[s], centroids[0]);
+            weights[s] = d * d;
+        }
+        for (int c = 1; c < k; c++) {
+            double total = 0.0;
+            for (double weight : weights) {
+                total += weight;
+            }
+            int pick = sampleSize - 1;
+            if (total == 0.0) {
+                pick = random.nextInt(sampleSize);
+            } else {
+                double target = random.nextDouble() * total;
+                for (int s = 0; s < sampleSize; s++) {
+                    target -= weights[s];
+                    if (target < 0) {
+                        pick = s;
+                        break;
+                    }
+                }
+            }
+            centroids[c] = sample[pick].clone();
+            for (int s = 0; s < sampleSize; s++) {
+                double d = distance(sample[s], centroids[c]);
+                weights[s] = Math.min(weights[s], d * d);
+            }
+        }
+        return centroids;
+    }
+
+    /**
+     * Assign every hand to its nearest centroid, in parallel chunks read from the histogram file
+     */
+    private static Pass assign(FileChannel channel, int hands, double[][] centroids, int[] assignments) {
+        int bins = centroids[0].length;
+        int chunks = (hands + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            Pass pass = new Pass(centroids.length, bins);
+            int from = chunk * CHUNK;
+            double[][] cdfs = readCdfs(channel, from, Math.min(hands, from + CHUNK), bins);
+            for (int i = 0; i < cdfs.length; i++) {
+                int nearest = nearest(cdfs[i], centroids);
+                if (assignments[from + i] != nearest) {
+                    assignments[from + i] = nearest;
+                    pass.changed++;
+                }
+                pass.counts[nearest]++;
+                double[] sum = pass.sums[nearest];
+                for (int b = 0; b < bins; b++) {
+                    sum[b] += cdfs[i][b];
+                }
+            }
+            return pass;
+        }).reduce(Pass::merge).orElseThrow();
+    }
+
+    private static int nearest(double[] cdf, double[][] centroids) {
+        int nearest = 0;
+        double best = Double.MAX_VALUE;
+        for (int c = 0; c < centroids.length; c++) {
+            double[] centroid = centroids[c];
+            double distance = 0.0;
+            for (int b = 0; b < cdf.length && distance < best; b++) {
+                distance += Math.abs(cdf[b] - centroid[b]);
+            }
+            if (distance < best) {
+                best = distance;
+                nearest = c;
+            }
+        }
+        return nearest;
+    }
+
+    private static double[][] readCdfs(FileChannel channel, int from, int to, int bins) {
+        ByteBuffer buffer = ByteBuffer.allocate((to - from) * bins * Short.BYTES);
+        try {
+            long position = (long) from * bins * Short.BYTES;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IllegalStateException("Histogram file is truncated");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+
+        double[][] cdfs = new double[to - from][];
+        int[] histogram = new int[bins];
+        for (int i = 0; i < cdfs.length; i++) {
+            for (int b = 0; b < bins; b++) {
+                histogram[b] = Short.toUnsignedInt(buffer.getShort());
+            }
+            cdfs[i] = cdf(histogram);
+        }
+        return cdfs;
+    }
+
+    private static Clustering readCheckpoint(Path file, int bins) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int iterations = in.readInt();
+            boolean converged = in.readBoolean();
+            double[][] centroids = new double[in.readInt()][bins];
+            for (double[] centroid : centroids) {
+                for (int b = 0; b < bins; b++) {
+                    centroid[b] = in.readDouble();
+                }
+            }
+            return new Clustering(centroids, iterations, converged);
+        }
+    }
+
+    private static void writeCheckpoint(Path file, Clustering clustering) throws IOException {
+        writeAtomically(file, out -> {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+            data.writeInt(clustering.iterations);
+            data.writeBoolean(clustering.converged);
+            data.writeInt(clustering.centroids.length);
+            for (double[] centroid : clustering.centroids) {
+                for (double value : centroid) {
+                    data.writeDouble(value);
+                }
+            }
+            data.flush();
+        });
+    }
+
+    /**
+     * Write a file next to its final name and move it into place, so a crash never leaves it half written
+     */
+    private static void writeAtomically(Path file, FileWriter writer) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            writer.write(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Every board completion with {@code missing} cards from the deck
+     */
+    private static long[] runouts(int[] deck, int missing) {
+        if (missing == 1) {
+            long[] runouts = new long[deck.length];
+            for (int i = 0; i < deck.length; i++) {
+                runouts[i] = 1L << deck[i];
+            }
+            return runouts;
+        }
+        long[] runouts = new long[deck.length * (deck.length - 1) / 2];
+        for (int i = 0, n = 0; i < deck.length; i++) {
+            for (int j = i + 1; j < deck.length; j++) {
+                runouts[n++] = (1L << deck[i]) | (1L << deck[j]);
+            }
+        }
+        return runouts;
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static class Clustering {
+        final double[][] centroids;
+        final int iterations;
+        final boolean converged;
+        int[] assignments;
+
+        Clustering(double[][] centroids, int iterations, boolean converged) {
+            this.centroids = centroids;
+            this.iterations = iterations;
+            this.converged = converged;
+        }
+    }
+
+    /**
+     * Per-centroid sums of the assigned cumulative histograms of one assignment pass
+     */
+    private static class Pass {
+        final double[][] sums;
+        final long[] counts;
+        long changed;
+
+        Pass(int k, int bins) {
+            sums = new double[k][bins];
+            counts = new long[k];
+        }
+
+        Pass merge(Pass other) {
+            for (int c = 0; c < sums.length; c++) {
+                counts[c] += other.counts[c];
+                for (int b = 0; b < sums[c].length; b++) {
+                    sums[c][b] += other.sums[c][b];
+                }
+            }
+            changed += other.changed;
+            return this;
+        }
+
+        /**
+         * New centroids, a centroid without hands keeps its position
+         */
+        double[][] means(double[][] centroids) {
+            double[][] means = new double[centroids.length][];
+            for (int c = 0; c < centroids.length; c++) {
+                if (counts[c] == 0) {
+                    means[c] = centroids[c];
+                } else {
+                    means[c] = new double[sums[c].length];
+                    for (int b = 0; b < means[c].length; b++) {
+                        means[c][b] = sums[c][b] / counts[c];
+                    }
+                }
+            }
+            return means;
+        }
+    }
+
+    /**
+     * Parameters of a bucketing job, {@code runouts} 0 uses every runout and {@code hands} 0 every hand of the street
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Job {
+        private final Street street;
+        private final int bins;
+        private final int buckets;
+        private final int iterations;
+        private final int runouts;
+        private final long seed;
+        private final int hands;
+
+        public void validate() {
+            if (street == null) {
+                throw new IllegalArgumentException("Street is required");
+            }
+            if (bins < 2 || bins > 1000) {
+                throw new IllegalArgumentException("Number of bins must be between 2 and 1000");
+            }
+            if (buckets < 1 || buckets > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Number of buckets must be between 1 and " + MAX_BUCKETS);
+            }
+            if (iterations < 0 || runouts < 0 || hands < 0) {
+                throw new IllegalArgumentException("Iterations, runouts and hands cannot be negative");
+            }
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("street", street.name());
+            properties.setProperty("bins", Integer.toString(bins));
+            properties.setProperty("buckets", Integer.toString(buckets));
+            properties.setProperty("iterations", Integer.toString(iterations));
+            properties.setProperty("runouts", Integer.toString(runouts));
+            properties.setProperty("seed", Long.toString(seed));
+            properties.setProperty("hands", Integer.toString(hands));
+            properties.setProperty("rngVersion", Integer.toString(PokerSimulationService.RNG_VERSION));
+            return properties;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BucketingSummary {
+        private final Street street;
+        private final int hands;
+        private final int buckets;
+        private final int iterations;
+        private final boolean converged;
+        private final int resumedHands;
+        private final long elapsedMillis;
+    }
+}
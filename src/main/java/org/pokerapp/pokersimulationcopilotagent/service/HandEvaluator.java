@@ -0,0 +1,57 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+
+/**
+ * Hand evaluation engine used by the simulation kernel and the showdown services. Every engine must rank
+ * hands exactly like the reference evaluator ({@link ReferenceHandEvaluator}); the active engine is
+ * chosen by {@code poker.evaluator.engine} and self-checked at startup (see {@link HandEvaluatorVerifier}).
+ */
+public interface HandEvaluator {
+
+    /**
+     * Engine name used for selection by configuration
+     */
+    String name();
+
+    /**
+     * Evaluate the best 5-card hand contained in a mask of 5-7 cards (see {@link Cards}) into a packed
+     * {@link HandStrength}
+     */
+    int evaluate(long cards);
+
+    /**
+     * Showdown of several players on one board of 3-5 cards. Engines may derive the board's state once and
+     * share it between the players; no per-player state is kept from one board to the next.
+     *
+     * @param strengths receives every player's packed strength when not null
+     * @return mask of the players holding the best hand (bit p set for player p)
+     */
+    default long showdown(long board, long[] holeMasks, int[] strengths) {
+        int best = -1;
+        long winners = 0L;
+        for (int p = 0; p < holeMasks.length; p++) {
+            int strength = evaluate(board | holeMasks[p]);
+            if (strengths != null) {
+                strengths[p] = strength;
+            }
+            if (strength > best) {
+                best = strength;
+                winners = 1L << p;
+            } else if (strength == best) {
+                winners |= 1L << p;
+            }
+        }
+        return winners;
+    }
+
+    /**
+     * Packed strength of every hand on one board of 3-5 cards, for any number of hands
+     */
+    default void evaluateAll(long board, long[] holeMasks, int[] strengths) {
+        for (int i = 0; i < holeMasks.length; i++) {
+            strengths[i] = evaluate(board | holeMasks[i]);
+        }
+    }
+}
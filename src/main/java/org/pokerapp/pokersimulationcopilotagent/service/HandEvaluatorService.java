@@ -7,10 +7,18 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * Service for evaluating poker hands according to Texas Hold'em rules
+ * Service for evaluating poker hands according to Texas Hold'em rules. Doubles as the default
+ * {@link HandEvaluator} engine ("bitmask") working on per-suit rank masks.
  */
 @Service
-public class HandEvaluatorService {
+public class HandEvaluatorService implements HandEvaluator {
+
+    public static final String ENGINE_NAME = "bitmask";
+
+    @Override
+    public String name() {
+        return ENGINE_NAME;
+    }
 
     /**
      * Evaluate the best 5-card hand from a combination of hole cards and community cards
@@ -38,6 +46,211 @@ public class HandEvaluatorService {
         return bestEvaluation;
     }
 
+    /**
+     * Evaluate the best 5-card hand contained in a card mask (see {@link Cards}) into a packed
+     * {@link HandStrength}. Works directly on per-suit rank masks without any allocation and ranks
+     * hands exactly like {@link #evaluateHand(List, List)}.
+     */
+    @Override
+    public int evaluate(long cards) {
+        int s0 = Cards.suitRanks(cards, 0);
+        int s1 = Cards.suitRanks(cards, 1);
+        int s2 = Cards.suitRanks(cards, 2);
+        int s3 = Cards.suitRanks(cards, 3);
+        int ranks = s0 | s1 | s2 | s3;
+        int pairsOrBetter = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int trips = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int quads = s0 & s1 & s2 & s3;
+
+        return resolve(s0, s1, s2, s3, ranks, pairsOrBetter, trips, quads);
+    }
+
+    /**
+     * Showdown of several players on one board of 3-5 cards. The board's suit masks, rank multiplicities and
+     * flush suit are computed once; each player then only folds in two hole cards, and only the single
+     * suit with three or more board cards is checked for a flush.
+     *
+     * @param strengths receives every player's packed strength when not null
+     * @return mask of the players holding the best hand (bit p set for player p)
+     */
+    @Override
+    public long showdown(long board, long[] holeMasks, int[] strengths) {
+        int b0 = Cards.suitRanks(board, 0);
+        int b1 = Cards.suitRanks(board, 1);
+        int b2 = Cards.suitRanks(board, 2);
+        int b3 = Cards.suitRanks(board, 3);
+        int boardRanks = b0 | b1 | b2 | b3;
+        int boardPairs = (b0 & b1) | (b0 & b2) | (b0 & b3) | (b1 & b2) | (b1 & b3) | (b2 & b3);
+        int boardTrips = (b0 & b1 & b2) | (b0 & b1 & b3) | (b0 & b2 & b3) | (b1 & b2 & b3);
+        int boardQuads = b0 & b1 & b2 & b3;
+
+        // Five board cards hold at most one suit three times, no other suit can make a flush
+        int flushSuit = Integer.bitCount(b0) >= 3 ? 0
+                : Integer.bitCount(b1) >= 3 ? 1
+                : Integer.bitCount(b2) >= 3 ? 2
+                : Integer.bitCount(b3) >= 3 ? 3 : -1;
+        int boardFlushRanks = flushSuit < 0 ? 0 : Cards.suitRanks(board, flushSuit);
+
+        int best = -1;
+        long winners = 0L;
+        for (int p = 0; p < holeMasks.length; p++) {
+            long hole = holeMasks[p];
+            int ranks = boardRanks;
+            int pairsOrBetter = boardPairs;
+            int trips = boardTrips;
+            int quads = boardQuads;
+            for (int suit = 0; suit < 4; suit++) {
+                int added = Cards.suitRanks(hole, suit);
+                quads |= trips & added;
+                trips |= pairsOrBetter & added;
+                pairsOrBetter |= ranks & added;
+                ranks |= added;
+            }
+
+            int flush = 0;
+            if (flushSuit >= 0) {
+                int suited = boardFlushRanks | Cards.suitRanks(hole, flushSuit);
+                flush = Integer.bitCount(suited) >= 5 ? suited : 0;
+            }
+
+            int strength = resolve(flush, ranks, pairsOrBetter, trips, quads);
+            if (strengths != null) {
+                strengths[p] = strength;
+            }
+            if (strength > best) {
+                best = strength;
+                winners = 1L << p;
+            } else if (strength == best) {
+                winners |= 1L << p;
+            }
+        }
+        return winners;
+    }
+
+    /**
+     * Shares the board state like {@link #showdown(long, long[], int[])}; the winner mask only has room for
+     * 64 players and is dropped
+     */
+    @Override
+    public void evaluateAll(long board, long[] holeMasks, int[] strengths) {
+        showdown(board, holeMasks, strengths);
+    }
+
+    /**
+     * Best hand from per-suit rank masks and the sets of ranks held at least once, twice, three and four times
+     */
+    private static int resolve(int s0, int s1, int s2, int s3, int ranks, int pairsOrBetter, int trips, int quads) {
+        int flush = Integer.bitCount(s0) >= 5 ? s0
+                : Integer.bitCount(s1) >= 5 ? s1
+                : Integer.bitCount(s2) >= 5 ? s2
+                : Integer.bitCount(s3) >= 5 ? s3 : 0;
+
+        return resolve(flush, ranks, pairsOrBetter, trips, quads);
+    }
+
+    /**
+     * Best hand once the flush suit's rank mask (0 if there is no flush) is known
+     */
+    private static int resolve(int flush, int ranks, int pairsOrBetter, int trips, int quads) {
+        // Royal Flush / Straight Flush
+        if (flush != 0) {
+            int straightFlushHigh = straightHigh(flush);
+            if (straightFlushHigh == Rank.ACE.getValue()) {
+                return HandStrength.of(HandRank.ROYAL_FLUSH, straightFlushHigh << 16);
+            }
+            if (straightFlushHigh != 0) {
+                return HandStrength.of(HandRank.STRAIGHT_FLUSH, straightFlushHigh << 16);
+            }
+        }
+
+        // Four of a Kind
+        if (quads != 0) {
+            int quad = highestRank(quads);
+            return HandStrength.of(HandRank.FOUR_OF_A_KIND,
+                    (quad + 2) << 16 | kickers(ranks & ~(1 << quad), 1) << 12);
+        }
+
+        int pairs = pairsOrBetter & ~trips;
+
+        // Full House (a second set of trips plays as the pair)
+        if (trips != 0) {
+            int trip = highestRank(trips);
+            int fill = (trips & ~(1 << trip)) | pairs;
+            if (fill != 0) {
+                return HandStrength.of(HandRank.FULL_HOUSE, (trip + 2) << 16 | (highestRank(fill) + 2) << 12);
+            }
+        }
+
+        // Flush
+        if (flush != 0) {
+            return HandStrength.of(HandRank.FLUSH, kickers(flush, 5));
+        }
+
+        // Straight
+        int straightHigh = straightHigh(ranks);
+        if (straightHigh != 0) {
+            return HandStrength.of(HandRank.STRAIGHT, straightHigh << 16);
+        }
+
+        // Three of a Kind
+        if (trips != 0) {
+            int trip = highestRank(trips);
+            return HandStrength.of(HandRank.THREE_OF_A_KIND,
+                    (trip + 2) << 16 | kickers(ranks & ~(1 << trip), 2) << 8);
+        }
+
+        // Two Pair
+        if (Integer.bitCount(pairs) >= 2) {
+            int highPair = highestRank(pairs);
+            int lowPair = highestRank(pairs & ~(1 << highPair));
+            return HandStrength.of(HandRank.TWO_PAIR, (highPair + 2) << 16 | (lowPair + 2) << 12
+                    | kickers(ranks & ~(1 << highPair) & ~(1 << lowPair), 1) << 8);
+        }
+
+        // One Pair
+        if (pairs != 0) {
+            int pair = highestRank(pairs);
+            return HandStrength.of(HandRank.ONE_PAIR, (pair + 2) << 16 | kickers(ranks & ~(1 << pair), 3) << 4);
+        }
+
+        // High Card
+        return HandStrength.of(HandRank.HIGH_CARD, kickers(ranks, 5));
+    }
+
+    /**
+     * Value of the highest card of the best straight in a rank mask (5 for the wheel), 0 if none
+     */
+    private static int straightHigh(int ranks) {
+        // Shift in the ace below the deuce so the wheel is found like any other straight
+        int extended = (ranks << 1) | (ranks >>> 12 & 1);
+        int runs = extended & (extended >>> 1) & (extended >>> 2) & (extended >>> 3) & (extended >>> 4);
+        if (runs == 0) {
+            return 0;
+        }
+        return 31 - Integer.numberOfLeadingZeros(runs) + 5;
+    }
+
+    private static int highestRank(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    /**
+     * Pack the values of the {@code count} highest ranks into consecutive nibbles, highest first
+     */
+    private static int kickers(int ranks, int count) {
+        int packed = 0;
+        for (int i = 0; i < count; i++) {
+            int value = 0;
+            if (ranks != 0) {
+                int rank = highestRank(ranks);
+                ranks &= ~(1 << rank);
+                value = rank + 2;
+            }
+            packed = packed << 4 | value;
+        }
+        return packed;
+    }
+
     /**
      * Evaluate a specific 5-card hand
      */
@@ -0,0 +1,172 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.springframework.stereotype.Service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Differential checks of a {@link HandEvaluator} engine against another one, usually the reference engine:
+ * a quick self-check on a fixed sample run at startup and an exhaustive comparison over every hand of a
+ * given size, run offline.
+ */
+@Service
+public class HandEvaluatorVerifier {
+
+    /**
+     * Random hands of 5-7 cards compared by the startup self-check
+     */
+    public static final int SELF_CHECK_HANDS = 2_000;
+
+    /**
+     * Random showdowns of 2-9 players compared by the startup self-check
+     */
+    public static final int SELF_CHECK_SHOWDOWNS = 200;
+
+    private static final long SELF_CHECK_SEED = 0x5EED_CA7DL;
+
+    /**
+     * Compare {@code candidate} with {@code reference} on a fixed sample of hands and showdowns
+     *
+     * @throws IllegalStateException on the first disagreement
+     */
+    public void selfCheck(HandEvaluator candidate, HandEvaluator reference) {
+        SplittableRandom random = new SplittableRandom(SELF_CHECK_SEED);
+
+        for (int i = 0; i < SELF_CHECK_HANDS; i++) {
+            long cards = deal(random, 0L, 5 + random.nextInt(3));
+            int expected = reference.evaluate(cards);
+            int actual = candidate.evaluate(cards);
+            if (actual != expected) {
+                throw mismatch(candidate, reference, "evaluates " + describe(cards), expected, actual);
+            }
+        }
+
+        for (int i = 0; i < SELF_CHECK_SHOWDOWNS; i++) {
+            long board = deal(random, 0L, 3 + random.nextInt(3));
+            long[] holeMasks = new long[2 + random.nextInt(8)];
+            long used = board;
+            for (int p = 0; p < holeMasks.length; p++) {
+                holeMasks[p] = deal(random, used, 2);
+                used |= holeMasks[p];
+            }
+
+            int[] expectedStrengths = new int[holeMasks.length];
+            int[] actualStrengths = new int[holeMasks.length];
+            long expected = reference.showdown(board, holeMasks, expectedStrengths);
+            long actual = candidate.showdown(board, holeMasks, actualStrengths);
+            if (actual != expected) {
+                throw mismatch(candidate, reference, "picks winners on board " + describe(board),
+                        expected, actual);
+            }
+            for (int p = 0; p < holeMasks.length; p++) {
+                if (actualStrengths[p] != expectedStrengths[p]) {
+                    throw mismatch(candidate, reference, "evaluates player " + p + " on board " + describe(board),
+                            expectedStrengths[p], actualStrengths[p]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare {@code candidate} with {@code reference} on every hand of {@code cardCount} cards (133,784,560
+     * hands for 7 cards), split by the two lowest cards across the common fork-join pool
+     */
+    public VerificationReport verifyExhaustive(HandEvaluator candidate, HandEvaluator reference, int cardCount) {
+        if (cardCount < 5 || cardCount > 7) {
+            throw new IllegalArgumentException("Card count must be between 5 and 7");
+        }
+
+        long start = System.nanoTime();
+        LongAdder hands = new LongAdder();
+        LongAdder mismatches = new LongAdder();
+        AtomicLong firstMismatch = new AtomicLong(Long.MAX_VALUE);
+
+        IntStream.range(0, Cards.DECK_SIZE * Cards.DECK_SIZE).parallel().forEach(pair -> {
+            int low = pair / Cards.DECK_SIZE;
+            int second = pair % Cards.DECK_SIZE;
+            int higher = Cards.DECK_SIZE - second - 1;
+            int rest = cardCount - 2;
+            if (second <= low || higher < rest) {
+                return;
+            }
+
+            long fixed = (1L << low) | (1L << second);
+            long count = 0;
+            long wrong = 0;
+            // Gosper's hack: every subset of rest cards among the cards above the second one, in order
+            for (long subset = (1L << rest) - 1; subset < 1L << higher; ) {
+                long cards = fixed | subset << (second + 1);
+                count++;
+                if (candidate.evaluate(cards) != reference.evaluate(cards)) {
+                    wrong++;
+                    firstMismatch.accumulateAndGet(cards, Math::min);
+                }
+                long lowest = subset & -subset;
+                long ripple = subset + lowest;
+                subset = (((ripple ^ subset) >>> 2) / lowest) | ripple;
+            }
+            hands.add(count);
+            mismatches.add(wrong);
+        });
+
+        long first = firstMismatch.get();
+        return new VerificationReport(candidate.name(), reference.name(), cardCount, hands.sum(),
+                mismatches.sum(), first == Long.MAX_VALUE ? -1L : first, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long deal(SplittableRandom random, long used, int count) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < count) {
+            long card = 1L << random.nextInt(Cards.DECK_SIZE);
+            if (((used | cards) & card) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Cards of a mask as text, e.g. "2C 7H AS"
+     */
+    public static String describe(long cards) {
+        StringBuilder sb = new StringBuilder();
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(Cards.toString(Long.numberOfTrailingZeros(rest)));
+        }
+        return sb.toString();
+    }
+
+    private static IllegalStateException mismatch(HandEvaluator candidate, HandEvaluator reference, String what,
+                                                  long expected, long actual) {
+        return new IllegalStateException("Hand evaluator engine '" + candidate.name() + "' disagrees with '"
+                + reference.name() + "': " + what + " as " + actual + ", expected " + expected);
+    }
+
+    /**
+     * Outcome of an exhaustive comparison
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class VerificationReport {
+        private final String engine;
+        private final String reference;
+        private final int cardCount;
+        private final long hands;
+        private final long mismatches;
+        private final long firstMismatch; // Lowest mismatching card mask, -1 when the engines agree
+        private final long elapsedMillis;
+
+        public boolean isPassed() {
+            return mismatches == 0;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Service for ingesting large hand-history files on the node.
+ * The input is memory-mapped in chunks that are parsed in parallel, records are split at line boundaries.
+ * Each record yields its showdown result (complete board) and every player's all-in equity, written as
+ * one NDJSON line per record in input order. At most a small window of chunks is in flight, so memory
+ * stays bounded independent of the file size.
+ *
+ * <pre>
+ * NDJSON: {"id":"h1","players":[{"name":"Alice","holeCards":["AS","KS"]},...],"communityCards":["QS","JS","10S"]}
+ * CSV:    id,board,name1,holeCards1,name2,holeCards2,...   cards separated by spaces, optional "id,..." header
+ * </pre>
+ */
+@Service
+public class HandHistoryIngestService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    public static final int DEFAULT_SAMPLES = 10_000;
+
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format fromPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            return name.endsWith(".csv") ? CSV : NDJSON;
+        }
+    }
+
+    private final HandEvaluator handEvaluator;
+    private final EquityService equityService;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public HandHistoryIngestService(HandEvaluator handEvaluator, EquityService equityService) {
+        this.handEvaluator = handEvaluator;
+        this.equityService = equityService;
+    }
+
+    public IngestSummary ingest(Path input, Path output, Format format, int samples) throws IOException {
+        return ingest(input, output, format, samples, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Ingest {@code input} into {@code output}. Equity of incomplete boards is exact with at most two
+     * cards to come and sampled with {@code samples} runouts otherwise.
+     */
+    public IngestSummary ingest(Path input, Path output, Format format, int samples, int chunkSize) throws IOException {
+        long begin = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            long size = channel.size();
+            long chunks = (size + chunkSize - 1) / chunkSize;
+            Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+            long nextChunk = 0;
+            long hands = 0;
+            long errors = 0;
+
+            while (nextChunk < chunks || !inFlight.isEmpty()) {
+                // Keep a bounded window of chunks in flight, results are written in submission order
+                while (nextChunk < chunks && inFlight.size() < threads * 2) {
+                    long chunk = nextChunk++;
+                    inFlight.add(executor.submit(() ->
+                            processChunk(channel, size, chunk, chunkSize, format, samples)));
+                }
+
+                ChunkResult result = await(inFlight.poll());
+                result.output.writeTo(out);
+                hands += result.hands;
+                errors += result.errors;
+            }
+
+            return new IngestSummary(hands, errors, size, System.nanoTime() - begin);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ChunkResult processChunk(FileChannel channel, long size, long chunk, int chunkSize,
+                                     Format format, int samples) throws IOException {
+        long start = chunk * chunkSize;
+        long end = Math.min(size, start + chunkSize);
+        long mapStart = Math.max(0, start - 1);
+        long mapEnd = Math.min(size, end + MAX_RECORD_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+
+        int pos = (int) (start - mapStart);
+        int limit = (int) (end - mapStart);
+        // A record that starts in the previous chunk belongs to that chunk
+        if (start > 0 && buffer.get(0) != '\n') {
+            pos = lineEnd(buffer, pos, mapEnd == size, mapStart) + 1;
+        }
+
+        ChunkWorker worker = new ChunkWorker(new SplittableRandom(chunk), samples);
+        boolean first = chunk == 0;
+        while (pos < limit) {
+            int lineEnd = lineEnd(buffer, pos, mapEnd == size, mapStart);
+            int length = lineEnd - pos;
+            if (length > 0 && buffer.get(lineEnd - 1) == '\r') {
+                length--;
+            }
+            if (length > 0 && !(first && format == Format.CSV && isCsvHeader(buffer, pos, length))) {
+                worker.process(buffer, pos, length, mapStart + pos, format);
+            }
+            first = false;
+            pos = lineEnd + 1;
+        }
+
+        return worker.finish();
+    }
+
+    /**
+     * Position of the next line feed at or after {@code pos}, or the end of the buffer at the end of the file
+     */
+    private static int lineEnd(MappedByteBuffer buffer, int pos, boolean endOfFile, long mapStart) throws IOException {
+        int limit = buffer.limit();
+        for (int i = pos; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        if (!endOfFile) {
+            throw new IOException("Record at offset " + (mapStart + pos) + " exceeds " + MAX_RECORD_BYTES + " bytes");
+        }
+        return limit;
+    }
+
+    private static boolean isCsvHeader(MappedByteBuffer buffer, int pos, int length) {
+        return length >= 3 && (buffer.get(pos) | 0x20) == 'i' && (buffer.get(pos + 1) | 0x20) == 'd'
+                && buffer.get(pos + 2) == ',';
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ingestion interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Ingestion failed", e.getCause());
+        }
+    }
+
+    /**
+     * Parses and evaluates the records of one chunk into its own output buffer, reusing its arrays
+     */
+    private class ChunkWorker {
+        private final SplittableRandom random;
+        private final int samples;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 16);
+        private final JsonGenerator generator;
+        private byte[] line = new byte[1024];
+        private final char[] cardChars = new char[3];
+
+        private String[] names = new String[10];
+        private long[] holes = new long[10];
+        private int players;
+        private long board;
+        private long usedCards;
+        private long hands;
+        private long errors;
+
+        ChunkWorker(SplittableRandom random, int samples) throws IOException {
+            this.random = random;
+            this.samples = samples;
+            this.generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        void process(MappedByteBuffer buffer, int pos, int length, long offset, Format format) throws IOException {
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            buffer.get(pos, line, 0, length);
+
+            players = 0;
+            board = 0L;
+            usedCards = 0L;
+            String id = null;
+            try {
+                id = format == Format.CSV ? parseCsv(length) : parseNdjson(length);
+                if (players < 2) {
+                    throw new IllegalArgumentException("At least 2 players are required");
+                }
+                writeResult(id, offset);
+                hands++;
+            } catch (IllegalArgumentException e) {
+                writeError(id, offset, e.getMessage());
+                errors++;
+            } catch (JsonProcessingException e) {
+                writeError(id, offset, "Malformed record: " + e.getOriginalMessage());
+                errors++;
+            }
+        }
+
+        private String parseNdjson(int length) throws IOException {
+            String id = null;
+            try (JsonParser parser = jsonFactory.createParser(line, 0, length)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Record must be a JSON object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("id".equals(field)) {
+                        if (!value.isScalarValue()) {
+                            throw new IllegalArgumentException("Malformed record: expected id value but found " + value);
+                        }
+                        id = parser.getText();
+                    } else if ("players".equals(field)) {
+                        expect(value, JsonToken.START_ARRAY, "players array");
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            expect(parser.currentToken(), JsonToken.START_OBJECT, "player object");
+                            String name = null;
+                            long hole = 0L;
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String playerField = parser.currentName();
+                                JsonToken playerValue = parser.nextToken();
+                                if ("name".equals(playerField)) {
+                                    expect(playerValue, JsonToken.VALUE_STRING, "player name string");
+                                    name = parser.getText();
+                                } else if ("holeCards".equals(playerField)) {
+                                    expect(playerValue, JsonToken.START_ARRAY, "holeCards array");
+                                    hole = readCards(parser);
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                            addPlayer(name, hole);
+                        }
+                    } else if ("communityCards".equals(field)) {
+                        expect(value, JsonToken.START_ARRAY, "communityCards array");
+                        board = readCards(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            checkBoard();
+            return id;
+        }
+
+        /**
+         * Card strings of the array the parser is in, up to its END_ARRAY
+         */
+        private long readCards(JsonParser parser) throws IOException {
+            long mask = 0L;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                expect(parser.currentToken(), JsonToken.VALUE_STRING, "card string");
+                mask |= 1L << use(Cards.parse(parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength()));
+            }
+            return mask;
+        }
+
+        private static void expect(JsonToken actual, JsonToken expected, String what) {
+            if (actual != expected) {
+                throw new IllegalArgumentException("Malformed record: expected " + what + " but found " + actual);
+            }
+        }
+
+        private String parseCsv(int length) {
+            int fieldStart = 0;
+            int field = 0;
+            String id = null;
+            String name = null;
+            for (int i = 0; i <= length; i++) {
+                if (i < length && line[i] != ',') {
+                    continue;
+                }
+                if (field == 0) {
+                    id = new String(line, fieldStart, i - fieldStart, StandardCharsets.UTF_8);
+                } else if (field == 1) {
+                    board = parseCards(fieldStart, i);
+                } else if (field % 2 == 0) {
+                    name = new String(line, fieldStart, i - fieldStart, StandardCharsets.UTF_8).trim();
+                } else {
+                    addPlayer(name, parseCards(fieldStart, i));
+                }
+                field++;
+                fieldStart = i + 1;
+            }
+            if (field > 2 && field % 2 == 1) {
+                throw new IllegalArgumentException("Player " + name + " has no hole cards");
+            }
+            checkBoard();
+            return id;
+        }
+
+        /**
+         * Space separated cards in {@code line[from, to)}
+         */
+        private long parseCards(int from, int to) {
+            long mask = 0L;
+            int tokenStart = -1;
+            for (int i = from; i <= to; i++) {
+                boolean separator = i == to || line[i] == ' ';
+                if (!separator && tokenStart < 0) {
+                    tokenStart = i;
+                } else if (separator && tokenStart >= 0) {
+                    int tokenLength = i - tokenStart;
+                    if (tokenLength > cardChars.length) {
+                        throw new IllegalArgumentException("Invalid card format: "
+                                + new String(line, tokenStart, tokenLength, StandardCharsets.UTF_8));
+                    }
+                    for (int c = 0; c < tokenLength; c++) {
+                        cardChars[c] = (char) line[tokenStart + c];
+                    }
+                    mask |= 1L << use(Cards.parse(cardChars, 0, tokenLength));
+                    tokenStart = -1;
+                }
+            }
+            return mask;
+        }
+
+        private int use(int card) {
+            long bit = 1L << card;
+            if ((usedCards & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+            }
+            usedCards |= bit;
+            return card;
+        }
+
+        private void addPlayer(String name, long hole) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("Player name cannot be empty");
+            }
+            if (Long.bitCount(hole) != 2) {
+                throw new IllegalArgumentException("Each player must have exactly 2 hole cards");
+            }
+            if (players == names.length) {
+                names = Arrays.copyOf(names, players * 2);
+                holes = Arrays.copyOf(holes, players * 2);
+            }
+            names[players] = name;
+            holes[players] = hole;
+            players++;
+        }
+
+        private void checkBoard() {
+            if (Long.bitCount(board) > 5) {
+                throw new IllegalArgumentException("Cannot have more than 5 community cards");
+            }
+        }
+
+        private void writeResult(String id, long offset) throws IOException {
+            boolean complete = Long.bitCount(board) == 5;
+            long[] holeMasks = Arrays.copyOf(holes, players);
+            int[] strengths = null;
+            double[] equity;
+            long winners = 0L;
+
+            if (complete) {
+                // Showdown: the pot is split between the best hands
+                strengths = new int[players];
+                winners = handEvaluator.showdown(board, holeMasks, strengths);
+                equity = new double[players];
+                for (int p = 0; p < players; p++) {
+                    equity[p] = (winners & (1L << p)) != 0 ? 1.0 / Long.bitCount(winners) : 0.0;
+                }
+            } else {
+                equity = equityService.equity(holeMasks, board, samples, random);
+            }
+
+            generator.writeStartObject();
+            writeId(id, offset);
+            generator.writeBooleanField("showdown", complete);
+            generator.writeArrayFieldStart("players");
+            for (int p = 0; p < players; p++) {
+                generator.writeStartObject();
+                generator.writeStringField("name", names[p]);
+                generator.writeNumberField("equity", equity[p]);
+                if (complete) {
+                    generator.writeStringField("handRank", HandStrength.handRank(strengths[p]).getDisplayName());
+                    generator.writeBooleanField("winner", (winners & (1L << p)) != 0);
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeError(String id, long offset, String message) throws IOException {
+            generator.writeStartObject();
+            writeId(id, offset);
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeId(String id, long offset) throws IOException {
+            if (id != null) {
+                generator.writeStringField("id", id);
+            }
+            generator.writeNumberField("offset", offset);
+        }
+
+        ChunkResult finish() throws IOException {
+            generator.close();
+            return new ChunkResult(output, hands, errors);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class ChunkResult {
+        private final ByteArrayOutputStream output;
+        private final long hands;
+        private final long errors;
+    }
+
+    /**
+     * Totals of one ingestion run
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class IngestSummary {
+        private final long hands;
+        private final long errors;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        public double getMegabytesPerSecond() {
+            return bytes / (1024.0 * 1024.0) / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.HandPotentialRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.HandPotentialResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Service for hand strength (HS), positive and negative potential (PPot/NPot) and effective hand strength
+ * (EHS) of a hand against one random opponent. Both phases share one enumeration: every opponent combo is
+ * classified as ahead, tied or behind on the current board and then on every runout of that combo, filling
+ * the 3x3 transition table the metrics are read from. The hero's river strengths only depend on the runout
+ * and are evaluated once per runout. Enumeration is exact up to {@code poker.potential.max-exact} opponent
+ * runouts and otherwise, or when the request asks for a sample count, sampled in parallel chunks.
+ */
+@Service
+public class HandPotentialService {
+
+    public static final long DEFAULT_MAX_EXACT = 5_000_000;
+
+    private static final int AHEAD = 0;
+    private static final int TIED = 1;
+    private static final int BEHIND = 2;
+    private static final int NOW = 9; // Offset of the current-state counters behind the 3x3 table
+    private static final int CHUNK = 16_384;
+
+    private final HandEvaluator handEvaluator;
+    private final long maxExact;
+
+    public HandPotentialService(HandEvaluator handEvaluator,
+                                @Value("${poker.potential.max-exact:" + DEFAULT_MAX_EXACT + "}") long maxExact) {
+        this.handEvaluator = handEvaluator;
+        this.maxExact = maxExact;
+    }
+
+    public HandPotentialResponse compute(HandPotentialRequest request) {
+        request.validate();
+
+        long hero = 0L;
+        for (String cardStr : request.getHoleCards()) {
+            hero = use(hero, Cards.parse(cardStr));
+        }
+        long used = hero;
+        for (String cardStr : request.getCommunityCards()) {
+            used = use(used, Cards.parse(cardStr));
+        }
+        long board = used & ~hero;
+
+        int missing = 5 - Long.bitCount(board);
+        int[] deck = PokerSimulationService.stubDeck(hero | board);
+        long[] opponents = pairs(deck);
+        long[] runouts = missing == 0 ? new long[]{0L} : missing == 1 ? singles(deck) : pairs(deck);
+
+        // Every opponent combo meets the runouts not touching it: (n - 2 choose missing) of them
+        int rest = deck.length - 2;
+        long runoutsPerOpponent = missing == 0 ? 1 : missing == 1 ? rest : (long) rest * (rest - 1) / 2;
+        long exactPairs = opponents.length * runoutsPerOpponent;
+
+        boolean exact = request.getNumberOfSimulations() == 0 && exactPairs <= maxExact;
+        long[] counts = exact
+                ? enumerate(hero, board, opponents, runouts)
+                : sample(hero, board, opponents, deck, missing,
+                request.getNumberOfSimulations() > 0 ? request.getNumberOfSimulations() : maxExact);
+        return toResponse(counts, exact);
+    }
+
+    /**
+     * Exact transition counts over every opponent combo and every runout it does not block
+     */
+    private long[] enumerate(long hero, long board, long[] opponents, long[] runouts) {
+        int heroNow = handEvaluator.evaluate(board | hero);
+        int[] heroFinal = new int[runouts.length];
+        for (int r = 0; r < runouts.length; r++) {
+            heroFinal[r] = handEvaluator.evaluate(board | runouts[r] | hero);
+        }
+
+        return IntStream.range(0, opponents.length).parallel().collect(() -> new long[NOW + 3], (counts, o) -> {
+            long opponent = opponents[o];
+            int now = compare(heroNow, handEvaluator.evaluate(board | opponent));
+            counts[NOW + now]++;
+            for (int r = 0; r < runouts.length; r++) {
+                if ((runouts[r] & opponent) == 0) {
+                    counts[now * 3 + compare(heroFinal[r], handEvaluator.evaluate(board | runouts[r] | opponent))]++;
+                }
+            }
+        }, HandPotentialService::add);
+    }
+
+    /**
+     * Transition counts of random opponent/runout pairs, each chunk with its own split random generator
+     */
+    private long[] sample(long hero, long board, long[] opponents, int[] deck, int missing, long samples) {
+        int heroNow = handEvaluator.evaluate(board | hero);
+        int chunks = (int) ((samples + CHUNK - 1) / CHUNK);
+        SplittableRandom root = new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        return IntStream.range(0, chunks).parallel().collect(() -> new long[NOW + 3], (counts, c) -> {
+            SplittableRandom random = randoms[c];
+            long size = Math.min(CHUNK, samples - (long) c * CHUNK);
+            for (long s = 0; s < size; s++) {
+                long opponent = opponents[random.nextInt(opponents.length)];
+                long runout = 0L;
+                while (Long.bitCount(runout) < missing) {
+                    long card = 1L << deck[random.nextInt(deck.length)];
+                    if ((card & opponent) == 0) {
+                        runout |= card;
+                    }
+                }
+
+                int now = compare(heroNow, handEvaluator.evaluate(board | opponent));
+                counts[NOW + now]++;
+                int heroFinal = handEvaluator.evaluate(board | runout | hero);
+                counts[now * 3 + compare(heroFinal, handEvaluator.evaluate(board | runout | opponent))]++;
+            }
+        }, HandPotentialService::add);
+    }
+
+    private static HandPotentialResponse toResponse(long[] counts, boolean exact) {
+        double nowTotal = counts[NOW + AHEAD] + counts[NOW + TIED] + counts[NOW + BEHIND];
+        double handStrength = (counts[NOW + AHEAD] + counts[NOW + TIED] / 2.0) / nowTotal;
+
+        double[] rowTotals = new double[3];
+        long samples = 0;
+        for (int now = 0; now < 3; now++) {
+            for (int fin = 0; fin < 3; fin++) {
+                rowTotals[now] += counts[now * 3 + fin];
+            }
+            samples += (long) rowTotals[now];
+        }
+
+        double positive = ratio(counts[BEHIND * 3 + AHEAD] + counts[BEHIND * 3 + TIED] / 2.0
+                + counts[TIED * 3 + AHEAD] / 2.0, rowTotals[BEHIND] + rowTotals[TIED] / 2.0);
+        double negative = ratio(counts[AHEAD * 3 + BEHIND] + counts[TIED * 3 + BEHIND] / 2.0
+                + counts[AHEAD * 3 + TIED] / 2.0, rowTotals[AHEAD] + rowTotals[TIED] / 2.0);
+        double effective = handStrength * (1 - negative) + (1 - handStrength) * positive;
+
+        return new HandPotentialResponse(handStrength, positive, negative, effective,
+                counts[NOW + AHEAD] / nowTotal, counts[NOW + TIED] / nowTotal, counts[NOW + BEHIND] / nowTotal,
+                exact, samples);
+    }
+
+    private static int compare(int hero, int opponent) {
+        return hero > opponent ? AHEAD : hero == opponent ? TIED : BEHIND;
+    }
+
+    private static double ratio(double numerator, double denominator) {
+        return denominator == 0 ? 0.0 : numerator / denominator;
+    }
+
+    private static void add(long[] into, long[] counts) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += counts[i];
+        }
+    }
+
+    private static long[] singles(int[] deck) {
+        long[] masks = new long[deck.length];
+        for (int i = 0; i < deck.length; i++) {
+            masks[i] = 1L << deck[i];
+        }
+        return masks;
+    }
+
+    private static long[] pairs(int[] deck) {
+        long[] masks = new long[deck.length * (deck.length - 1) / 2];
+        for (int i = 0, n = 0; i < deck.length; i++) {
+            for (int j = i + 1; j < deck.length; j++) {
+                masks[n++] = (1L << deck[i]) | (1L << deck[j]);
+            }
+        }
+        return masks;
+    }
+
+    private static long use(long used, int card) {
+        long bit = 1L << card;
+        if ((used & bit) != 0) {
+            throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+        }
+        return used | bit;
+    }
+}
@@ -0,0 +1,237 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Offline job for reference simulations far beyond the request limit of {@link SimulationSpec#MAX_SIMULATIONS}.
+ * The samples are split into fixed chunks that run in parallel on the simulation kernel, each with its own
+ * generator seeded from the job seed and the chunk number, and are summed into 64-bit counters. A result
+ * therefore only depends on the job, not on the number of threads or on interruptions.
+ * After every {@value #CHUNKS_PER_CHECKPOINT} chunks the counts and the next chunk number (which is all the
+ * generator state there is) are written to a checkpoint file, so rerunning an interrupted job resumes it.
+ */
+@Service
+public class LongRunSimulationService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1_000_000;
+    static final int CHUNKS_PER_CHECKPOINT = 64;
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(long done, long total);
+    }
+
+    private final PokerSimulationService pokerSimulationService;
+
+    public LongRunSimulationService(PokerSimulationService pokerSimulationService) {
+        this.pokerSimulationService = pokerSimulationService;
+    }
+
+    /**
+     * Run a job, resuming from {@code checkpoint} if it exists; a finished job just returns its counts
+     */
+    public LongRunSummary run(Job job, Path checkpoint, ProgressListener listener) throws IOException {
+        job.validate();
+        long begin = System.nanoTime();
+        SimulationPlan plan = pokerSimulationService.compile(job.getSpec());
+        int players = plan.getPlayerCount();
+        long chunks = (job.getSamples() + job.getChunkSize() - 1) / job.getChunkSize();
+
+        Counts counts = Files.exists(checkpoint) ? readCheckpoint(job, checkpoint) : new Counts(players);
+        long resumedSamples = samplesBefore(job, counts.nextChunk);
+        listener.progress(resumedSamples, job.getSamples());
+
+        while (counts.nextChunk < chunks) {
+            long end = Math.min(chunks, counts.nextChunk + CHUNKS_PER_CHECKPOINT);
+            List<SimulationResult> results = LongStream.range(counts.nextChunk, end).parallel()
+                    .mapToObj(chunk -> runChunk(job, plan, chunk))
+                    .collect(Collectors.toList());
+            for (SimulationResult result : results) {
+                counts.add(result);
+            }
+            counts.nextChunk = end;
+            writeCheckpoint(job, checkpoint, counts);
+            listener.progress(samplesBefore(job, end), job.getSamples());
+        }
+
+        return new LongRunSummary(plan.getPlayerNames(), job.getSamples(), counts.wins, counts.ties,
+                counts.handRankCounts, resumedSamples, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    private SimulationResult runChunk(Job job, SimulationPlan plan, long chunk) {
+        int iterations = (int) Math.min(job.getChunkSize(), job.getSamples() - chunk * job.getChunkSize());
+        return pokerSimulationService.simulate(plan, iterations, PokerSimulationService.chunkRandom(job.getSeed(), chunk));
+    }
+
+    private static long samplesBefore(Job job, long chunk) {
+        return Math.min(job.getSamples(), chunk * job.getChunkSize());
+    }
+
+    private static Counts readCheckpoint(Job job, Path checkpoint) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        }
+        Properties expected = job.toProperties();
+        for (String key : expected.stringPropertyNames()) {
+            if (!expected.getProperty(key).equals(properties.getProperty(key))) {
+                throw new IllegalStateException("Checkpoint " + checkpoint + " belongs to a different job");
+            }
+        }
+        Counts counts = new Counts(job.getSpec().getPlayerCount());
+        counts.nextChunk = Long.parseLong(properties.getProperty("nextChunk"));
+        counts.ties = Long.parseLong(properties.getProperty("ties"));
+        parse(properties.getProperty("wins"), counts.wins);
+        parse(properties.getProperty("handRankCounts"), counts.handRankCounts);
+        return counts;
+    }
+
+    private static void writeCheckpoint(Job job, Path checkpoint, Counts counts) throws IOException {
+        Properties properties = job.toProperties();
+        properties.setProperty("nextChunk", Long.toString(counts.nextChunk));
+        properties.setProperty("ties", Long.toString(counts.ties));
+        properties.setProperty("wins", join(counts.wins));
+        properties.setProperty("handRankCounts", join(counts.handRankCounts));
+
+        // Written next to its final name and moved into place, so a crash never leaves it half written
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+            properties.store(writer, "Long simulation run");
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String join(long[] values) {
+        return Arrays.stream(values).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    private static void parse(String values, long[] into) {
+        String[] parts = values.split(",");
+        if (parts.length != into.length) {
+            throw new IllegalStateException("Corrupt checkpoint counters");
+        }
+        for (int i = 0; i < parts.length; i++) {
+            into[i] = Long.parseLong(parts[i]);
+        }
+    }
+
+    private static String cards(int[] cards, int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(cards[i] == SimulationSpec.RANDOM_CARD ? "random" : Cards.toString(cards[i]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 64-bit counters accumulated over the chunks before {@code nextChunk}
+     */
+    private static class Counts {
+        private final long[] wins;
+        private final long[] handRankCounts;
+        private long ties;
+        private long nextChunk;
+
+        private Counts(int players) {
+            wins = new long[players];
+            handRankCounts = new long[players * HandStrength.CATEGORY_STRIDE];
+        }
+
+        private void add(SimulationResult result) {
+            for (int p = 0; p < wins.length; p++) {
+                wins[p] += result.getWins()[p];
+            }
+            ties += result.getTies();
+            for (int i = 0; i < handRankCounts.length; i++) {
+                handRankCounts[i] += result.getHandRankCounts()[i];
+            }
+        }
+    }
+
+    /**
+     * Parameters of a long run; the spec's own number of simulations is not used
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Job {
+        private final SimulationSpec spec;
+        private final long samples;
+        private final long seed;
+        private final int chunkSize;
+
+        public void validate() {
+            if (samples <= 0) {
+                throw new IllegalArgumentException("Number of samples must be positive");
+            }
+            if (chunkSize <= 0 || chunkSize > SimulationSpec.MAX_SIMULATIONS) {
+                throw new IllegalArgumentException("Chunk size must be between 1 and " + SimulationSpec.MAX_SIMULATIONS);
+            }
+            if (spec.isPerStreet()) {
+                throw new IllegalArgumentException("Long runs do not report per-street results");
+            }
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            int[] holeCards = spec.getHoleCards();
+            for (int p = 0; p < spec.getPlayerCount(); p++) {
+                properties.setProperty("player." + p, spec.getPlayerNames().get(p));
+                properties.setProperty("hand." + p, cards(holeCards, 2 * p, 2 * p + 2));
+            }
+            properties.setProperty("board", cards(spec.getCommunityCards(), 0, spec.getCommunityCards().length));
+            properties.setProperty("samples", Long.toString(samples));
+            properties.setProperty("seed", Long.toString(seed));
+            properties.setProperty("chunkSize", Integer.toString(chunkSize));
+            properties.setProperty("rngVersion", Integer.toString(PokerSimulationService.RNG_VERSION));
+            return properties;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LongRunSummary {
+        private final List<String> playerNames;
+        private final long samples;
+        private final long[] wins;
+        private final long ties;
+        private final long[] handRankCounts; // HandStrength.CATEGORY_STRIDE slots per player
+        private final long resumedSamples;
+        private final long elapsedMillis;
+
+        public double winPercentage(int player) {
+            return wins[player] * 100.0 / samples;
+        }
+
+        public double tiePercentage() {
+            return ties * 100.0 / samples;
+        }
+
+        public long handRankCount(int player, HandRank handRank) {
+            return handRankCounts[player * HandStrength.CATEGORY_STRIDE + handRank.getValue()];
+        }
+    }
+}
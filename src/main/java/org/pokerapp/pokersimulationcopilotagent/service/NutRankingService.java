@@ -0,0 +1,202 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingGroup;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for ranking all two-card combos on a complete board. The board state is computed once and every
+ * combo only folds in its two cards ({@link HandEvaluator#evaluateAll}); the ranking is sorted on packed
+ * longs. Rankings do not depend on which suit is which, so they are cached per canonical board (the smallest
+ * mask over all 24 suit permutations) and translated back to the requested suits.
+ */
+@Service
+public class NutRankingService {
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int[][] SUIT_PERMUTATIONS = suitPermutations();
+
+    private final HandEvaluator handEvaluator;
+    private final Map<Long, Ranking> cache;
+
+    public NutRankingService(HandEvaluator handEvaluator,
+                             @Value("${poker.nuts.cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize) {
+        this.handEvaluator = handEvaluator;
+        // Access-ordered map evicting the least recently used board
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Ranking> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public NutRankingResponse rank(NutRankingRequest request) {
+        request.validate();
+
+        long board = 0L;
+        for (String cardStr : request.getCommunityCards()) {
+            board = use(board, Cards.parse(cardStr));
+        }
+        long used = board;
+        if (request.getDeadCards() != null) {
+            for (String cardStr : request.getDeadCards()) {
+                used = use(used, Cards.parse(cardStr));
+            }
+        }
+        long dead = used & ~board;
+
+        int[] permutation = canonicalPermutation(board);
+        long canonicalBoard = permute(board, permutation);
+        Ranking ranking;
+        synchronized (cache) {
+            ranking = cache.get(canonicalBoard);
+        }
+        if (ranking == null) {
+            ranking = rank(canonicalBoard);
+            synchronized (cache) {
+                cache.put(canonicalBoard, ranking);
+            }
+        }
+
+        // Canonical card index to the card of the requested board
+        int[] toActual = new int[Cards.DECK_SIZE];
+        for (int suit = 0; suit < 4; suit++) {
+            for (int rank = 0; rank < Cards.RANK_COUNT; rank++) {
+                toActual[permutation[suit] * Cards.RANK_COUNT + rank] = suit * Cards.RANK_COUNT + rank;
+            }
+        }
+
+        List<NutRankingGroup> groups = new ArrayList<>();
+        NutRankingGroup group = null;
+        int previous = -1;
+        int combos = 0;
+        for (int i = 0; i < ranking.combos.length; i++) {
+            long canonical = ranking.combos[i];
+            int first = toActual[Long.numberOfTrailingZeros(canonical)];
+            int second = toActual[63 - Long.numberOfLeadingZeros(canonical)];
+            if ((dead & ((1L << first) | (1L << second))) != 0) {
+                continue;
+            }
+            if (ranking.strengths[i] != previous) {
+                previous = ranking.strengths[i];
+                group = new NutRankingGroup(groups.size() + 1,
+                        HandStrength.handRank(previous).getDisplayName(), combos, new ArrayList<>());
+                groups.add(group);
+            }
+            group.getCombos().add(comboString(first, second));
+            combos++;
+        }
+        return new NutRankingResponse(combos, groups);
+    }
+
+    /**
+     * Every combo not touching the board, strongest first
+     */
+    Ranking rank(long board) {
+        int[] deck = PokerSimulationService.stubDeck(board);
+        long[] holeMasks = new long[deck.length * (deck.length - 1) / 2];
+        for (int i = 0, n = 0; i < deck.length; i++) {
+            for (int j = i + 1; j < deck.length; j++) {
+                holeMasks[n++] = (1L << deck[i]) | (1L << deck[j]);
+            }
+        }
+        int[] strengths = new int[holeMasks.length];
+        handEvaluator.evaluateAll(board, holeMasks, strengths);
+
+        // Sort key: strength descending in the upper bits, combo position ascending in the lower bits
+        long[] keys = new long[holeMasks.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) ~strengths[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        long[] combos = new long[keys.length];
+        int[] sortedStrengths = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            int combo = (int) keys[i];
+            combos[i] = holeMasks[combo];
+            sortedStrengths[i] = strengths[combo];
+        }
+        return new Ranking(combos, sortedStrengths);
+    }
+
+    /**
+     * Suit permutation (card suit to canonical suit) mapping the board onto its smallest mask
+     */
+    static int[] canonicalPermutation(long board) {
+        int[] best = SUIT_PERMUTATIONS[0];
+        long bestMask = permute(board, best);
+        for (int[] permutation : SUIT_PERMUTATIONS) {
+            long mask = permute(board, permutation);
+            if (mask < bestMask) {
+                best = permutation;
+                bestMask = mask;
+            }
+        }
+        return best;
+    }
+
+    static long permute(long cards, int[] permutation) {
+        long permuted = 0L;
+        for (int suit = 0; suit < 4; suit++) {
+            permuted |= (long) Cards.suitRanks(cards, suit) << (permutation[suit] * Cards.RANK_COUNT);
+        }
+        return permuted;
+    }
+
+    private static int[][] suitPermutations() {
+        int[][] permutations = new int[24][];
+        int n = 0;
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d != a && d != b && d != c) {
+                        permutations[n++] = new int[]{a, b, c, d};
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+
+    private static String comboString(int first, int second) {
+        boolean firstHigh = first % Cards.RANK_COUNT >= second % Cards.RANK_COUNT;
+        return firstHigh
+                ? Cards.toString(first) + " " + Cards.toString(second)
+                : Cards.toString(second) + " " + Cards.toString(first);
+    }
+
+    private static long use(long used, int card) {
+        long bit = 1L << card;
+        if ((used & bit) != 0) {
+            throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+        }
+        return used | bit;
+    }
+
+    /**
+     * Combos of a canonical board, strongest first, with their packed strengths
+     */
+    static final class Ranking {
+        final long[] combos;
+        final int[] strengths;
+
+        Ranking(long[] combos, int[] strengths) {
+            this.combos = combos;
+            this.strengths = strengths;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.*;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Service for breaking a flop or turn spot down by the next board card: every unseen card is dealt as
+ * the next card and the resulting equity is computed exactly, one branch per card in parallel
+ */
+@Service
+public class OutsService {
+
+    private final EquityService equityService;
+
+    public OutsService(EquityService equityService) {
+        this.equityService = equityService;
+    }
+
+    public OutsResponse analyze(OutsRequest request) {
+        request.validate();
+
+        long usedCards = 0L;
+        long board = 0L;
+        for (String cardStr : request.getCommunityCards()) {
+            int card = Cards.parse(cardStr);
+            usedCards = use(usedCards, card);
+            board |= 1L << card;
+        }
+
+        int players = request.getPlayers().size();
+        long[] holeMasks = new long[players];
+        for (int p = 0; p < players; p++) {
+            for (String cardStr : request.getPlayers().get(p).getHoleCards()) {
+                int card = Cards.parse(cardStr);
+                usedCards = use(usedCards, card);
+                holeMasks[p] |= 1L << card;
+            }
+        }
+
+        // Deck and hole masks are shared by all branches, each branch only adds its next card
+        int[] deck = PokerSimulationService.stubDeck(usedCards);
+        long fixedBoard = board;
+        double[][] branches = new double[deck.length][];
+        IntStream.range(0, deck.length).parallel().forEach(i ->
+                branches[i] = equityService.exactEquity(holeMasks, fixedBoard | (1L << deck[i])));
+
+        // Every next card is equally likely, so the current equity is the mean over all branches
+        double[] current = new double[players];
+        for (double[] branch : branches) {
+            for (int p = 0; p < players; p++) {
+                current[p] += branch[p] / branches.length;
+            }
+        }
+        int favourite = soleFavourite(current);
+
+        List<NextCardEquity> nextCards = new ArrayList<>(deck.length);
+        List<List<String>> outs = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            outs.add(new ArrayList<>());
+        }
+        for (int i = 0; i < deck.length; i++) {
+            String card = Cards.toString(deck[i]);
+            List<Double> percentages = new ArrayList<>(players);
+            for (int p = 0; p < players; p++) {
+                percentages.add(branches[i][p] * 100.0);
+            }
+            nextCards.add(new NextCardEquity(card, percentages));
+
+            int branchFavourite = soleFavourite(branches[i]);
+            if (branchFavourite >= 0 && branchFavourite != favourite) {
+                outs.get(branchFavourite).add(card);
+            }
+        }
+
+        List<PlayerOuts> playerOuts = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            playerOuts.add(new PlayerOuts(request.getPlayers().get(p).getName(), current[p] * 100.0, outs.get(p)));
+        }
+
+        return new OutsResponse(playerOuts, nextCards);
+    }
+
+    /**
+     * Index of the player with strictly the highest equity, -1 if several share it
+     */
+    private static int soleFavourite(double[] equity) {
+        int favourite = -1;
+        double best = -1;
+        for (int p = 0; p < equity.length; p++) {
+            if (equity[p] > best) {
+                best = equity[p];
+                favourite = p;
+            } else if (equity[p] == best) {
+                favourite = -1;
+            }
+        }
+        return favourite;
+    }
+
+    private static long use(long usedCards, int card) {
+        long bit = 1L << card;
+        if ((usedCards & bit) != 0) {
+            throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+        }
+        return usedCards | bit;
+    }
+}
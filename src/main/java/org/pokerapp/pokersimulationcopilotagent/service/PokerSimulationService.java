@@ -1,14 +1,20 @@
 package org.pokerapp.pokersimulationcopilotagent.service;
 
 import org.pokerapp.pokersimulationcopilotagent.dto.*;
-import org.pokerapp.pokersimulationcopilotagent.model.Card;
-import org.pokerapp.pokersimulationcopilotagent.model.HandEvaluation;
-import org.pokerapp.pokersimulationcopilotagent.model.Rank;
-import org.pokerapp.pokersimulationcopilotagent.model.Suit;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.model.Street;
+import org.pokerapp.pokersimulationcopilotagent.model.StreetResult;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Service for running poker simulations
@@ -16,172 +22,472 @@ import java.util.stream.Collectors;
 @Service
 public class PokerSimulationService {
 
-    private final HandEvaluatorService handEvaluatorService;
+    /**
+     * Version of the {@link #chunkRandom} stream derivation. Checkpoints of seeded jobs record it, so state
+     * drawn from the streams of an older derivation is rejected instead of being resumed.
+     */
+    public static final int RNG_VERSION = 2;
+
+    /**
+     * Iterations per independently seeded chunk of a seeded run
+     */
+    static final int SEEDED_CHUNK_SIZE = 1 << 16;
+
+    private final HandEvaluator handEvaluator;
     private final Random random = new Random();
 
-    public PokerSimulationService(HandEvaluatorService handEvaluatorService) {
-        this.handEvaluatorService = handEvaluatorService;
+    public PokerSimulationService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
     }
 
     /**
      * Run poker simulations based on the request
      */
     public SimulationResponse runSimulation(SimulationRequest request) {
-        request.validate();
+        return runSimulation(request.toSpec());
+    }
+
+    /**
+     * Run poker simulations for an already validated spec
+     */
+    public SimulationResponse runSimulation(SimulationSpec spec) {
+        return runSimulation(compile(spec), spec.getNumberOfSimulations());
+    }
+
+    /**
+     * Run a compiled plan with the given number of iterations
+     */
+    public SimulationResponse runSimulation(SimulationPlan plan, int iterations) {
+        return toResponse(plan, simulate(plan, iterations));
+    }
 
-        // Parse cards
-        Map<String, List<Card>> playerHoleCards = new HashMap<>();
-        for (PlayerRequest player : request.getPlayers()) {
-            List<Card> holeCards = player.getHoleCards().stream()
-                    .map(Card::fromString)
-                    .collect(Collectors.toList());
-            playerHoleCards.put(player.getName(), holeCards);
+    /**
+     * Turn raw counts of a plan's run into percentages per player (and per street)
+     */
+    public SimulationResponse toResponse(SimulationPlan plan, SimulationResult result) {
+        List<PlayerResult> playerResults = new ArrayList<>();
+        for (int p = 0; p < plan.getPlayerCount(); p++) {
+            PlayerResult playerResult = new PlayerResult();
+            playerResult.setName(plan.getPlayerNames().get(p));
+            playerResult.setWinPercentage((result.getWins()[p] * 100.0) / result.getTotalSimulations());
+
+            // If 5 community cards provided, include best hand rank of known players
+            if (result.getBestHandRanks() != null && result.getBestHandRanks()[p] != null) {
+                playerResult.setBestHandRank(result.getBestHandRanks()[p].getDisplayName());
+            }
+
+            Map<String, Double> distribution = new LinkedHashMap<>();
+            for (HandRank handRank : HandRank.values()) {
+                distribution.put(handRank.getDisplayName(),
+                        (result.getHandRankCount(p, handRank) * 100.0) / result.getTotalSimulations());
+            }
+            playerResult.setHandRankDistribution(distribution);
+
+            playerResults.add(playerResult);
         }
 
-        List<Card> fixedCommunityCards = request.getCommunityCards() != null
-                ? request.getCommunityCards().stream()
-                .map(Card::fromString)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
+        double tiePercentage = (result.getTies() * 100.0) / result.getTotalSimulations();
 
-        // Validate no duplicate cards
-        validateNoDuplicates(playerHoleCards, fixedCommunityCards);
+        if (result.getStreets() == null) {
+            return new SimulationResponse(playerResults, tiePercentage, result.getTotalSimulations());
+        }
 
-        // Track wins
-        Map<String, Integer> wins = new HashMap<>();
-        int ties = 0;
+        List<StreetEquity> streetEquities = new ArrayList<>();
+        for (StreetResult street : result.getStreets()) {
+            List<PlayerEquity> playerEquities = new ArrayList<>();
+            for (int p = 0; p < plan.getPlayerCount(); p++) {
+                playerEquities.add(new PlayerEquity(plan.getPlayerNames().get(p),
+                        (street.getWins()[p] * 100.0) / result.getTotalSimulations(),
+                        (street.getPotShares()[p] * 100.0) / result.getTotalSimulations()));
+            }
+            streetEquities.add(new StreetEquity(street.getStreet().getDisplayName(), playerEquities,
+                    (street.getTies() * 100.0) / result.getTotalSimulations()));
+        }
+        double leadChangePercentage = (result.getLeadChanges() * 100.0) / result.getTotalSimulations();
 
-        for (String playerName : playerHoleCards.keySet()) {
-            wins.put(playerName, 0);
+        return new SimulationResponse(playerResults, tiePercentage, result.getTotalSimulations(),
+                streetEquities, leadChangePercentage);
+    }
+
+    public SimulationResult simulate(SimulationSpec spec) {
+        return simulate(compile(spec), spec.getNumberOfSimulations());
+    }
+
+    /**
+     * Compile a spec into a reusable plan: card masks, stub deck, kernel mode and, on a complete board, the
+     * players' hand ranks
+     */
+    public SimulationPlan compile(SimulationSpec spec) {
+        int players = spec.getPlayerCount();
+        long[] holeMasks = new long[players];
+        for (int p = 0; p < players; p++) {
+            holeMasks[p] = spec.holeMask(p);
+        }
+        int[] randomSeats = randomSeats(spec);
+        long board = spec.communityMask();
+        int missing = 5 - spec.getCommunityCards().length;
+
+        SimulationPlan.Mode mode;
+        if (spec.isPerStreet()) {
+            mode = SimulationPlan.Mode.PER_STREET;
+        } else if (randomSeats.length > 0) {
+            mode = SimulationPlan.Mode.RANDOM_OPPONENTS;
+        } else if (missing == 0) {
+            mode = SimulationPlan.Mode.SHOWDOWN;
+        } else if (missing <= 2) {
+            mode = SimulationPlan.Mode.RUNOUT_COUNTING;
+        } else {
+            mode = SimulationPlan.Mode.RUNOUT_SAMPLING;
+        }
+
+        HandRank[] bestHandRanks = missing == 0 ? bestHandRanks(spec, board, holeMasks) : null;
+        return new SimulationPlan(spec.getPlayerNames(), holeMasks, randomSeats, board,
+                stubDeck(spec.getUsedCards()), mode, bestHandRanks, spec.getNumberOfSimulations(), spec.getSeed());
+    }
+
+    /**
+     * Run a plan with its own seed if it has one, otherwise from the shared generator
+     */
+    public SimulationResult simulate(SimulationPlan plan, int iterations) {
+        if (plan.getSeed() != null) {
+            return simulateSeeded(plan, iterations, plan.getSeed());
+        }
+        return simulate(plan, iterations, random);
+    }
+
+    /**
+     * Reproducible run: the iterations are split into fixed chunks with generators derived from the seed and
+     * the chunk number, run in parallel and summed in chunk order, so the result only depends on the seed and
+     * the number of iterations
+     */
+    public SimulationResult simulateSeeded(SimulationPlan plan, int iterations, long seed) {
+        checkIterations(iterations);
+        int chunks = (iterations + SEEDED_CHUNK_SIZE - 1) / SEEDED_CHUNK_SIZE;
+        if (chunks == 1) {
+            return simulate(plan, iterations, chunkRandom(seed, 0));
+        }
+        List<SimulationResult> results = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> simulate(plan, Math.min(SEEDED_CHUNK_SIZE, iterations - c * SEEDED_CHUNK_SIZE),
+                        chunkRandom(seed, c)))
+                .collect(Collectors.toList());
+        return sum(results, iterations);
+    }
+
+    /**
+     * Generator of one chunk of a seeded run. It is split off a generator seeded from a hash of the seed plus
+     * the chunk number, so chunks can be derived in any order and get unrelated streams; seeding with
+     * {@code seed + chunk * constant} directly would give shifted copies of one stream.
+     */
+    public static SplittableRandom chunkRandom(long seed, long chunk) {
+        return new SplittableRandom(new SplittableRandom(seed).nextLong() + chunk).split();
+    }
+
+    /**
+     * Monte-Carlo kernel: deals the hole cards of random players and the missing community cards from a
+     * stub deck of unused card indices and counts outright wins and ties, without allocating per iteration.
+     * Draws from the given generator, a seeded generator makes the run reproducible.
+     */
+    public SimulationResult simulate(SimulationPlan plan, int iterations, RandomGenerator random) {
+        checkIterations(iterations);
+        if (plan.isPerStreet()) {
+            return simulateStreets(plan, iterations, random);
         }
 
-        // Run simulations
-        for (int i = 0; i < request.getNumberOfSimulations(); i++) {
-            // Create a deck without used cards
-            List<Card> deck = createDeck();
-            removeUsedCards(deck, playerHoleCards, fixedCommunityCards);
+        int players = plan.getPlayerCount();
+        long[] holeMasks = plan.getHoleMasks().clone();
+        int[] randomSeats = plan.getRandomSeats();
+        long fixedBoard = plan.getCommunityMask();
+        int missing = 5 - plan.getCommunityCardCount();
+        int[] deck = plan.getDeck().clone();
+
+        // With one or two cards to come and every hand known, the whole outcome only depends on those cards:
+        // the loop just counts how often each runout is dealt and every distinct runout is resolved once afterwards
+        int[] runoutCounts = plan.getMode() == SimulationPlan.Mode.RUNOUT_COUNTING
+                ? new int[missing == 1 ? Cards.DECK_SIZE : Cards.DECK_SIZE * Cards.DECK_SIZE]
+                : null;
+
+        int[] wins = new int[players];
+        int ties = 0;
+        int[] handRankCounts = new int[players * HandStrength.CATEGORY_STRIDE];
+        int[] strengths = new int[players];
+
+        // A complete board with every hand known has exactly one outcome, evaluate it once
+        int rounds = plan.getMode() == SimulationPlan.Mode.SHOWDOWN ? 1 : iterations;
+        for (int i = 0; i < rounds; i++) {
+            int remaining = deck.length;
+            for (int seat : randomSeats) {
+                holeMasks[seat] = draw(deck, remaining--, random) | draw(deck, remaining--, random);
+            }
+            long dealt = 0L;
+            for (int k = 0; k < missing; k++) {
+                dealt |= draw(deck, remaining--, random);
+            }
 
-            // Complete community cards if needed
-            List<Card> communityCards = new ArrayList<>(fixedCommunityCards);
-            while (communityCards.size() < 5) {
-                communityCards.add(drawCard(deck));
+            if (runoutCounts != null) {
+                // Order-independent index: lowest card, or lowest * 52 + highest
+                int runout = Long.numberOfTrailingZeros(dealt);
+                if (missing == 2) {
+                    runout = runout * Cards.DECK_SIZE + 63 - Long.numberOfLeadingZeros(dealt);
+                }
+                runoutCounts[runout]++;
+                continue;
             }
 
-            // Evaluate each player's hand
-            Map<String, HandEvaluation> evaluations = new HashMap<>();
-            for (Map.Entry<String, List<Card>> entry : playerHoleCards.entrySet()) {
-                HandEvaluation eval = handEvaluatorService.evaluateHand(entry.getValue(), communityCards);
-                evaluations.put(entry.getKey(), eval);
+            long winners = handEvaluator.showdown(fixedBoard | dealt, holeMasks, strengths);
+            ties += tally(winners, strengths, 1, wins, handRankCounts);
+        }
+
+        if (runoutCounts != null) {
+            for (int runout = 0; runout < runoutCounts.length; runout++) {
+                int count = runoutCounts[runout];
+                if (count == 0) {
+                    continue;
+                }
+                long dealt = 1L << (runout % Cards.DECK_SIZE);
+                if (missing == 2) {
+                    dealt |= 1L << (runout / Cards.DECK_SIZE);
+                }
+                long winners = handEvaluator.showdown(fixedBoard | dealt, holeMasks, strengths);
+                ties += tally(winners, strengths, count, wins, handRankCounts);
             }
+        }
 
-            // Find winner(s)
-            List<String> winners = findWinners(evaluations);
-            if (winners.size() == 1) {
-                wins.put(winners.get(0), wins.get(winners.get(0)) + 1);
-            } else {
-                ties++;
+        if (rounds < iterations) {
+            ties *= iterations;
+            for (int p = 0; p < players; p++) {
+                wins[p] *= iterations;
+            }
+            for (int i = 0; i < handRankCounts.length; i++) {
+                handRankCounts[i] *= iterations;
             }
         }
 
-        // Calculate percentages
-        List<PlayerResult> playerResults = new ArrayList<>();
-        for (String playerName : playerHoleCards.keySet()) {
-            double winPercentage = (wins.get(playerName) * 100.0) / request.getNumberOfSimulations();
-            PlayerResult result = new PlayerResult();
-            result.setName(playerName);
-            result.setWinPercentage(winPercentage);
+        return new SimulationResult(wins, ties, iterations, bestHandRanks(plan), null, 0, handRankCounts);
+    }
 
-            // If 5 community cards provided, include best hand rank
-            if (fixedCommunityCards.size() == 5) {
-                HandEvaluation eval = handEvaluatorService.evaluateHand(
-                        playerHoleCards.get(playerName), fixedCommunityCards);
-                result.setBestHandRank(eval.getHandRank().getDisplayName());
+    /**
+     * Per-street kernel: deals one full runout per iteration and counts the results after every street
+     * from the next one to the river, so a single pass replaces one simulation per street
+     */
+    private SimulationResult simulateStreets(SimulationPlan plan, int iterations, RandomGenerator random) {
+        int players = plan.getPlayerCount();
+        long[] holeMasks = plan.getHoleMasks().clone();
+        int[] randomSeats = plan.getRandomSeats();
+
+        long fixedBoard = plan.getCommunityMask();
+        int known = plan.getCommunityCardCount();
+        // Report from the next street on, a complete board only has the river
+        int firstStreet = Math.min(Street.RIVER.getCommunityCards(),
+                Math.max(Street.FLOP.getCommunityCards(), known + 1));
+        int streetCount = Street.RIVER.getCommunityCards() - firstStreet + 1;
+        int[] deck = plan.getDeck().clone();
+
+        int[][] wins = new int[streetCount][players];
+        int[] ties = new int[streetCount];
+        double[][] potShares = new double[streetCount][players];
+        int leadChanges = 0;
+        int[] handRankCounts = new int[players * HandStrength.CATEGORY_STRIDE];
+        int[] strengths = new int[players];
+
+        int rounds = known == 5 && randomSeats.length == 0 ? 1 : iterations;
+        for (int i = 0; i < rounds; i++) {
+            long dealt = 0L;
+            int remaining = deck.length;
+            for (int seat : randomSeats) {
+                holeMasks[seat] = draw(deck, remaining--, random) | draw(deck, remaining--, random);
+            }
+            long previousWinners = 0L;
+            boolean leadChanged = false;
+
+            for (int size = known, street = 0; ; size++) {
+                if (size >= firstStreet) {
+                    long winners = handEvaluator.showdown(fixedBoard | dealt, holeMasks, strengths);
+                    if (size == 5) {
+                        for (int p = 0; p < players; p++) {
+                            handRankCounts[p * HandStrength.CATEGORY_STRIDE + HandStrength.category(strengths[p])]++;
+                        }
+                    }
+                    if (Long.bitCount(winners) == 1) {
+                        wins[street][Long.numberOfTrailingZeros(winners)]++;
+                    } else {
+                        ties[street]++;
+                    }
+                    double share = 1.0 / Long.bitCount(winners);
+                    for (long w = winners; w != 0; w &= w - 1) {
+                        potShares[street][Long.numberOfTrailingZeros(w)] += share;
+                    }
+
+                    leadChanged |= street > 0 && winners != previousWinners;
+                    previousWinners = winners;
+                    street++;
+                }
+                if (size == 5) {
+                    break;
+                }
+                dealt |= draw(deck, remaining--, random);
             }
 
-            playerResults.add(result);
+            if (leadChanged) {
+                leadChanges++;
+            }
         }
 
-        double tiePercentage = (ties * 100.0) / request.getNumberOfSimulations();
-
-        return new SimulationResponse(playerResults, tiePercentage, request.getNumberOfSimulations());
-    }
+        StreetResult[] streets = new StreetResult[streetCount];
+        for (int street = 0; street < streetCount; street++) {
+            if (rounds < iterations) {
+                ties[street] *= iterations;
+                for (int p = 0; p < players; p++) {
+                    wins[street][p] *= iterations;
+                    potShares[street][p] *= iterations;
+                }
+            }
+            streets[street] = new StreetResult(Street.ofCommunityCards(firstStreet + street),
+                    wins[street], ties[street], potShares[street]);
+        }
 
-    private List<Card> createDeck() {
-        List<Card> deck = new ArrayList<>();
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                deck.add(new Card(rank, suit));
+        if (rounds < iterations) {
+            for (int i = 0; i < handRankCounts.length; i++) {
+                handRankCounts[i] *= iterations;
             }
         }
-        return deck;
-    }
 
-    private void removeUsedCards(List<Card> deck, Map<String, List<Card>> playerHoleCards,
-                                 List<Card> communityCards) {
-        Set<String> usedCards = new HashSet<>();
+        // The river is the actual showdown
+        StreetResult river = streets[streetCount - 1];
+        return new SimulationResult(river.getWins(), river.getTies(), iterations, bestHandRanks(plan), streets,
+                leadChanges, handRankCounts);
+    }
 
-        for (List<Card> holeCards : playerHoleCards.values()) {
-            for (Card card : holeCards) {
-                usedCards.add(card.toString());
+    /**
+     * Counters of consecutive chunks of one run added up, in list order so floating point sums are reproducible
+     */
+    private static SimulationResult sum(List<SimulationResult> results, int iterations) {
+        SimulationResult first = results.get(0);
+        int players = first.getWins().length;
+        int streetCount = first.getStreets() != null ? first.getStreets().length : 0;
+        int[] wins = new int[players];
+        int ties = 0;
+        int leadChanges = 0;
+        int[] handRankCounts = new int[first.getHandRankCounts().length];
+        int[][] streetWins = new int[streetCount][players];
+        int[] streetTies = new int[streetCount];
+        double[][] potShares = new double[streetCount][players];
+
+        for (SimulationResult result : results) {
+            add(wins, result.getWins());
+            ties += result.getTies();
+            leadChanges += result.getLeadChanges();
+            add(handRankCounts, result.getHandRankCounts());
+            for (int s = 0; s < streetCount; s++) {
+                StreetResult street = result.getStreets()[s];
+                add(streetWins[s], street.getWins());
+                streetTies[s] += street.getTies();
+                for (int p = 0; p < players; p++) {
+                    potShares[s][p] += street.getPotShares()[p];
+                }
             }
         }
 
-        for (Card card : communityCards) {
-            usedCards.add(card.toString());
+        StreetResult[] streets = null;
+        if (first.getStreets() != null) {
+            streets = new StreetResult[streetCount];
+            for (int s = 0; s < streetCount; s++) {
+                streets[s] = new StreetResult(first.getStreets()[s].getStreet(), streetWins[s], streetTies[s],
+                        potShares[s]);
+            }
         }
+        return new SimulationResult(wins, ties, iterations, first.getBestHandRanks(), streets, leadChanges,
+                handRankCounts);
+    }
 
-        deck.removeIf(card -> usedCards.contains(card.toString()));
+    private static void add(int[] into, int[] values) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += values[i];
+        }
     }
 
-    private Card drawCard(List<Card> deck) {
-        int index = random.nextInt(deck.size());
-        return deck.remove(index);
+    private static void checkIterations(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Number of simulations must be positive");
+        }
+        if (iterations > SimulationSpec.MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Number of simulations cannot exceed 1,000,000");
+        }
     }
 
-    private List<String> findWinners(Map<String, HandEvaluation> evaluations) {
-        HandEvaluation bestEvaluation = null;
-        List<String> winners = new ArrayList<>();
+    /**
+     * Copy of the plan's hand ranks on a complete board, so results never share the plan's array
+     */
+    private static HandRank[] bestHandRanks(SimulationPlan plan) {
+        return plan.getBestHandRanks() == null ? null : plan.getBestHandRanks().clone();
+    }
 
-        for (Map.Entry<String, HandEvaluation> entry : evaluations.entrySet()) {
-            if (bestEvaluation == null) {
-                bestEvaluation = entry.getValue();
-                winners.add(entry.getKey());
-            } else {
-                int comparison = entry.getValue().compareTo(bestEvaluation);
-                if (comparison > 0) {
-                    bestEvaluation = entry.getValue();
-                    winners.clear();
-                    winners.add(entry.getKey());
-                } else if (comparison == 0) {
-                    winners.add(entry.getKey());
-                }
+    /**
+     * Hand rank of every known player on a complete board, null for random players
+     */
+    private HandRank[] bestHandRanks(SimulationSpec spec, long board, long[] holeMasks) {
+        HandRank[] bestHandRanks = new HandRank[holeMasks.length];
+        for (int p = 0; p < holeMasks.length; p++) {
+            if (!spec.isRandom(p)) {
+                bestHandRanks[p] = HandStrength.handRank(handEvaluator.evaluate(board | holeMasks[p]));
             }
         }
-
-        return winners;
+        return bestHandRanks;
     }
 
-    private void validateNoDuplicates(Map<String, List<Card>> playerHoleCards,
-                                     List<Card> communityCards) {
-        Set<String> allCards = new HashSet<>();
+    /**
+     * Partial Fisher-Yates step: draw a random card from the first {@code remaining} cards of the deck and move
+     * it behind the live part
+     *
+     * @return mask of the drawn card
+     */
+    private static long draw(int[] deck, int remaining, RandomGenerator random) {
+        int j = random.nextInt(remaining);
+        int card = deck[j];
+        deck[j] = deck[remaining - 1];
+        deck[remaining - 1] = card;
+        return 1L << card;
+    }
 
-        for (List<Card> holeCards : playerHoleCards.values()) {
-            for (Card card : holeCards) {
-                String cardStr = card.toString();
-                if (allCards.contains(cardStr)) {
-                    throw new IllegalArgumentException("Duplicate card found: " + cardStr);
-                }
-                allCards.add(cardStr);
+    /**
+     * Indices of the random players of a spec
+     */
+    private static int[] randomSeats(SimulationSpec spec) {
+        int[] seats = new int[spec.getRandomPlayerCount()];
+        for (int p = 0, n = 0; p < spec.getPlayerCount(); p++) {
+            if (spec.isRandom(p)) {
+                seats[n++] = p;
             }
         }
+        return seats;
+    }
+
+    /**
+     * Add {@code count} identical showdowns to the win and hand category counters
+     *
+     * @return the number of ties to add
+     */
+    private static int tally(long winners, int[] strengths, int count, int[] wins, int[] handRankCounts) {
+        for (int p = 0; p < strengths.length; p++) {
+            handRankCounts[p * HandStrength.CATEGORY_STRIDE + HandStrength.category(strengths[p])] += count;
+        }
+        if (Long.bitCount(winners) == 1) {
+            wins[Long.numberOfTrailingZeros(winners)] += count;
+            return 0;
+        }
+        return count;
+    }
 
-        for (Card card : communityCards) {
-            String cardStr = card.toString();
-            if (allCards.contains(cardStr)) {
-                throw new IllegalArgumentException("Duplicate card found: " + cardStr);
+    /**
+     * All card indices not contained in the given mask
+     */
+    static int[] stubDeck(long usedCards) {
+        int[] deck = new int[Cards.DECK_SIZE - Long.bitCount(usedCards)];
+        int size = 0;
+        for (int card = 0; card < Cards.DECK_SIZE; card++) {
+            if ((usedCards & (1L << card)) == 0) {
+                deck[size++] = card;
             }
-            allCards.add(cardStr);
         }
+        return deck;
     }
 }
-
@@ -0,0 +1,93 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.PreparedSimulationResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Service for prepared simulations: a spec is compiled once into a {@link SimulationPlan} and kept under a
+ * random handle, so clients re-running the same situation skip parsing, validation and setup on every call.
+ * Plans are held in a bounded least-recently-used cache, an evicted handle has to be prepared again.
+ */
+@Service
+public class PreparedSimulationService {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final PokerSimulationService pokerSimulationService;
+    private final Map<String, SimulationPlan> plans;
+
+    public PreparedSimulationService(PokerSimulationService pokerSimulationService,
+                                     @Value("${poker.prepared.cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Prepared simulation cache must hold at least one plan");
+        }
+        this.pokerSimulationService = pokerSimulationService;
+        // Access-ordered map evicting the least recently executed plan
+        this.plans = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SimulationPlan> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Compile a validated spec and register the plan under a new handle
+     */
+    public PreparedSimulationResponse prepare(SimulationSpec spec) {
+        SimulationPlan plan = pokerSimulationService.compile(spec);
+        String handle = UUID.randomUUID().toString();
+        synchronized (plans) {
+            plans.put(handle, plan);
+        }
+        return new PreparedSimulationResponse(handle, plan.getMode().name(), plan.getNumberOfSimulations());
+    }
+
+    /**
+     * Run a prepared plan, with the number of simulations and seed it was prepared with unless they are given
+     */
+    public SimulationResponse execute(String handle, Integer numberOfSimulations, Long seed) {
+        SimulationPlan plan = plan(handle);
+        int iterations = numberOfSimulations != null ? numberOfSimulations : plan.getNumberOfSimulations();
+        if (seed != null) {
+            return pokerSimulationService.toResponse(plan,
+                    pokerSimulationService.simulateSeeded(plan, iterations, seed));
+        }
+        return pokerSimulationService.runSimulation(plan, iterations);
+    }
+
+    /**
+     * Drop a prepared plan, returns false if the handle was unknown or already evicted
+     */
+    public boolean remove(String handle) {
+        synchronized (plans) {
+            return plans.remove(handle) != null;
+        }
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private SimulationPlan plan(String handle) {
+        SimulationPlan plan;
+        synchronized (plans) {
+            plan = plans.get(handle);
+        }
+        if (plan == null) {
+            throw new NoSuchElementException("Unknown or expired simulation handle: " + handle);
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,172 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridCell;
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandClass;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Service for the hero's equity with every starting-hand class against a villain range in one job.
+ * All hero combos are played against the same random numbers (common random numbers): sample s always
+ * picks the villain combo at the same relative position among the combos the hero does not block and
+ * deals the runout from the same shuffled deck prefix, skipping blocked cards. The cells are therefore
+ * directly comparable with much less noise than independent simulations, and are computed in parallel.
+ */
+@Service
+public class RangeGridService {
+
+    /**
+     * Hero and villain block at most four cards of a shuffled deck prefix
+     */
+    private static final int BLOCKED_CARDS = 4;
+
+    private final HandEvaluator handEvaluator;
+
+    public RangeGridService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    public RangeGridResponse computeGrid(RangeGridRequest request) {
+        request.validate();
+        return computeGrid(request, new SplittableRandom());
+    }
+
+    RangeGridResponse computeGrid(RangeGridRequest request, SplittableRandom random) {
+        long board = 0L;
+        if (request.getCommunityCards() != null) {
+            for (String cardStr : request.getCommunityCards()) {
+                long bit = 1L << Cards.parse(cardStr);
+                if ((board & bit) != 0) {
+                    throw new IllegalArgumentException("Duplicate card found: " + cardStr);
+                }
+                board |= bit;
+            }
+        }
+
+        long[] villainCombos = villainCombos(request.getVillainRange(), board);
+        if (villainCombos.length == 0) {
+            throw new IllegalArgumentException("Villain range has no combos left on this board");
+        }
+
+        // Common random numbers: per sample a villain pick in [0, 1) and a shuffled deck prefix for the runout
+        int samples = request.getNumberOfSimulations();
+        int missing = 5 - Long.bitCount(board);
+        int[] deck = PokerSimulationService.stubDeck(board);
+        int prefix = missing + BLOCKED_CARDS;
+        int[] runoutCards = new int[samples * prefix];
+        double[] villainPicks = new double[samples];
+        for (int s = 0; s < samples; s++) {
+            villainPicks[s] = random.nextDouble();
+            for (int k = 0, remaining = deck.length; k < prefix; k++, remaining--) {
+                int j = random.nextInt(remaining);
+                int card = deck[j];
+                deck[j] = deck[remaining - 1];
+                deck[remaining - 1] = card;
+                runoutCards[s * prefix + k] = card;
+            }
+        }
+
+        long fixedBoard = board;
+        RangeGridCell[] cells = new RangeGridCell[HandClass.COUNT];
+        IntStream.range(0, HandClass.COUNT).parallel().forEach(handClass -> cells[handClass] =
+                cell(handClass, fixedBoard, missing, villainCombos, villainPicks, runoutCards, prefix));
+
+        List<String> ranks = new ArrayList<>(HandClass.GRID_SIZE);
+        List<List<RangeGridCell>> grid = new ArrayList<>(HandClass.GRID_SIZE);
+        for (int row = 0; row < HandClass.GRID_SIZE; row++) {
+            ranks.add(HandClass.rankSymbol(row));
+            List<RangeGridCell> gridRow = new ArrayList<>(HandClass.GRID_SIZE);
+            for (int column = 0; column < HandClass.GRID_SIZE; column++) {
+                gridRow.add(cells[HandClass.index(row, column)]);
+            }
+            grid.add(gridRow);
+        }
+        return new RangeGridResponse(ranks, grid, villainCombos.length);
+    }
+
+    /**
+     * Play every combo of one hero class not blocked by the board against all samples
+     */
+    private RangeGridCell cell(int handClass, long board, int missing, long[] villainCombos, double[] villainPicks,
+                               int[] runoutCards, int prefix) {
+        double potShares = 0;
+        long samples = 0;
+        int combos = 0;
+        long[] compatible = new long[villainCombos.length];
+
+        for (long hero : HandClass.combos(handClass)) {
+            if ((hero & board) != 0) {
+                continue;
+            }
+            combos++;
+
+            int size = 0;
+            for (long villain : villainCombos) {
+                if ((villain & hero) == 0) {
+                    compatible[size++] = villain;
+                }
+            }
+            if (size == 0) {
+                continue;
+            }
+
+            for (int s = 0; s < villainPicks.length; s++) {
+                long villain = compatible[(int) (villainPicks[s] * size)];
+                long blocked = hero | villain;
+                long runout = 0L;
+                for (int k = s * prefix, dealt = 0; dealt < missing; k++) {
+                    long card = 1L << runoutCards[k];
+                    if ((card & blocked) == 0) {
+                        runout |= card;
+                        dealt++;
+                    }
+                }
+
+                long fullBoard = board | runout;
+                int heroStrength = handEvaluator.evaluate(fullBoard | hero);
+                int villainStrength = handEvaluator.evaluate(fullBoard | villain);
+                potShares += heroStrength > villainStrength ? 1.0 : heroStrength == villainStrength ? 0.5 : 0.0;
+            }
+            samples += villainPicks.length;
+        }
+
+        Double equity = samples == 0 ? null : potShares * 100.0 / samples;
+        return new RangeGridCell(HandClass.name(handClass), combos, samples, equity);
+    }
+
+    /**
+     * Distinct villain combos of the given classes that do not touch the board, any two cards for an empty range
+     */
+    private static long[] villainCombos(List<String> range, long board) {
+        boolean[] selected = new boolean[HandClass.COUNT];
+        if (range == null || range.isEmpty()) {
+            Arrays.fill(selected, true);
+        } else {
+            for (String name : range) {
+                selected[HandClass.parse(name)] = true;
+            }
+        }
+
+        long[] combos = new long[HandClass.COMBO_COUNT];
+        int size = 0;
+        for (int handClass = 0; handClass < HandClass.COUNT; handClass++) {
+            if (!selected[handClass]) {
+                continue;
+            }
+            for (long combo : HandClass.combos(handClass)) {
+                if ((combo & board) == 0) {
+                    combos[size++] = combo;
+                }
+            }
+        }
+        return Arrays.copyOf(combos, size);
+    }
+}
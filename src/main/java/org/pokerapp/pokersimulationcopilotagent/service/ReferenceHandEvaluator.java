@@ -0,0 +1,39 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.model.Card;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine backed by the straightforward card-object evaluator ({@link HandEvaluatorService#evaluateHand}) that
+ * tries every 5-card combination. Slow, but the ground truth every other engine is verified against.
+ */
+@Component
+public class ReferenceHandEvaluator implements HandEvaluator {
+
+    public static final String ENGINE_NAME = "reference";
+
+    private final HandEvaluatorService handEvaluatorService;
+
+    public ReferenceHandEvaluator(HandEvaluatorService handEvaluatorService) {
+        this.handEvaluatorService = handEvaluatorService;
+    }
+
+    @Override
+    public String name() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public int evaluate(long cards) {
+        List<Card> hand = new ArrayList<>(Long.bitCount(cards));
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            hand.add(Cards.toCard(Long.numberOfTrailingZeros(rest)));
+        }
+        return HandStrength.of(handEvaluatorService.evaluateHand(hand, List.of()));
+    }
+}
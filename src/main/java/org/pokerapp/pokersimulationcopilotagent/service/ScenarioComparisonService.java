@@ -0,0 +1,160 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonScenario;
+import org.pokerapp.pokersimulationcopilotagent.dto.EquityDifference;
+import org.pokerapp.pokersimulationcopilotagent.dto.ScenarioEquity;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Service for comparing variants of a spot with common random numbers. Every iteration shuffles one deck
+ * order; each scenario deals its missing board cards and then its random players' hands from that order,
+ * skipping the cards it already uses. Variants that differ in a few cards therefore see the same runouts
+ * wherever card removal allows, and the noise of the equity difference shrinks much faster than with
+ * independent runs.
+ */
+@Service
+public class ScenarioComparisonService {
+
+    private final HandEvaluator handEvaluator;
+
+    public ScenarioComparisonService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    public ComparisonResponse compare(ComparisonRequest request) {
+        request.validate();
+        return compare(request, new SplittableRandom());
+    }
+
+    ComparisonResponse compare(ComparisonRequest request, SplittableRandom random) {
+        int scenarioCount = request.getScenarios().size();
+        int iterations = request.getNumberOfSimulations();
+
+        SimulationSpec[] specs = new SimulationSpec[scenarioCount];
+        long[][] holeMasks = new long[scenarioCount][];
+        int[][] randomSeats = new int[scenarioCount][];
+        for (int s = 0; s < scenarioCount; s++) {
+            ComparisonScenario scenario = request.getScenarios().get(s);
+            specs[s] = new SimulationRequest(scenario.getPlayers(), scenario.getCommunityCards(), iterations).toSpec();
+            holeMasks[s] = new long[specs[s].getPlayerCount()];
+            randomSeats[s] = new int[specs[s].getRandomPlayerCount()];
+            for (int p = 0, r = 0; p < holeMasks[s].length; p++) {
+                holeMasks[s][p] = specs[s].holeMask(p);
+                if (specs[s].isRandom(p)) {
+                    randomSeats[s][r++] = p;
+                }
+            }
+        }
+
+        int[] order = new int[Cards.DECK_SIZE];
+        for (int card = 0; card < order.length; card++) {
+            order[card] = card;
+        }
+        double[] shares = new double[scenarioCount];
+        double[] sum = new double[scenarioCount];
+        double[] sumSquares = new double[scenarioCount];
+        double[] differenceSum = new double[scenarioCount];
+        double[] differenceSquares = new double[scenarioCount];
+
+        for (int i = 0; i < iterations; i++) {
+            // Positions 0..shuffled-1 of the order are a uniformly shuffled prefix, extended on demand
+            int shuffled = 0;
+            for (int s = 0; s < scenarioCount; s++) {
+                long taken = specs[s].getUsedCards();
+                long board = specs[s].communityMask();
+                int position = 0;
+                for (int missing = 5 - Long.bitCount(board); missing > 0; missing--) {
+                    while (true) {
+                        if (position == shuffled) {
+                            shuffle(order, shuffled++, random);
+                        }
+                        long card = 1L << order[position++];
+                        if ((taken & card) == 0) {
+                            taken |= card;
+                            board |= card;
+                            break;
+                        }
+                    }
+                }
+                long[] holes = holeMasks[s];
+                for (int seat : randomSeats[s]) {
+                    long hole = 0;
+                    for (int k = 0; k < 2; k++) {
+                        while (true) {
+                            if (position == shuffled) {
+                                shuffle(order, shuffled++, random);
+                            }
+                            long card = 1L << order[position++];
+                            if ((taken & card) == 0) {
+                                taken |= card;
+                                hole |= card;
+                                break;
+                            }
+                        }
+                    }
+                    holes[seat] = hole;
+                }
+
+                long winners = handEvaluator.showdown(board, holes, null);
+                shares[s] = (winners & 1L) != 0 ? 1.0 / Long.bitCount(winners) : 0.0;
+                sum[s] += shares[s];
+                sumSquares[s] += shares[s] * shares[s];
+                double difference = shares[s] - shares[0];
+                differenceSum[s] += difference;
+                differenceSquares[s] += difference * difference;
+            }
+        }
+
+        List<ScenarioEquity> equities = new ArrayList<>(scenarioCount);
+        double[] standardErrors = new double[scenarioCount];
+        for (int s = 0; s < scenarioCount; s++) {
+            standardErrors[s] = standardError(sum[s], sumSquares[s], iterations);
+            equities.add(new ScenarioEquity(name(request, s), specs[s].getPlayerNames().get(0),
+                    sum[s] * 100.0 / iterations, standardErrors[s] * 100.0));
+        }
+        List<EquityDifference> differences = new ArrayList<>(scenarioCount - 1);
+        for (int s = 1; s < scenarioCount; s++) {
+            differences.add(new EquityDifference(name(request, s), name(request, 0),
+                    differenceSum[s] * 100.0 / iterations,
+                    standardError(differenceSum[s], differenceSquares[s], iterations) * 100.0,
+                    Math.hypot(standardErrors[s], standardErrors[0]) * 100.0));
+        }
+        return new ComparisonResponse(iterations, equities, differences);
+    }
+
+    /**
+     * Move a uniformly chosen card of {@code order[position..]} to {@code position}
+     */
+    private static void shuffle(int[] order, int position, SplittableRandom random) {
+        int j = position + random.nextInt(order.length - position);
+        int card = order[j];
+        order[j] = order[position];
+        order[position] = card;
+    }
+
+    /**
+     * Standard error of the mean from the sum and the sum of squares of {@code n} samples
+     */
+    static double standardError(double sum, double sumSquares, int n) {
+        if (n < 2) {
+            return 0.0;
+        }
+        double mean = sum / n;
+        double variance = Math.max(0.0, (sumSquares - n * mean * mean) / (n - 1));
+        return Math.sqrt(variance / n);
+    }
+
+    private static String name(ComparisonRequest request, int scenario) {
+        String name = request.getScenarios().get(scenario).getName();
+        return name != null ? name : "Scenario " + (scenario + 1);
+    }
+}
@@ -0,0 +1,106 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.pokerapp.pokersimulationcopilotagent.dto.*;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Service for ranking fully specified showdowns in bulk, without any Monte-Carlo machinery
+ */
+@Service
+public class ShowdownService {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final HandEvaluator handEvaluator;
+
+    public ShowdownService(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    /**
+     * Evaluate all hands of the batch in parallel chunks, results keep the request order
+     */
+    public ShowdownBatchResponse evaluateBatch(ShowdownBatchRequest request) {
+        request.validate();
+
+        List<ShowdownHandRequest> hands = request.getHands();
+        ShowdownHandResult[] results = new ShowdownHandResult[hands.size()];
+        int chunks = (hands.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IllegalArgumentException[] failures = new IllegalArgumentException[chunks];
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int end = Math.min(hands.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int h = chunk * CHUNK_SIZE; h < end; h++) {
+                try {
+                    results[h] = evaluateHand(hands.get(h));
+                } catch (IllegalArgumentException e) {
+                    failures[chunk] = new IllegalArgumentException("Hand " + (h + 1) + ": " + e.getMessage(), e);
+                    return;
+                }
+            }
+        });
+
+        // Report the first invalid hand from the calling thread
+        for (IllegalArgumentException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        return new ShowdownBatchResponse(Arrays.asList(results), results.length);
+    }
+
+    private ShowdownHandResult evaluateHand(ShowdownHandRequest hand) {
+        hand.validate();
+
+        long usedCards = 0L;
+        long board = 0L;
+        for (String cardStr : hand.getCommunityCards()) {
+            int card = Cards.parse(cardStr);
+            usedCards = use(usedCards, card);
+            board |= 1L << card;
+        }
+
+        int players = hand.getPlayers().size();
+        long[] holeMasks = new long[players];
+        for (int p = 0; p < players; p++) {
+            List<String> holeCards = hand.getPlayers().get(p).getHoleCards();
+            int first = Cards.parse(holeCards.get(0));
+            int second = Cards.parse(holeCards.get(1));
+            usedCards = use(use(usedCards, first), second);
+            holeMasks[p] = (1L << first) | (1L << second);
+        }
+
+        int[] strengths = new int[players];
+        long winnerMask = handEvaluator.showdown(board, holeMasks, strengths);
+
+        List<String> winners = new ArrayList<>(1);
+        List<ShowdownPlayerResult> playerResults = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            String name = hand.getPlayers().get(p).getName();
+            boolean winner = (winnerMask & (1L << p)) != 0;
+            if (winner) {
+                winners.add(name);
+            }
+            playerResults.add(new ShowdownPlayerResult(name,
+                    HandStrength.handRank(strengths[p]).getDisplayName(), winner));
+        }
+
+        return new ShowdownHandResult(winners, playerResults);
+    }
+
+    private static long use(long usedCards, int card) {
+        long bit = 1L << card;
+        if ((usedCards & bit) != 0) {
+            throw new IllegalArgumentException("Duplicate card found: " + Cards.toString(card));
+        }
+        return usedCards | bit;
+    }
+}
@@ -0,0 +1,257 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import jakarta.annotation.PreDestroy;
+import org.pokerapp.pokersimulationcopilotagent.dto.BatchingStatsResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional micro-batching between the simulate endpoints and {@link PokerSimulationService}. Small requests
+ * arriving within a short window are collected and run back to back on a pool of worker threads (one per
+ * processor by default), smallest first and grouped by kernel mode, instead of each paying its own hand-off
+ * and warm-up on a request thread. A batch is capped in requests and in total iterations, whatever does not
+ * fit is left to the next free worker. Callers block until their own result is done, at most for the
+ * configured timeout; a request still queued then runs inline, one a worker already holds is abandoned with
+ * {@link SimulationUnavailableException}. Requests are validated and compiled on the caller's thread, so
+ * errors are reported as without batching. Once the workers stop, queued requests fail and new ones run
+ * inline. Disabled by default ({@code poker.batching.enabled}), in which case every call runs inline.
+ */
+@Service
+public class SimulationBatchDispatcher {
+
+    public static final long DEFAULT_WINDOW_MICROS = 1000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    public static final int DEFAULT_MAX_ITERATIONS = 10_000;
+    public static final long DEFAULT_MAX_BATCH_ITERATIONS = 100_000;
+    public static final int DEFAULT_WORKERS = 0;            // One per available processor
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationBatchDispatcher.class);
+
+    private final PokerSimulationService pokerSimulationService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int maxIterations;
+    private final long maxBatchIterations;
+    private final long timeoutNanos;
+    private final BlockingDeque<Pending> queue = new LinkedBlockingDeque<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean stopped;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+    private final AtomicLong inlineRequests = new AtomicLong();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public SimulationBatchDispatcher(PokerSimulationService pokerSimulationService,
+                                     @Value("${poker.batching.enabled:false}") boolean enabled,
+                                     @Value("${poker.batching.window-micros:" + DEFAULT_WINDOW_MICROS + "}") long windowMicros,
+                                     @Value("${poker.batching.max-batch-size:" + DEFAULT_MAX_BATCH_SIZE + "}") int maxBatchSize,
+                                     @Value("${poker.batching.max-iterations:" + DEFAULT_MAX_ITERATIONS + "}") int maxIterations,
+                                     @Value("${poker.batching.max-batch-iterations:" + DEFAULT_MAX_BATCH_ITERATIONS + "}") long maxBatchIterations,
+                                     @Value("${poker.batching.workers:" + DEFAULT_WORKERS + "}") int workers,
+                                     @Value("${poker.batching.timeout-millis:" + DEFAULT_TIMEOUT_MILLIS + "}") long timeoutMillis) {
+        if (windowMicros < 0 || maxBatchSize < 1 || maxBatchIterations < 1 || workers < 0 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Batching window and workers must not be negative, batches must hold "
+                    + "a request and an iteration and the timeout must be positive");
+        }
+        this.pokerSimulationService = pokerSimulationService;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+        this.maxIterations = maxIterations;
+        this.maxBatchIterations = maxBatchIterations;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        if (enabled) {
+            int count = workers == 0 ? Runtime.getRuntime().availableProcessors() : workers;
+            for (int w = 0; w < count; w++) {
+                Thread worker = new Thread(this::dispatch, "simulation-batcher-" + w);
+                worker.setDaemon(true);
+                this.workers.add(worker);
+            }
+            this.workers.forEach(Thread::start);
+        }
+    }
+
+    /**
+     * Run a validated spec and return its JSON response, batched if enabled and the request is small
+     */
+    public SimulationResponse runSimulation(SimulationSpec spec) {
+        SimulationPlan plan = pokerSimulationService.compile(spec);
+        return pokerSimulationService.toResponse(plan, run(plan, spec.getNumberOfSimulations()));
+    }
+
+    /**
+     * Run a validated spec and return the raw counts, batched if enabled and the request is small
+     */
+    public SimulationResult simulate(SimulationSpec spec) {
+        return run(pokerSimulationService.compile(spec), spec.getNumberOfSimulations());
+    }
+
+    public BatchingStatsResponse stats() {
+        long batchCount = batches.get();
+        long batched = batchedRequests.get();
+        return new BatchingStatsResponse(enabled, TimeUnit.NANOSECONDS.toMicros(windowNanos), maxBatchSize,
+                maxIterations, maxBatchIterations, workers.size(), batchCount, batched, inlineRequests.get(),
+                batchCount == 0 ? 0 : (double) batched / batchCount, largestBatch.get(),
+                batched == 0 ? 0 : totalWaitNanos.get() / 1000.0 / batched,
+                maxWaitNanos.get() / 1000.0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        workers.forEach(Thread::interrupt);
+        failQueued();
+    }
+
+    private SimulationResult run(SimulationPlan plan, int iterations) {
+        if (!enabled || stopped || iterations > maxIterations) {
+            return runInline(plan, iterations);
+        }
+        Pending pending = new Pending(plan, iterations);
+        queue.add(pending);
+        // Queued while the workers stopped, after their last drain: nobody else will take it
+        if (stopped && queue.remove(pending)) {
+            return runInline(plan, iterations);
+        }
+        try {
+            try {
+                return pending.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Not picked up in time, the workers are saturated or stuck
+                if (queue.remove(pending)) {
+                    return runInline(plan, iterations);
+                }
+                // A worker holds it: cancelled, the worker skips it or drops the result of a run in progress
+                if (pending.result.cancel(false)) {
+                    throw new SimulationUnavailableException("Timed out waiting for the batched simulation");
+                }
+                // Completed in the meantime
+                return pending.result.get();
+            }
+        } catch (InterruptedException e) {
+            queue.remove(pending);
+            pending.result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batched simulation");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private SimulationResult runInline(SimulationPlan plan, int iterations) {
+        inlineRequests.incrementAndGet();
+        return pokerSimulationService.simulate(plan, iterations);
+    }
+
+    private void dispatch() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!stopped) {
+                Pending first = queue.take();
+                batch.add(first);
+                long batchIterations = first.iterations;
+                // Collect whatever else arrives within the window, up to the batch size and iterations
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (batchIterations + next.iterations > maxBatchIterations) {
+                        // Back to the head of the queue for the next free worker
+                        queue.offerFirst(next);
+                        break;
+                    }
+                    batch.add(next);
+                    batchIterations += next.iterations;
+                }
+                runBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Nothing queued may wait for a worker that is gone
+            stopped = true;
+            for (Pending pending : batch) {
+                pending.result.completeExceptionally(new SimulationUnavailableException("Simulation dispatcher stopped"));
+            }
+            failQueued();
+            log.debug("Simulation batch worker {} stopped", Thread.currentThread().getName());
+        }
+    }
+
+    private void failQueued() {
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            pending.result.completeExceptionally(new SimulationUnavailableException("Simulation dispatcher stopped"));
+        }
+    }
+
+    private void runBatch(List<Pending> batch) {
+        // Small requests first, so they do not wait behind the large ones; the same kernel back to back
+        // keeps its code and tables hot
+        batch.sort(Comparator.<Pending>comparingInt(pending -> pending.iterations)
+                .thenComparing(pending -> pending.plan.getMode()));
+        batches.incrementAndGet();
+        batchedRequests.addAndGet(batch.size());
+        largestBatch.accumulateAndGet(batch.size(), Math::max);
+
+        for (Pending pending : batch) {
+            if (pending.result.isDone()) {
+                // Abandoned by its caller after the timeout
+                continue;
+            }
+            long waited = System.nanoTime() - pending.enqueued;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            try {
+                pending.result.complete(pokerSimulationService.simulate(pending.plan, pending.iterations));
+            } catch (Throwable e) {
+                // Errors too: the worker has to live on for the requests behind this one
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final SimulationPlan plan;
+        private final int iterations;
+        private final long enqueued = System.nanoTime();
+        private final CompletableFuture<SimulationResult> result = new CompletableFuture<>();
+
+        private Pending(SimulationPlan plan, int iterations) {
+            this.plan = plan;
+            this.iterations = iterations;
+        }
+    }
+}
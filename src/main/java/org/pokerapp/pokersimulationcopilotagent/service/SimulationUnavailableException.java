@@ -0,0 +1,12 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+/**
+ * A valid simulation request that could not be served right now, because the batch workers did not finish it
+ * in time or have stopped. Retrying later may succeed, so the API answers it with 503.
+ */
+public class SimulationUnavailableException extends RuntimeException {
+
+    public SimulationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package org.pokerapp.pokersimulationcopilotagent.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandIndexer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand isomorphism index and unindex latency, one operation handles one hand of a fixed pool of random hands
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandIndexerBenchmark {
+
+    private static final int POOL = 4096;
+
+    @Param({"flop", "river"})
+    public String street;
+
+    private HandIndexer indexer;
+    private long[][] hands;
+    private long[] indices;
+    private long[] rounds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        indexer = street.equals("flop") ? HandIndexer.FLOP : HandIndexer.RIVER;
+        SplittableRandom random = new SplittableRandom(1);
+        hands = new long[POOL][2];
+        indices = new long[POOL];
+        for (int i = 0; i < POOL; i++) {
+            long used = 0L;
+            for (int r = 0; r < 2; r++) {
+                while (Long.bitCount(hands[i][r]) < indexer.cardsInRound(r)) {
+                    long card = 1L << random.nextInt(Cards.DECK_SIZE);
+                    if ((used & card) == 0) {
+                        hands[i][r] |= card;
+                        used |= card;
+                    }
+                }
+            }
+            indices[i] = indexer.index(hands[i]);
+        }
+        rounds = new long[2];
+    }
+
+    @Benchmark
+    public long index() {
+        next = (next + 1) & (POOL - 1);
+        return indexer.index(hands[next]);
+    }
+
+    @Benchmark
+    public long[] unindex() {
+        next = (next + 1) & (POOL - 1);
+        indexer.unindex(indices[next], rounds);
+        return rounds;
+    }
+}
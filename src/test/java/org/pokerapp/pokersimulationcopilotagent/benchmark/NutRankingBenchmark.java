@@ -0,0 +1,44 @@
+package org.pokerapp.pokersimulationcopilotagent.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingRequest;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluatorService;
+import org.pokerapp.pokersimulationcopilotagent.service.NutRankingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * River nut ranking latency: one operation ranks all 1,081 combos of a board, either evaluated and sorted
+ * from scratch (cache size 0) or translated from the cached ranking of the canonical board
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NutRankingBenchmark {
+
+    private NutRankingService uncached;
+    private NutRankingService cached;
+    private NutRankingRequest request;
+
+    @Setup
+    public void setUp() {
+        HandEvaluatorService handEvaluatorService = new HandEvaluatorService();
+        uncached = new NutRankingService(handEvaluatorService, 0);
+        cached = new NutRankingService(handEvaluatorService, NutRankingService.DEFAULT_CACHE_SIZE);
+        request = new NutRankingRequest(List.of("QH", "JH", "7C", "7D", "2H"), List.of("AS", "KD"));
+    }
+
+    @Benchmark
+    public Object uncached() {
+        return uncached.rank(request);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return cached.rank(request);
+    }
+}
@@ -0,0 +1,94 @@
+package org.pokerapp.pokersimulationcopilotagent.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.*;
+import org.pokerapp.pokersimulationcopilotagent.codec.SimulationSpecJsonDeserializer;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.Card;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request parsing overhead before any simulation starts:
+ * the original DTO → Card list → map graph, the DTO converted to a spec, and the streaming spec deserializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestParsingBenchmark {
+
+    @Param({"headsUpPreflop", "nineWayRiver"})
+    public String scenario;
+
+    private ObjectMapper objectMapper;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(SimulationSpec.class, new SimulationSpecJsonDeserializer()));
+
+        json = "headsUpPreflop".equals(scenario)
+                ? "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"QH\",\"QD\"]}],\"communityCards\":[],\"numberOfSimulations\":1000}"
+                : "{\"players\":[{\"name\":\"P1\",\"holeCards\":[\"AS\",\"KS\"]},{\"name\":\"P2\",\"holeCards\":[\"AH\",\"KH\"]},"
+                + "{\"name\":\"P3\",\"holeCards\":[\"AD\",\"KD\"]},{\"name\":\"P4\",\"holeCards\":[\"AC\",\"KC\"]},"
+                + "{\"name\":\"P5\",\"holeCards\":[\"QS\",\"JS\"]},{\"name\":\"P6\",\"holeCards\":[\"QH\",\"JH\"]},"
+                + "{\"name\":\"P7\",\"holeCards\":[\"QD\",\"JD\"]},{\"name\":\"P8\",\"holeCards\":[\"QC\",\"JC\"]},"
+                + "{\"name\":\"P9\",\"holeCards\":[\"9S\",\"9H\"]}],"
+                + "\"communityCards\":[\"2C\",\"3D\",\"7H\",\"8S\",\"10C\"],\"numberOfSimulations\":100}";
+    }
+
+    /**
+     * The request preamble of the original service: DTO graph, Card.fromString and a map of Card lists
+     */
+    @Benchmark
+    public Object legacyRequestGraph() throws Exception {
+        SimulationRequest request = objectMapper.readValue(json, SimulationRequest.class);
+        request.validate();
+
+        Map<String, List<Card>> playerHoleCards = new HashMap<>();
+        for (PlayerRequest player : request.getPlayers()) {
+            playerHoleCards.put(player.getName(), player.getHoleCards().stream()
+                    .map(Card::fromString)
+                    .collect(Collectors.toList()));
+        }
+        List<Card> community = request.getCommunityCards().stream()
+                .map(Card::fromString)
+                .collect(Collectors.toList());
+
+        Set<String> allCards = new HashSet<>();
+        for (List<Card> holeCards : playerHoleCards.values()) {
+            for (Card card : holeCards) {
+                if (!allCards.add(card.toString())) {
+                    throw new IllegalArgumentException("Duplicate card found: " + card);
+                }
+            }
+        }
+        for (Card card : community) {
+            if (!allCards.add(card.toString())) {
+                throw new IllegalArgumentException("Duplicate card found: " + card);
+            }
+        }
+        return playerHoleCards;
+    }
+
+    @Benchmark
+    public SimulationSpec requestToSpec() throws Exception {
+        return objectMapper.readValue(json, SimulationRequest.class).toSpec();
+    }
+
+    @Benchmark
+    public SimulationSpec streamingSpec() throws Exception {
+        return objectMapper.readValue(json, SimulationSpec.class);
+    }
+}
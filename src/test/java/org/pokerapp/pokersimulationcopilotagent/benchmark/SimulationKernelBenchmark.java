@@ -0,0 +1,87 @@
+package org.pokerapp.pokersimulationcopilotagent.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+import org.pokerapp.pokersimulationcopilotagent.service.HandEvaluatorService;
+import org.pokerapp.pokersimulationcopilotagent.service.PokerSimulationService;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte-Carlo kernel throughput without any HTTP or parsing overhead, one operation is one full
+ * {@link PokerSimulationService#simulate} call of 10,000 iterations. {@code simulatePlan} runs the same scenario
+ * from a compiled {@link SimulationPlan}, as prepared simulations do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationKernelBenchmark {
+
+    @Param({"headsUpPreflop", "nineWayPreflop", "sixWayFlop", "nineWayTurn", "nineRandomFlop"})
+    public String scenario;
+
+    private PokerSimulationService simulationService;
+    private SimulationSpec spec;
+    private SimulationPlan plan;
+
+    @Setup
+    public void setUp() {
+        simulationService = new PokerSimulationService(new HandEvaluatorService());
+
+        switch (scenario) {
+            case "headsUpPreflop":
+                spec = new SimulationSpec(List.of("Alice", "Bob"), cards("AS", "KS", "QH", "QD"), new int[0], 10_000);
+                break;
+            case "nineWayPreflop":
+                spec = new SimulationSpec(List.of("P1", "P2", "P3", "P4", "P5", "P6", "P7", "P8", "P9"),
+                        cards("AS", "KS", "AH", "KH", "QD", "JD", "9C", "9S", "7H", "6H", "2C", "3C",
+                                "5S", "5D", "JC", "10C", "KD", "2D"),
+                        new int[0], 10_000);
+                break;
+            case "sixWayFlop":
+                spec = new SimulationSpec(List.of("P1", "P2", "P3", "P4", "P5", "P6"),
+                        cards("AS", "KS", "AH", "KH", "QD", "JD", "9C", "9S", "7H", "6H", "2C", "3C"),
+                        cards("10D", "8C", "4H"), 10_000);
+                break;
+            case "nineRandomFlop":
+                int[] holeCards = new int[20];
+                Arrays.fill(holeCards, SimulationSpec.RANDOM_CARD);
+                holeCards[0] = Cards.parse("AS");
+                holeCards[1] = Cards.parse("KD");
+                spec = new SimulationSpec(List.of("Hero", "V1", "V2", "V3", "V4", "V5", "V6", "V7", "V8", "V9"),
+                        holeCards, cards("10D", "8C", "4H"), 10_000);
+                break;
+            default:
+                spec = new SimulationSpec(List.of("P1", "P2", "P3", "P4", "P5", "P6", "P7", "P8", "P9"),
+                        cards("AS", "KS", "AH", "KH", "QD", "JD", "9C", "9S", "7H", "6H", "2C", "3C",
+                                "5S", "5D", "JC", "10C", "KD", "2D"),
+                        cards("10D", "8C", "4H", "QS"), 10_000);
+        }
+        plan = simulationService.compile(spec);
+    }
+
+    @Benchmark
+    public Object simulate() {
+        return simulationService.simulate(spec);
+    }
+
+    @Benchmark
+    public Object simulatePlan() {
+        return simulationService.simulate(plan, 10_000);
+    }
+
+    private static int[] cards(String... cards) {
+        int[] indices = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            indices[i] = Cards.parse(cards[i]);
+        }
+        return indices;
+    }
+}
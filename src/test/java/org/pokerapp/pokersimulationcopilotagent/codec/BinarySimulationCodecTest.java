@@ -0,0 +1,99 @@
+package org.pokerapp.pokersimulationcopilotagent.codec;
+
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BinarySimulationCodec
+ */
+class BinarySimulationCodecTest {
+
+    @Test
+    void testRequestRoundTrip() {
+        SimulationSpec spec = new SimulationSpec(
+                List.of("Player 1", "Player 2"),
+                new int[]{Cards.parse("AS"), Cards.parse("KS"), Cards.parse("QH"), Cards.parse("QD")},
+                new int[]{Cards.parse("JS"), Cards.parse("10S"), Cards.parse("9S")},
+                10000
+        );
+
+        byte[] encoded = BinarySimulationCodec.encodeRequest(spec);
+        SimulationSpec decoded = BinarySimulationCodec.decodeRequest(ByteBuffer.wrap(encoded));
+
+        assertEquals(14, encoded.length);
+        assertEquals(spec.getPlayerNames(), decoded.getPlayerNames());
+        assertArrayEquals(spec.getHoleCards(), decoded.getHoleCards());
+        assertArrayEquals(spec.getCommunityCards(), decoded.getCommunityCards());
+        assertEquals(10000, decoded.getNumberOfSimulations());
+    }
+
+    @Test
+    void testRequestRoundTripWithRandomPlayer() {
+        SimulationSpec spec = new SimulationSpec(
+                List.of("Player 1", "Player 2"),
+                new int[]{Cards.parse("AS"), Cards.parse("KS"), SimulationSpec.RANDOM_CARD, SimulationSpec.RANDOM_CARD},
+                new int[0],
+                1000
+        );
+
+        byte[] encoded = BinarySimulationCodec.encodeRequest(spec);
+        SimulationSpec decoded = BinarySimulationCodec.decodeRequest(ByteBuffer.wrap(encoded));
+
+        assertEquals((byte) 0xFF, encoded[9]);
+        assertArrayEquals(spec.getHoleCards(), decoded.getHoleCards());
+        assertTrue(decoded.isRandom(1));
+    }
+
+    @Test
+    void testResultRoundTrip() {
+        SimulationResult result = new SimulationResult(new int[]{70, 20}, 10, 100,
+                new HandRank[]{HandRank.FLUSH, HandRank.ONE_PAIR});
+
+        SimulationResult decoded = BinarySimulationCodec.decodeResult(
+                ByteBuffer.wrap(BinarySimulationCodec.encodeResult(result)));
+
+        assertArrayEquals(result.getWins(), decoded.getWins());
+        assertEquals(10, decoded.getTies());
+        assertEquals(100, decoded.getTotalSimulations());
+        assertEquals(Arrays.asList(result.getBestHandRanks()), Arrays.asList(decoded.getBestHandRanks()));
+    }
+
+    @Test
+    void testDecodeRejectsDuplicateCards() {
+        byte[] request = {1, 2, 0, 0, 0, 0, 100, 12, 11, 12, 10};
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BinarySimulationCodec.decodeRequest(ByteBuffer.wrap(request)));
+        assertTrue(e.getMessage().contains("Duplicate card"));
+    }
+
+    @Test
+    void testDecodeRejectsTruncatedRequest() {
+        byte[] request = {1, 2, 0, 0, 0, 0, 100, 12, 11};
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinarySimulationCodec.decodeRequest(ByteBuffer.wrap(request)));
+    }
+
+    @Test
+    void testDecodeRejectsMalformedResult() {
+        byte[] truncated = {1, 1, 0, 0, 0, 100, 0, 0};
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BinarySimulationCodec.decodeResult(ByteBuffer.wrap(truncated)));
+        assertEquals("Truncated binary result", e.getMessage());
+
+        byte[] badHandRank = {1, 1, 0, 0, 0, 100, 0, 0, 0, 10, 0, 0, 0, 90, 11};
+        e = assertThrows(IllegalArgumentException.class,
+                () -> BinarySimulationCodec.decodeResult(ByteBuffer.wrap(badHandRank)));
+        assertEquals("Invalid hand rank in binary result: 11", e.getMessage());
+    }
+}
@@ -0,0 +1,146 @@
+package org.pokerapp.pokersimulationcopilotagent.codec;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationSpecJsonDeserializer
+ */
+class SimulationSpecJsonDeserializerTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new SimpleModule()
+                .addDeserializer(SimulationSpec.class, new SimulationSpecJsonDeserializer()));
+    }
+
+    @Test
+    void testParsesRequestIntoCardIndices() throws Exception {
+        String json = "{\"numberOfSimulations\":500,\"ignored\":{\"a\":[1,2]},"
+                + "\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"10h\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],\"communityCards\":[\"KD\",\"QC\",\"JH\"]}";
+
+        SimulationSpec spec = objectMapper.readValue(json, SimulationSpec.class);
+
+        assertEquals(List.of("Alice", "Bob"), spec.getPlayerNames());
+        assertArrayEquals(new int[]{Cards.parse("AS"), Cards.parse("10H"), Cards.parse("2D"), Cards.parse("3C")},
+                spec.getHoleCards());
+        assertArrayEquals(new int[]{Cards.parse("KD"), Cards.parse("QC"), Cards.parse("JH")}, spec.getCommunityCards());
+        assertEquals(500, spec.getNumberOfSimulations());
+    }
+
+    @Test
+    void testNullCommunityCards() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],\"communityCards\":null,\"numberOfSimulations\":10}";
+
+        assertEquals(0, objectMapper.readValue(json, SimulationSpec.class).getCommunityCards().length);
+    }
+
+    @Test
+    void testSeed() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],\"numberOfSimulations\":10,\"seed\":%s}";
+
+        assertEquals(-9_000_000_000L,
+                objectMapper.readValue(String.format(json, "-9000000000"), SimulationSpec.class).getSeed());
+        assertNull(objectMapper.readValue(String.format(json, "null"), SimulationSpec.class).getSeed());
+        assertInvalid(String.format(json, "\"abc\""), "Expected integer seed but found VALUE_STRING");
+    }
+
+    @Test
+    void testRejectsPlayersArrayWithNonObjectElement() {
+        // Fields after the malformed array must not be dropped silently
+        String json = "{\"numberOfSimulations\":10,\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]},5],\"seed\":7,\"communityCards\":[\"KD\"]}";
+
+        assertInvalid(json, "Expected player object but found VALUE_NUMBER_INT");
+    }
+
+    @Test
+    void testRejectsNonScalarPlayerFields() {
+        // A nested value must not be read as the player's own fields
+        assertInvalid("{\"players\":[{\"name\":{\"holeCards\":[\"AS\",\"AH\"]},\"holeCards\":[\"2D\",\"3C\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KD\",\"KC\"]}],\"numberOfSimulations\":10}",
+                "Expected player name string but found START_OBJECT");
+        assertInvalid("{\"players\":[{\"name\":[\"a\"],\"holeCards\":[\"2D\",\"3C\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KD\",\"KC\"]}],\"numberOfSimulations\":10}",
+                "Expected player name string but found START_ARRAY");
+        assertInvalid("{\"players\":[{\"name\":\"Alice\",\"random\":{\"holeCards\":[\"AS\",\"AH\"]}},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KD\",\"KC\"]}],\"numberOfSimulations\":10}",
+                "Expected random flag boolean but found START_OBJECT");
+    }
+
+    @Test
+    void testRejectsDuplicateCardWhileParsing() {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"AS\",\"3C\"]}],\"numberOfSimulations\":10}";
+
+        assertInvalid(json, "Duplicate card found: AS");
+    }
+
+    @Test
+    void testRejectsInvalidCards() {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"XS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],\"numberOfSimulations\":10}";
+
+        assertInvalid(json, "Invalid rank symbol: X");
+    }
+
+    @Test
+    void testRejectsWrongNumberOfHoleCards() {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\",\"AD\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],\"numberOfSimulations\":10}";
+
+        assertInvalid(json, "Each player must have exactly 2 hole cards");
+    }
+
+    @Test
+    void testRejectsTooManyCommunityCards() {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3C\"]}],"
+                + "\"communityCards\":[\"4S\",\"5S\",\"6S\",\"7S\",\"8S\",\"9S\"],\"numberOfSimulations\":10}";
+
+        assertInvalid(json, "Cannot have more than 5 community cards");
+    }
+
+    @Test
+    void testParsesRandomPlayer() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KD\"]},"
+                + "{\"name\":\"Bob\",\"random\":true}],\"numberOfSimulations\":10}";
+
+        SimulationSpec spec = objectMapper.readValue(json, SimulationSpec.class);
+
+        assertArrayEquals(new int[]{Cards.parse("AS"), Cards.parse("KD"), SimulationSpec.RANDOM_CARD,
+                SimulationSpec.RANDOM_CARD}, spec.getHoleCards());
+        assertTrue(spec.isRandom(1));
+        assertEquals(1, spec.getRandomPlayerCount());
+    }
+
+    @Test
+    void testRejectsRandomPlayerWithHoleCards() {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"random\":true,\"holeCards\":[\"2D\",\"3C\"]}],\"numberOfSimulations\":10}";
+
+        assertInvalid(json, "Random players cannot have hole cards");
+    }
+
+    private void assertInvalid(String json, String message) {
+        JsonMappingException e = assertThrows(JsonMappingException.class,
+                () -> objectMapper.readValue(json, SimulationSpec.class));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals(message, e.getCause().getMessage());
+    }
+}
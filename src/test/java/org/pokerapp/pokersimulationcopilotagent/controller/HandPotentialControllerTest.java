@@ -0,0 +1,46 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for HandPotentialController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HandPotentialControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPotential_ValidRequest() throws Exception {
+        String body = "{\"holeCards\":[\"AD\",\"QC\"],\"communityCards\":[\"3H\",\"4C\",\"JH\",\"2S\"]}";
+
+        mockMvc.perform(post("/api/poker/potential")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exact").value(true))
+                .andExpect(jsonPath("$.samples").value(1035 * 44))
+                .andExpect(jsonPath("$.effectiveHandStrength").isNumber());
+    }
+
+    @Test
+    void testPotential_InvalidRequest_Preflop() throws Exception {
+        String body = "{\"holeCards\":[\"AD\",\"QC\"],\"communityCards\":[]}";
+
+        mockMvc.perform(post("/api/poker/potential")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Hand potential requires 3-5 community cards"));
+    }
+}
@@ -0,0 +1,47 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for NutRankingController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NutRankingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testNuts_ValidRequest() throws Exception {
+        String body = "{\"communityCards\":[\"AS\",\"KS\",\"QS\",\"7D\",\"2C\"],\"deadCards\":[\"AH\",\"AD\"]}";
+
+        mockMvc.perform(post("/api/poker/nuts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.combos").value(990))
+                .andExpect(jsonPath("$.groups[0].rank").value(1))
+                .andExpect(jsonPath("$.groups[0].handRank").value("Royal Flush"))
+                .andExpect(jsonPath("$.groups[0].combos[0]").value("JS 10S"));
+    }
+
+    @Test
+    void testNuts_InvalidRequest_IncompleteBoard() throws Exception {
+        String body = "{\"communityCards\":[\"AS\",\"KS\",\"QS\"]}";
+
+        mockMvc.perform(post("/api/poker/nuts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("A nut ranking requires exactly 5 community cards"));
+    }
+}
@@ -0,0 +1,49 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for OutsController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testOuts_ValidRequest() throws Exception {
+        String body = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],"
+                + "\"communityCards\":[\"QD\",\"7C\",\"4S\",\"2H\"]}";
+
+        mockMvc.perform(post("/api/poker/outs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCards.length()").value(44))
+                .andExpect(jsonPath("$.players[1].outs.length()").value(2))
+                .andExpect(jsonPath("$.players[0].equityPercentage").isNumber());
+    }
+
+    @Test
+    void testOuts_InvalidRequest_Preflop() throws Exception {
+        String body = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],\"communityCards\":[]}";
+
+        mockMvc.perform(post("/api/poker/outs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Outs analysis requires 3 or 4 community cards"));
+    }
+}
@@ -2,16 +2,26 @@ package org.pokerapp.pokersimulationcopilotagent.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.codec.BinarySimulationCodec;
 import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
 import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,7 +56,8 @@ class PokerSimulationControllerTest {
                 .andExpect(jsonPath("$.totalSimulations").value(100))
                 .andExpect(jsonPath("$.playerResults").isArray())
                 .andExpect(jsonPath("$.playerResults.length()").value(2))
-                .andExpect(jsonPath("$.tiePercentage").isNumber());
+                .andExpect(jsonPath("$.tiePercentage").isNumber())
+                .andExpect(jsonPath("$.streetEquities").doesNotExist());
     }
 
     @Test
@@ -65,7 +76,24 @@ class PokerSimulationControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.playerResults[0].bestHandRank").exists())
-                .andExpect(jsonPath("$.playerResults[1].bestHandRank").exists());
+                .andExpect(jsonPath("$.playerResults[1].bestHandRank").exists())
+                .andExpect(jsonPath("$.playerResults[0].handRankDistribution['Royal Flush']").value(100.0));
+    }
+
+    @Test
+    void testSimulatePoker_PerStreet() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"KD\",\"KC\"]}],"
+                + "\"communityCards\":[\"2C\",\"7D\",\"9H\"],\"numberOfSimulations\":100,\"perStreet\":true}";
+
+        mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.streetEquities.length()").value(2))
+                .andExpect(jsonPath("$.streetEquities[0].street").value("Turn"))
+                .andExpect(jsonPath("$.streetEquities[1].playerEquities[0].equityPercentage").isNumber())
+                .andExpect(jsonPath("$.leadChangePercentage").isNumber());
     }
 
     @Test
@@ -136,5 +164,155 @@ class PokerSimulationControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").exists());
     }
-}
 
+    @Test
+    void testSimulatePoker_BinaryRequest() throws Exception {
+        SimulationSpec spec = new SimulationSpec(
+                List.of("Player 1", "Player 2"),
+                new int[]{Cards.parse("AS"), Cards.parse("KS"), Cards.parse("2H"), Cards.parse("3H")},
+                new int[]{Cards.parse("QS"), Cards.parse("JS"), Cards.parse("10S"), Cards.parse("9S"), Cards.parse("8S")},
+                100
+        );
+
+        byte[] body = mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(BinarySimulationCodec.MEDIA_TYPE)
+                        .accept(BinarySimulationCodec.MEDIA_TYPE)
+                        .content(BinarySimulationCodec.encodeRequest(spec)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinarySimulationCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        SimulationResult result = BinarySimulationCodec.decodeResult(ByteBuffer.wrap(body));
+        assertEquals(100, result.getTotalSimulations());
+        assertArrayEquals(new int[]{100, 0}, result.getWins());
+        assertEquals(0, result.getTies());
+    }
+
+    @Test
+    void testSimulatePoker_BinaryRequest_DuplicateCards() throws Exception {
+        byte[] body = {1, 2, 0, 0, 0, 0, 100, 12, 11, 12, 10};
+
+        mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(BinarySimulationCodec.MEDIA_TYPE)
+                        .accept(BinarySimulationCodec.MEDIA_TYPE)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Duplicate card found: AH"));
+    }
+
+    @Test
+    void testBatchingStats_DisabledByDefault() throws Exception {
+        mockMvc.perform(get("/api/poker/simulate/batching"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false))
+                .andExpect(jsonPath("$.batches").value(0))
+                .andExpect(jsonPath("$.maxBatchSize").value(64));
+    }
+
+    @Test
+    void testSimulatePoker_SameSeedSameResult() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Bob\",\"random\":true}],\"numberOfSimulations\":5000,\"seed\":12345}";
+
+        String first = mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testSimulatePoker_SeededResultIsCacheable() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Bob\",\"random\":true}],\"numberOfSimulations\":2000,\"seed\":99}";
+
+        String etag = mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=86400, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", etag)
+                        .content(json))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // The URL form of the same request has the same ETag and is answered with 304
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:KS,AS", "Bob:random")
+                        .param("numberOfSimulations", "2000")
+                        .param("seed", "99")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testSimulatePoker_SampledResultIsNotCached() throws Exception {
+        String json = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Bob\",\"holeCards\":[\"QD\",\"QC\"]}],\"numberOfSimulations\":100}";
+
+        mockMvc.perform(post("/api/poker/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", "*")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    void testSimulatePokerGet() throws Exception {
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:AS,KS", "Bob:2H,3H")
+                        .param("communityCards", "QS,JS,10S,9H,8H")
+                        .param("numberOfSimulations", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.playerResults[0].name").value("Alice"))
+                .andExpect(jsonPath("$.playerResults[0].winPercentage").value(100.0))
+                .andExpect(jsonPath("$.totalSimulations").value(100));
+    }
+
+    @Test
+    void testSimulatePokerGet_InvalidPlayer() throws Exception {
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:AS,KS", "Bob")
+                        .param("numberOfSimulations", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Player must be given as name:card,card or name:random"));
+    }
+
+    @Test
+    void testSimulatePokerGet_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:AS,KS", "Bob:random"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Missing parameter: numberOfSimulations"));
+
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:AS,KS", "Bob:random")
+                        .param("numberOfSimulations", "many"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for parameter numberOfSimulations: many"));
+
+        mockMvc.perform(get("/api/poker/simulate")
+                        .param("player", "Alice:AS,KS", "Bob:random")
+                        .param("numberOfSimulations", "100")
+                        .param("seed", "7x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for parameter seed: 7x"));
+    }
+}
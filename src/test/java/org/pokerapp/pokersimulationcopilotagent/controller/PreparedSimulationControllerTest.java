@@ -0,0 +1,76 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for PreparedSimulationController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PreparedSimulationControllerTest {
+
+    private static final String SIMULATION = "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+            + "{\"name\":\"Bob\",\"holeCards\":[\"KD\",\"KC\"]}],"
+            + "\"communityCards\":[\"2C\",\"7D\",\"9H\"],\"numberOfSimulations\":200}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testPrepareExecuteAndDelete() throws Exception {
+        String prepared = mockMvc.perform(post("/api/poker/simulate/prepare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SIMULATION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("RUNOUT_COUNTING"))
+                .andExpect(jsonPath("$.numberOfSimulations").value(200))
+                .andReturn().getResponse().getContentAsString();
+        String handle = JsonPath.read(prepared, "$.handle");
+
+        mockMvc.perform(post("/api/poker/simulate/prepared/" + handle))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSimulations").value(200))
+                .andExpect(jsonPath("$.playerResults[1].name").value("Bob"));
+
+        mockMvc.perform(post("/api/poker/simulate/prepared/" + handle)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"numberOfSimulations\":1000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSimulations").value(1000));
+
+        mockMvc.perform(delete("/api/poker/simulate/prepared/" + handle))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/poker/simulate/prepared/" + handle))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Unknown or expired simulation handle: " + handle));
+    }
+
+    @Test
+    void testPrepare_InvalidRequest_NoPlayers() throws Exception {
+        mockMvc.perform(post("/api/poker/simulate/prepare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"players\":[],\"numberOfSimulations\":100}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testExecute_InvalidNumberOfSimulations() throws Exception {
+        mockMvc.perform(post("/api/poker/simulate/prepared/unknown")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"numberOfSimulations\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Number of simulations must be positive"));
+    }
+}
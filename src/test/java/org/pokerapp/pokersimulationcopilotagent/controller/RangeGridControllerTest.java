@@ -0,0 +1,50 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RangeGridController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RangeGridControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testRangeGrid_ValidRequest() throws Exception {
+        String body = "{\"villainRange\":[\"AA\",\"KK\",\"AKs\"],\"communityCards\":[\"QD\",\"7C\",\"4S\"],"
+                + "\"numberOfSimulations\":50}";
+
+        mockMvc.perform(post("/api/poker/range-grid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ranks[0]").value("A"))
+                .andExpect(jsonPath("$.grid.length()").value(13))
+                .andExpect(jsonPath("$.grid[0][1].hand").value("AKs"))
+                .andExpect(jsonPath("$.grid[1][0].hand").value("AKo"))
+                .andExpect(jsonPath("$.grid[5][5].samples").value(300))
+                .andExpect(jsonPath("$.villainCombos").value(16));
+    }
+
+    @Test
+    void testRangeGrid_InvalidHandClass() throws Exception {
+        String body = "{\"villainRange\":[\"AK\"],\"numberOfSimulations\":50}";
+
+        mockMvc.perform(post("/api/poker/range-grid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid hand class: AK"));
+    }
+}
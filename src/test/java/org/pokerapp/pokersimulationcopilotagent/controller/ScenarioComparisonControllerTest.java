@@ -0,0 +1,55 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ScenarioComparisonController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScenarioComparisonControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testCompare_ValidRequest() throws Exception {
+        String body = "{\"numberOfSimulations\":2000,\"scenarios\":["
+                + "{\"name\":\"Call\",\"players\":[{\"name\":\"Hero\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Villain\",\"holeCards\":[\"QD\",\"QC\"]}],\"communityCards\":[\"2S\",\"7D\",\"9H\"]},"
+                + "{\"name\":\"Blocker\",\"players\":[{\"name\":\"Hero\",\"holeCards\":[\"AS\",\"KS\"]},"
+                + "{\"name\":\"Villain\",\"holeCards\":[\"QS\",\"QC\"]}],\"communityCards\":[\"2S\",\"7D\",\"9H\"]}]}";
+
+        mockMvc.perform(post("/api/poker/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSimulations").value(2000))
+                .andExpect(jsonPath("$.scenarios.length()").value(2))
+                .andExpect(jsonPath("$.scenarios[0].player").value("Hero"))
+                .andExpect(jsonPath("$.scenarios[1].standardError").isNumber())
+                .andExpect(jsonPath("$.differences[0].scenario").value("Blocker"))
+                .andExpect(jsonPath("$.differences[0].baseline").value("Call"))
+                .andExpect(jsonPath("$.differences[0].standardError").isNumber());
+    }
+
+    @Test
+    void testCompare_InvalidRequest_SingleScenario() throws Exception {
+        String body = "{\"numberOfSimulations\":100,\"scenarios\":[{\"players\":["
+                + "{\"name\":\"Hero\",\"holeCards\":[\"AS\",\"KS\"]},{\"name\":\"Villain\",\"random\":true}]}]}";
+
+        mockMvc.perform(post("/api/poker/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At least 2 scenarios are required for a comparison"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ShowdownController
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ShowdownControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testShowdownBatch_ValidRequest() throws Exception {
+        String body = "{\"hands\":["
+                + "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},{\"name\":\"Bob\",\"holeCards\":[\"2H\",\"3H\"]}],"
+                + "\"communityCards\":[\"QS\",\"JS\",\"10S\",\"9H\",\"8H\"]},"
+                + "{\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"2C\",\"3C\"]},{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"3D\"]}],"
+                + "\"communityCards\":[\"AS\",\"KS\",\"QS\",\"JS\",\"10S\"]}]}";
+
+        mockMvc.perform(post("/api/poker/showdown/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHands").value(2))
+                .andExpect(jsonPath("$.results[0].winners[0]").value("Alice"))
+                .andExpect(jsonPath("$.results[0].players[0].handRank").value("Royal Flush"))
+                .andExpect(jsonPath("$.results[1].winners.length()").value(2));
+    }
+
+    @Test
+    void testShowdownBatch_InvalidRequest_NoHands() throws Exception {
+        mockMvc.perform(post("/api/poker/showdown/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"hands\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testShowdownBatch_InvalidRequest_NullHand() throws Exception {
+        mockMvc.perform(post("/api/poker/showdown/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"hands\":[null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Hand 1: Hand cannot be null"));
+    }
+}
@@ -0,0 +1,60 @@
+package org.pokerapp.pokersimulationcopilotagent.controller;
+
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationCachePolicy
+ */
+class SimulationCachePolicyTest {
+
+    private final SimulationCachePolicy policy = new SimulationCachePolicy(SimulationCachePolicy.DEFAULT_MAX_AGE_SECONDS);
+
+    @Test
+    void testEtagIgnoresCardOrder() {
+        String etag = policy.etag(spec("AS", "KS", List.of("2C", "7D", "9H"), 7L));
+
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""), etag);
+        assertEquals(etag, policy.etag(spec("KS", "AS", List.of("9H", "2C", "7D"), 7L)));
+        assertNotEquals(etag, policy.etag(spec("AS", "KS", List.of("2C", "7D", "9H"), 8L)));
+        assertNotEquals(etag, policy.etag(spec("AS", "QS", List.of("2C", "7D", "9H"), 7L)));
+    }
+
+    @Test
+    void testOnlyDeterministicRequestsAreCacheable() {
+        SimulationSpec sampled = spec("AS", "KS", List.of("2C", "7D", "9H"), null);
+        SimulationSpec showdown = spec("AS", "KS", List.of("2C", "7D", "9H", "JS", "3D"), null);
+
+        assertNull(policy.etag(sampled));
+        assertEquals("no-store", policy.cacheControl(sampled).getHeaderValue());
+        assertNotNull(policy.etag(showdown));
+        assertEquals("max-age=86400, public", policy.cacheControl(showdown).getHeaderValue());
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        String etag = "\"abc\"";
+
+        assertTrue(SimulationCachePolicy.matches("\"abc\"", etag));
+        assertTrue(SimulationCachePolicy.matches("\"x\", W/\"abc\"", etag));
+        assertTrue(SimulationCachePolicy.matches("*", etag));
+        assertFalse(SimulationCachePolicy.matches("\"abd\"", etag));
+        assertFalse(SimulationCachePolicy.matches(null, etag));
+        assertFalse(SimulationCachePolicy.matches("*", null));
+    }
+
+    private static SimulationSpec spec(String first, String second, List<String> board, Long seed) {
+        return new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList(first, second)),
+                        new PlayerRequest("Bob", Arrays.asList("QD", "QC"))),
+                board, 1000, false, seed).toSpec();
+    }
+}
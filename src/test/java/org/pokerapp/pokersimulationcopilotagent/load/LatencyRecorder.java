@@ -0,0 +1,56 @@
+package org.pokerapp.pokersimulationcopilotagent.load;
+
+import java.util.Arrays;
+
+/**
+ * Append-only recorder for request latencies in nanoseconds.
+ * Each load client owns one recorder, so no synchronization is needed while recording.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Merge several recorders into one sorted array of latencies
+     */
+    static long[] mergeSorted(Iterable<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted latency array, in milliseconds
+     */
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        int index = Math.min(Math.max(rank - 1, 0), sorted.length - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+}
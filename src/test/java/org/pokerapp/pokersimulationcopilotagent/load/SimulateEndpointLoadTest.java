@@ -0,0 +1,217 @@
+package org.pokerapp.pokersimulationcopilotagent.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end HTTP load harness for POST /api/poker/simulate.
+ * Starts the full application on a random port and drives it with concurrent clients
+ * using a weighted mix of realistic requests. Excluded from the default build, run with:
+ * <pre>
+ * ./mvnw test -Pload -Dload.clients=16 -Dload.durationSeconds=30 -Dload.maxP99Millis=200
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SimulateEndpointLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 8);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 20);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+    private static final double MAX_P50_MILLIS = doubleProperty("load.maxP50Millis", 250.0);
+    private static final double MAX_P99_MILLIS = doubleProperty("load.maxP99Millis", 1000.0);
+    private static final double MAX_P999_MILLIS = doubleProperty("load.maxP999Millis", 2000.0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void simulateEndpointUnderConcurrentLoad() throws Exception {
+        List<Scenario> scenarios = requestMix();
+        URI uri = URI.create("http://localhost:" + port + "/api/poker/simulate");
+
+        // Warm up JIT and connection pools, results are discarded
+        runPhase(uri, scenarios, WARMUP_SECONDS, SEED - 1);
+        scenarios.forEach(scenario -> scenario.sent.set(0));
+
+        PhaseResult result = runPhase(uri, scenarios, DURATION_SECONDS, SEED);
+        long[] latencies = LatencyRecorder.mergeSorted(result.recorders);
+
+        double throughput = latencies.length / (result.elapsedNanos / 1_000_000_000.0);
+        double p50 = LatencyRecorder.percentileMillis(latencies, 50.0);
+        double p99 = LatencyRecorder.percentileMillis(latencies, 99.0);
+        double p999 = LatencyRecorder.percentileMillis(latencies, 99.9);
+        double max = latencies.length > 0 ? latencies[latencies.length - 1] / 1_000_000.0 : 0.0;
+
+        System.out.printf("%n=== Load report: POST /api/poker/simulate ===%n");
+        System.out.printf("clients=%d duration=%ds seed=%d%n", CLIENTS, DURATION_SECONDS, SEED);
+        System.out.printf("requests=%d unexpectedResponses=%d%n", latencies.length, result.unexpected.get());
+        for (Scenario scenario : scenarios) {
+            System.out.printf("  %-22s weight=%d sent=%d%n",
+                    scenario.name, scenario.weight, scenario.sent.get());
+        }
+        System.out.printf("throughput=%.1f req/s%n", throughput);
+        System.out.printf("latency ms: p50=%.2f p99=%.2f p999=%.2f max=%.2f%n", p50, p99, p999, max);
+
+        assertTrue(latencies.length > 0, "No requests completed during the measurement phase");
+        assertEquals(0, result.unexpected.get(), "Responses with unexpected status codes");
+        assertTrue(p50 <= MAX_P50_MILLIS, String.format("p50 %.2f ms exceeds %.2f ms", p50, MAX_P50_MILLIS));
+        assertTrue(p99 <= MAX_P99_MILLIS, String.format("p99 %.2f ms exceeds %.2f ms", p99, MAX_P99_MILLIS));
+        assertTrue(p999 <= MAX_P999_MILLIS, String.format("p999 %.2f ms exceeds %.2f ms", p999, MAX_P999_MILLIS));
+    }
+
+    private PhaseResult runPhase(URI uri, List<Scenario> scenarios, int seconds, long seed) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        AtomicLong unexpected = new AtomicLong();
+        int totalWeight = scenarios.stream().mapToInt(s -> s.weight).sum();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int c = 0; c < CLIENTS; c++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            Random random = new Random(seed * 31 + c);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            futures.add(executor.submit(() -> {
+                start.await();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = pick(scenarios, random.nextInt(totalWeight));
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(scenario.body))
+                            .build();
+
+                    long begin = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    recorder.record(System.nanoTime() - begin);
+
+                    scenario.sent.incrementAndGet();
+                    if (response.statusCode() != scenario.expectedStatus) {
+                        unexpected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        return new PhaseResult(recorders, unexpected, elapsed);
+    }
+
+    private static Scenario pick(List<Scenario> scenarios, int roll) {
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    /**
+     * Weighted request mix modelled on production traffic: mostly small heads-up and
+     * short-handed spots, some multiway river spots and a few invalid requests
+     */
+    private List<Scenario> requestMix() throws Exception {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(scenario("preflop heads-up", 35, 200,
+                request(List.of(List.of("AS", "KS"), List.of("QH", "QD")), List.of(), 2000)));
+        scenarios.add(scenario("flop 3-way", 25, 200,
+                request(List.of(List.of("AS", "AH"), List.of("KD", "QD"), List.of("9C", "8C")),
+                        List.of("JD", "10C", "2H"), 1000)));
+        scenarios.add(scenario("turn heads-up", 15, 200,
+                request(List.of(List.of("AH", "5H"), List.of("KC", "KS")),
+                        List.of("2H", "7H", "KD", "3C"), 1000)));
+        scenarios.add(scenario("preflop 6-way", 10, 200,
+                request(List.of(List.of("AS", "AH"), List.of("KS", "KH"), List.of("QS", "QH"),
+                        List.of("JS", "JH"), List.of("10S", "10H"), List.of("9S", "9H")), List.of(), 500)));
+        scenarios.add(scenario("river 9-way", 10, 200,
+                request(List.of(List.of("AS", "KS"), List.of("AH", "KH"), List.of("AD", "KD"),
+                        List.of("AC", "KC"), List.of("QS", "JS"), List.of("QH", "JH"),
+                        List.of("QD", "JD"), List.of("QC", "JC"), List.of("9S", "9H")),
+                        List.of("2C", "3D", "7H", "8S", "10C"), 100)));
+        scenarios.add(scenario("invalid duplicate card", 5, 400,
+                request(List.of(List.of("AS", "AH"), List.of("AS", "KC")), List.of(), 1000)));
+        return scenarios;
+    }
+
+    private String request(List<List<String>> holeCards, List<String> board, int simulations) throws Exception {
+        List<PlayerRequest> players = new ArrayList<>();
+        for (int i = 0; i < holeCards.size(); i++) {
+            players.add(new PlayerRequest("Player " + (i + 1), holeCards.get(i)));
+        }
+        return objectMapper.writeValueAsString(new SimulationRequest(players, board, simulations));
+    }
+
+    private static Scenario scenario(String name, int weight, int expectedStatus, String body) {
+        return new Scenario(name, weight, expectedStatus, body);
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static class Scenario {
+        private final String name;
+        private final int weight;
+        private final int expectedStatus;
+        private final String body;
+        private final AtomicLong sent = new AtomicLong();
+
+        Scenario(String name, int weight, int expectedStatus, String body) {
+            this.name = name;
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+            this.body = body;
+        }
+    }
+
+    private static class PhaseResult {
+        private final List<LatencyRecorder> recorders;
+        private final AtomicLong unexpected;
+        private final long elapsedNanos;
+
+        PhaseResult(List<LatencyRecorder> recorders, AtomicLong unexpected, long elapsedNanos) {
+            this.recorders = recorders;
+            this.unexpected = unexpected;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandClass
+ */
+class HandClassTest {
+
+    @Test
+    void testGridLayout() {
+        assertEquals("AA", HandClass.name(HandClass.index(0, 0)));
+        assertEquals("AKs", HandClass.name(HandClass.index(0, 1)));
+        assertEquals("AKo", HandClass.name(HandClass.index(1, 0)));
+        assertEquals("32o", HandClass.name(HandClass.index(12, 11)));
+        assertEquals("22", HandClass.name(HandClass.COUNT - 1));
+    }
+
+    @Test
+    void testCombosCoverEveryHandOnce() {
+        int total = 0;
+        Set<Long> combos = new HashSet<>();
+        for (int handClass = 0; handClass < HandClass.COUNT; handClass++) {
+            for (long combo : HandClass.combos(handClass)) {
+                assertEquals(2, Long.bitCount(combo));
+                assertEquals(handClass, HandClass.of(combo));
+                combos.add(combo);
+                total++;
+            }
+        }
+        assertEquals(HandClass.COMBO_COUNT, total);
+        assertEquals(HandClass.COMBO_COUNT, combos.size());
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(HandClass.index(0, 1), HandClass.parse("AKs"));
+        assertEquals(HandClass.index(4, 1), HandClass.parse("kto"));
+        assertEquals(HandClass.index(4, 1), HandClass.parse("K10o"));
+        assertEquals(HandClass.index(12, 12), HandClass.parse("22"));
+        assertEquals(HandClass.of(Cards.mask(Cards.parse("QH"), Cards.parse("JH"))), HandClass.parse("JQs"));
+        assertThrows(IllegalArgumentException.class, () -> HandClass.parse("AK"));
+        assertThrows(IllegalArgumentException.class, () -> HandClass.parse("AAs"));
+        assertThrows(IllegalArgumentException.class, () -> HandClass.parse("XYo"));
+    }
+}
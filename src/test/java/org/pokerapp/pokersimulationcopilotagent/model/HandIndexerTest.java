@@ -0,0 +1,104 @@
+package org.pokerapp.pokersimulationcopilotagent.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandIndexer
+ */
+class HandIndexerTest {
+
+    @Test
+    void testSizes() {
+        assertEquals(169, HandIndexer.PREFLOP.size());
+        assertEquals(1_286_792, HandIndexer.FLOP.size());
+        assertEquals(13_960_050, HandIndexer.TURN.size());
+        assertEquals(123_156_254, HandIndexer.RIVER.size());
+        assertEquals(55_190_538, new HandIndexer(2, 3, 1).size());
+        assertEquals(2_428_287_420L, new HandIndexer(2, 3, 1, 1).size());
+    }
+
+    @Test
+    void testPreflopMatchesHandClasses() {
+        for (int index = 0; index < HandClass.COUNT; index++) {
+            long hole = HandIndexer.PREFLOP.unindex(index)[0];
+            for (long combo : HandClass.combos(HandClass.of(hole))) {
+                assertEquals(index, HandIndexer.PREFLOP.index(combo, 0L));
+            }
+        }
+    }
+
+    @Test
+    void testEveryFlopIndexRoundTrips() {
+        long[] rounds = new long[2];
+        for (long index = 0; index < HandIndexer.FLOP.size(); index++) {
+            HandIndexer.FLOP.unindex(index, rounds);
+            assertEquals(2, Long.bitCount(rounds[0]));
+            assertEquals(3, Long.bitCount(rounds[1]));
+            assertEquals(0, rounds[0] & rounds[1]);
+            assertEquals(index, HandIndexer.FLOP.index(rounds));
+        }
+    }
+
+    @Test
+    void testIsomorphicHandsShareTheIndex() {
+        long hole = Cards.mask(Cards.parse("AS"), Cards.parse("KS"));
+        long board = Cards.mask(Cards.parse("QS"), Cards.parse("7D"), Cards.parse("2C"));
+        long renamedHole = Cards.mask(Cards.parse("AH"), Cards.parse("KH"));
+        long renamedBoard = Cards.mask(Cards.parse("QH"), Cards.parse("7C"), Cards.parse("2D"));
+
+        long index = HandIndexer.FLOP.index(hole, board);
+
+        assertEquals(index, HandIndexer.FLOP.index(renamedHole, renamedBoard));
+        // Hole and board cards are kept apart: swapping them is a different hand
+        assertNotEquals(index, HandIndexer.FLOP.index(Cards.mask(Cards.parse("QS"), Cards.parse("7D")),
+                Cards.mask(Cards.parse("AS"), Cards.parse("KS"), Cards.parse("2C"))));
+    }
+
+    @Test
+    void testRandomHandsRoundTripOnEveryStreet() {
+        SplittableRandom random = new SplittableRandom(11);
+        HandIndexer[] indexers = {HandIndexer.TURN, HandIndexer.RIVER, new HandIndexer(2, 3, 1, 1)};
+        for (HandIndexer indexer : indexers) {
+            for (int n = 0; n < 20_000; n++) {
+                long[] rounds = new long[indexer.rounds()];
+                long used = 0L;
+                for (int r = 0; r < rounds.length; r++) {
+                    while (Long.bitCount(rounds[r]) < indexer.cardsInRound(r)) {
+                        long card = 1L << random.nextInt(Cards.DECK_SIZE);
+                        if ((used & card) == 0) {
+                            rounds[r] |= card;
+                            used |= card;
+                        }
+                    }
+                }
+                long index = indexer.index(rounds);
+                assertTrue(index >= 0 && index < indexer.size());
+
+                long[] representative = indexer.unindex(index);
+                assertEquals(index, indexer.index(representative));
+                // Renaming the suits of a hand keeps its index
+                long[] renamed = new long[rounds.length];
+                for (int r = 0; r < rounds.length; r++) {
+                    renamed[r] = (rounds[r] << Cards.RANK_COUNT | rounds[r] >>> (3 * Cards.RANK_COUNT))
+                            & ((1L << Cards.DECK_SIZE) - 1);
+                }
+                assertEquals(index, indexer.index(renamed));
+            }
+        }
+    }
+
+    @Test
+    void testValidation() {
+        long hole = Cards.mask(Cards.parse("AS"), Cards.parse("KS"));
+        assertThrows(IllegalArgumentException.class, () -> HandIndexer.FLOP.index(hole, Cards.mask(Cards.parse("QS"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> HandIndexer.FLOP.index(hole, Cards.mask(Cards.parse("AS"), Cards.parse("7D"), Cards.parse("2C"))));
+        assertThrows(IllegalArgumentException.class, () -> HandIndexer.FLOP.unindex(HandIndexer.FLOP.size()));
+        assertThrows(IllegalArgumentException.class, () -> HandIndexer.forBoard(2));
+        assertThrows(IllegalArgumentException.class, () -> new HandIndexer(2, 3, 1, 1, 1));
+    }
+}
@@ -0,0 +1,65 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EquityService
+ */
+class EquityServiceTest {
+
+    private EquityService equityService;
+
+    @BeforeEach
+    void setUp() {
+        equityService = new EquityService(new HandEvaluatorService());
+    }
+
+    @Test
+    void testExactEquityOnTheTurn() {
+        // Bob needs one of the two remaining kings out of 44 rivers
+        long[] holes = {mask("AS", "AH"), mask("KS", "KH")};
+        double[] equity = equityService.exactEquity(holes, mask("QD", "7C", "4S", "2H"));
+
+        assertEquals(42.0 / 44, equity[0], 1e-12);
+        assertEquals(2.0 / 44, equity[1], 1e-12);
+    }
+
+    @Test
+    void testSplitPotSharesEvenly() {
+        long[] holes = {mask("2S", "3H"), mask("2D", "3C")};
+        double[] equity = equityService.exactEquity(holes, mask("AS", "KS", "QD", "JC", "10H"));
+
+        assertEquals(0.5, equity[0]);
+        assertEquals(0.5, equity[1]);
+    }
+
+    @Test
+    void testSampledEquityApproximatesExact() {
+        long[] holes = {mask("AS", "AH"), mask("KS", "KH")};
+        double[] sampled = equityService.equity(holes, 0L, 20_000, new SplittableRandom(42));
+
+        assertEquals(0.82, sampled[0], 0.02);
+        assertEquals(1.0, sampled[0] + sampled[1], 1e-9);
+    }
+
+    @Test
+    void testRejectsSharedCards() {
+        long[] holes = {mask("AS", "AH"), mask("AS", "KH")};
+
+        assertThrows(IllegalArgumentException.class, () -> equityService.exactEquity(holes, mask("2C", "3C", "4D")));
+    }
+
+    private static long mask(String... cards) {
+        long mask = 0L;
+        for (String card : cards) {
+            mask |= 1L << Cards.parse(card);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,142 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pokerapp.pokersimulationcopilotagent.model.BucketTable;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandIndexer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandBucketingService
+ */
+class HandBucketingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HandBucketingService bucketingService;
+
+    @BeforeEach
+    void setUp() {
+        bucketingService = new HandBucketingService(new HandEvaluatorService());
+    }
+
+    @Test
+    void testHistogramOfTheNutsOnTheTurn() {
+        int[] histogram = bucketingService.histogram(cards("AS", "KS"), cards("QS", "JS", "10S", "2H"), 10, 0, 0);
+
+        int[] expected = new int[10];
+        expected[9] = 46;
+        assertArrayEquals(expected, histogram);
+    }
+
+    @Test
+    void testSampledHistogramIsDeterministic() {
+        long hole = cards("9H", "8H");
+        long board = cards("7H", "6C", "2S");
+
+        int[] all = bucketingService.histogram(hole, board, 20, 0, 0);
+        assertEquals(1081, Arrays.stream(all).sum());
+
+        int[] sampled = bucketingService.histogram(hole, board, 20, 50, 7);
+        assertEquals(50, Arrays.stream(sampled).sum());
+        assertArrayEquals(sampled, bucketingService.histogram(hole, board, 20, 50, 7));
+    }
+
+    @Test
+    void testEarthMoversDistance() {
+        int[] low = new int[10];
+        low[0] = 4;
+        int[] high = new int[10];
+        high[9] = 2;
+        int[] split = new int[10];
+        split[0] = 1;
+        split[9] = 1;
+
+        double[] lowCdf = HandBucketingService.cdf(low);
+        assertEquals(9.0, HandBucketingService.distance(lowCdf, HandBucketingService.cdf(high)), 1e-9);
+        assertEquals(4.5, HandBucketingService.distance(lowCdf, HandBucketingService.cdf(split)), 1e-9);
+        assertEquals(0.0, HandBucketingService.distance(lowCdf, lowCdf), 1e-9);
+    }
+
+    @Test
+    void testRunWritesBucketTableAndResumes() throws Exception {
+        HandBucketingService.Job job = new HandBucketingService.Job(HandBucketingService.Street.FLOP, 10, 4, 10, 6, 42L, 300);
+        Path workDir = tempDir.resolve("work");
+        Path output = tempDir.resolve("flop.buckets");
+
+        HandBucketingService.BucketingSummary summary = bucketingService.run(job, workDir, output, (phase, done, total) -> {
+        });
+        assertEquals(300, summary.getHands());
+        assertEquals(4, summary.getBuckets());
+        assertEquals(0, summary.getResumedHands());
+        assertTrue(summary.getIterations() >= 1 && summary.getIterations() <= 10);
+
+        BucketTable table = BucketTable.open(output);
+        assertEquals(3, table.getBoardCards());
+        assertEquals(4, table.getBuckets());
+        assertEquals(300, table.getHands());
+        for (int i = 0; i < table.getHands(); i++) {
+            assertTrue(table.bucketAt(i) < 4);
+        }
+
+        // Any suit renaming of a tabled hand finds its bucket
+        long[] hand = HandIndexer.FLOP.unindex(123);
+        assertEquals(table.bucketAt(123), table.bucket(hand[0], hand[1]));
+        assertEquals(table.bucketAt(123), table.bucket(rotateSuits(hand[0]), rotateSuits(hand[1])));
+
+        // A rerun of the finished job reuses every checkpoint and writes the same table
+        byte[] written = Files.readAllBytes(output);
+        HandBucketingService.BucketingSummary resumed = bucketingService.run(job, workDir, output, (phase, done, total) -> {
+        });
+        assertEquals(300, resumed.getResumedHands());
+        assertArrayEquals(written, Files.readAllBytes(output));
+
+        HandBucketingService.Job other = new HandBucketingService.Job(HandBucketingService.Street.FLOP, 10, 5, 10, 6, 42L, 300);
+        assertThrows(IllegalStateException.class, () -> bucketingService.run(other, workDir, output, (phase, done, total) -> {
+        }));
+
+        // The job file is read in the ISO-8859-1 encoding it is stored in
+        Path jobFile = workDir.resolve("job.properties");
+        List<String> lines = Files.readAllLines(jobFile, StandardCharsets.ISO_8859_1);
+        lines.add(0, "#Flop-Buckets f\u00fcr Spieler A");
+        Files.write(jobFile, lines, StandardCharsets.ISO_8859_1);
+        assertEquals(300, bucketingService.run(job, workDir, output, (phase, done, total) -> {
+        }).getResumedHands());
+
+        // Work of an older random stream derivation is not reused
+        lines.removeIf(line -> line.startsWith("rngVersion="));
+        Files.write(jobFile, lines, StandardCharsets.ISO_8859_1);
+        assertThrows(IllegalStateException.class, () -> bucketingService.run(job, workDir, output, (phase, done, total) -> {
+        }));
+    }
+
+    @Test
+    void testValidation() {
+        HandBucketingService.Job job = new HandBucketingService.Job(HandBucketingService.Street.TURN, 1, 200, 25, 0, 0L, 0);
+        assertThrows(IllegalArgumentException.class, () -> bucketingService.run(job, tempDir, tempDir.resolve("out"),
+                (phase, done, total) -> {
+                }));
+    }
+
+    private static long rotateSuits(long cards) {
+        return (cards << Cards.RANK_COUNT | cards >>> (3 * Cards.RANK_COUNT)) & ((1L << Cards.DECK_SIZE) - 1);
+    }
+
+    private static long cards(String... cards) {
+        long mask = 0L;
+        for (String card : cards) {
+            mask |= 1L << Cards.parse(card);
+        }
+        return mask;
+    }
+}
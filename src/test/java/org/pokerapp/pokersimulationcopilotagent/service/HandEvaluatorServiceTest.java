@@ -4,8 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pokerapp.pokersimulationcopilotagent.model.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -244,5 +246,106 @@ class HandEvaluatorServiceTest {
 
         assertEquals(0, hand1.compareTo(hand2));
     }
-}
 
+    @Test
+    void testBitmaskEvaluation_MatchesReferenceOnRandomHands() {
+        Random random = new Random(7);
+        for (int n = 0; n < 20000; n++) {
+            int cardCount = 5 + n % 3;
+            long mask = 0L;
+            List<Card> cards = new ArrayList<>();
+            while (cards.size() < cardCount) {
+                int card = random.nextInt(Cards.DECK_SIZE);
+                if ((mask & (1L << card)) == 0) {
+                    mask |= 1L << card;
+                    cards.add(Cards.toCard(card));
+                }
+            }
+
+            HandEvaluation reference = handEvaluatorService.evaluateHand(cards.subList(0, 2), cards.subList(2, cardCount));
+            HandEvaluation packed = HandStrength.toEvaluation(handEvaluatorService.evaluate(mask));
+            assertEquals(reference, packed, "Mismatch for " + cards);
+        }
+    }
+
+    @Test
+    void testBitmaskEvaluation_OrdersLikeReference() {
+        long wheel = Cards.mask(Cards.parse("AS"), Cards.parse("2H"), Cards.parse("3D"), Cards.parse("4C"), Cards.parse("5S"));
+        long sixHigh = Cards.mask(Cards.parse("6S"), Cards.parse("2H"), Cards.parse("3D"), Cards.parse("4C"), Cards.parse("5S"));
+        long royal = Cards.mask(Cards.parse("AH"), Cards.parse("KH"), Cards.parse("QH"), Cards.parse("JH"), Cards.parse("10H"));
+
+        assertEquals(HandRank.STRAIGHT, HandStrength.handRank(handEvaluatorService.evaluate(wheel)));
+        assertEquals(HandRank.ROYAL_FLUSH, HandStrength.handRank(handEvaluatorService.evaluate(royal)));
+        assertTrue(handEvaluatorService.evaluate(sixHigh) > handEvaluatorService.evaluate(wheel));
+    }
+
+    @Test
+    void testShowdown_MatchesPerPlayerEvaluation() {
+        Random random = new Random(17);
+        for (int n = 0; n < 20000; n++) {
+            int boardCount = 3 + n % 3;
+            int players = 2 + n % 8;
+            long used = 0L;
+            long board = 0L;
+            for (int i = 0; i < boardCount; i++) {
+                int card = unusedCard(random, used);
+                used |= 1L << card;
+                board |= 1L << card;
+            }
+            long[] holeMasks = new long[players];
+            for (int p = 0; p < players; p++) {
+                for (int i = 0; i < 2; i++) {
+                    int card = unusedCard(random, used);
+                    used |= 1L << card;
+                    holeMasks[p] |= 1L << card;
+                }
+            }
+
+            int[] strengths = new int[players];
+            long winners = handEvaluatorService.showdown(board, holeMasks, strengths);
+
+            int best = -1;
+            long expectedWinners = 0L;
+            for (int p = 0; p < players; p++) {
+                int expected = handEvaluatorService.evaluate(board | holeMasks[p]);
+                assertEquals(expected, strengths[p]);
+                if (expected > best) {
+                    best = expected;
+                    expectedWinners = 1L << p;
+                } else if (expected == best) {
+                    expectedWinners |= 1L << p;
+                }
+            }
+            assertEquals(expectedWinners, winners);
+            assertEquals(winners, handEvaluatorService.showdown(board, holeMasks, null));
+        }
+    }
+
+    @Test
+    void testShowdown_SplitPotOnBoardStraight() {
+        long board = mask("10H", "JD", "QC", "KS", "AH");
+        long[] holeMasks = {mask("2C", "3D"), mask("4S", "5H"), mask("9C", "9D")};
+
+        int[] strengths = new int[3];
+        long winners = handEvaluatorService.showdown(board, holeMasks, strengths);
+
+        assertEquals(0b111L, winners);
+        assertEquals(HandRank.STRAIGHT, HandStrength.handRank(strengths[0]));
+    }
+
+    private static int unusedCard(Random random, long used) {
+        int card;
+        do {
+            card = random.nextInt(Cards.DECK_SIZE);
+        } while ((used & (1L << card)) != 0);
+        return card;
+    }
+
+    private static long mask(String... cards) {
+        long mask = 0L;
+        for (String card : cards) {
+            mask |= 1L << Cards.parse(card);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,90 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.HandStrength;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandEvaluatorVerifier
+ */
+class HandEvaluatorVerifierTest {
+
+    private HandEvaluatorService handEvaluatorService;
+    private HandEvaluatorVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        handEvaluatorService = new HandEvaluatorService();
+        verifier = new HandEvaluatorVerifier();
+    }
+
+    @Test
+    void testSelfCheck_BitmaskEngineMatchesReference() {
+        assertDoesNotThrow(() -> verifier.selfCheck(handEvaluatorService,
+                new ReferenceHandEvaluator(handEvaluatorService)));
+    }
+
+    @Test
+    void testSelfCheck_RejectsBrokenEngine() {
+        HandEvaluator noPairs = new DemotingEngine(handEvaluatorService, "no-pair", rank -> rank == HandRank.ONE_PAIR);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> verifier.selfCheck(noPairs, new ReferenceHandEvaluator(handEvaluatorService)));
+
+        assertTrue(e.getMessage().contains("'no-pair'"));
+    }
+
+    @Test
+    void testVerifyExhaustive_CountsEveryFiveCardHand() {
+        HandEvaluator noStraightFlushes = new DemotingEngine(handEvaluatorService, "no-straight-flush",
+                rank -> rank.getValue() >= HandRank.STRAIGHT_FLUSH.getValue());
+
+        HandEvaluatorVerifier.VerificationReport report =
+                verifier.verifyExhaustive(noStraightFlushes, handEvaluatorService, 5);
+
+        assertEquals(2_598_960, report.getHands());
+        // 36 straight flushes and 4 royal flushes
+        assertEquals(40, report.getMismatches());
+        assertFalse(report.isPassed());
+        // Lowest card mask of all: six-high straight flush in the first suit
+        assertEquals(Cards.mask(0, 1, 2, 3, 4), report.getFirstMismatch());
+    }
+
+    @Test
+    void testVerifyExhaustive_RejectsInvalidCardCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> verifier.verifyExhaustive(handEvaluatorService, handEvaluatorService, 8));
+    }
+
+    /**
+     * Wrong engine that ranks every hand of the given categories as a plain high card
+     */
+    private static class DemotingEngine implements HandEvaluator {
+        private final HandEvaluator delegate;
+        private final String name;
+        private final Predicate<HandRank> demoted;
+
+        DemotingEngine(HandEvaluator delegate, String name, Predicate<HandRank> demoted) {
+            this.delegate = delegate;
+            this.name = name;
+            this.demoted = demoted;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int evaluate(long cards) {
+            int strength = delegate.evaluate(cards);
+            return demoted.test(HandStrength.handRank(strength)) ? HandStrength.of(HandRank.HIGH_CARD, 0) : strength;
+        }
+    }
+}
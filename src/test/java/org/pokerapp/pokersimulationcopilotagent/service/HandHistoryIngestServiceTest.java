@@ -0,0 +1,159 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandHistoryIngestService
+ */
+class HandHistoryIngestServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HandHistoryIngestService ingestService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        HandEvaluatorService handEvaluatorService = new HandEvaluatorService();
+        ingestService = new HandHistoryIngestService(handEvaluatorService, new EquityService(handEvaluatorService));
+    }
+
+    @Test
+    void testNdjsonShowdownAndEquity() throws Exception {
+        Path input = write("hands.ndjson",
+                "{\"id\":\"h1\",\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],"
+                        + "\"communityCards\":[\"AD\",\"KD\",\"7C\",\"4S\",\"2H\"]}",
+                "{\"id\":\"h2\",\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"KS\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"2D\",\"2C\"]}],"
+                        + "\"communityCards\":[\"QS\",\"JS\",\"10S\",\"3H\"]}");
+
+        List<JsonNode> results = ingest(input, HandHistoryIngestService.Format.NDJSON, 1 << 20);
+
+        assertEquals(2, results.size());
+        JsonNode showdown = results.get(0);
+        assertEquals("h1", showdown.get("id").asText());
+        assertTrue(showdown.get("showdown").asBoolean());
+        assertEquals("Three of a Kind", showdown.get("players").get(0).get("handRank").asText());
+        assertTrue(showdown.get("players").get(0).get("winner").asBoolean());
+        assertEquals(1.0, showdown.get("players").get(0).get("equity").asDouble());
+
+        // Alice already holds a royal flush on the turn
+        JsonNode turn = results.get(1);
+        assertFalse(turn.get("showdown").asBoolean());
+        assertEquals(1.0, turn.get("players").get(0).get("equity").asDouble());
+        assertEquals(0.0, turn.get("players").get(1).get("equity").asDouble());
+    }
+
+    @Test
+    void testNdjsonMalformedArraysAreReported() throws Exception {
+        Path input = write("malformed.ndjson",
+                "{\"id\":\"h1\",\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],\"communityCards\":[\"AD\",5]}",
+                "{\"id\":\"h2\",\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]},7],\"communityCards\":[\"AD\"]}",
+                "{\"id\":\"h3\",\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],\"communityCards\":\"AD KD 7C\"}");
+
+        List<JsonNode> results = ingest(input, HandHistoryIngestService.Format.NDJSON, 1 << 20);
+
+        assertEquals(3, results.size());
+        assertEquals("Malformed record: expected card string but found VALUE_NUMBER_INT",
+                results.get(0).get("error").asText());
+        assertEquals("Malformed record: expected player object but found VALUE_NUMBER_INT",
+                results.get(1).get("error").asText());
+        assertEquals("Malformed record: expected communityCards array but found VALUE_STRING",
+                results.get(2).get("error").asText());
+    }
+
+    @Test
+    void testNdjsonNonScalarIdAndNameAreReported() throws Exception {
+        Path input = write("nested.ndjson",
+                "{\"id\":{\"x\":1},\"players\":[{\"name\":\"Alice\",\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],\"communityCards\":[]}",
+                "{\"id\":\"h2\",\"players\":[{\"name\":[\"Alice\"],\"holeCards\":[\"AS\",\"AH\"]},"
+                        + "{\"name\":\"Bob\",\"holeCards\":[\"KS\",\"KH\"]}],\"communityCards\":[]}");
+
+        List<JsonNode> results = ingest(input, HandHistoryIngestService.Format.NDJSON, 1 << 20);
+
+        assertEquals(2, results.size());
+        assertEquals("Malformed record: expected id value but found START_OBJECT",
+                results.get(0).get("error").asText());
+        assertEquals("Malformed record: expected player name string but found START_ARRAY",
+                results.get(1).get("error").asText());
+    }
+
+    @Test
+    void testCsvWithHeaderAndInvalidRecord() throws Exception {
+        Path input = write("hands.csv",
+                "id,board,name1,hole1,name2,hole2",
+                "h1,AD KD 7C 4S 2H,Alice,AS AH,Bob,KS KH",
+                "h2,AD KD 7C 4S 2H,Alice,AS AH,Bob,AS KH",
+                "h3,,Alice,AS AH,Bob,KS KH,Carol,QS QH");
+
+        List<JsonNode> results = ingest(input, HandHistoryIngestService.Format.CSV, 1 << 20);
+
+        assertEquals(3, results.size());
+        assertEquals("Alice", results.get(0).get("players").get(0).get("name").asText());
+        assertTrue(results.get(0).get("players").get(0).get("winner").asBoolean());
+        assertEquals("Duplicate card found: AS", results.get(1).get("error").asText());
+
+        JsonNode preflop = results.get(2).get("players");
+        assertEquals(3, preflop.size());
+        double total = 0;
+        for (JsonNode player : preflop) {
+            total += player.get("equity").asDouble();
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertTrue(preflop.get(0).get("equity").asDouble() > preflop.get(2).get("equity").asDouble());
+    }
+
+    @Test
+    void testSmallChunksSplitAtRecordBoundaries() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lines.add("h" + i + ",AD KD 7C 4S 2H,Alice,AS AH,Bob,KS KH");
+        }
+        Path input = write("many.csv", lines.toArray(new String[0]));
+
+        // Chunks far smaller than a record force every boundary case
+        for (int chunkSize : new int[]{7, 64, 1000}) {
+            List<JsonNode> results = ingest(input, HandHistoryIngestService.Format.CSV, chunkSize);
+
+            assertEquals(200, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("h" + i, results.get(i).get("id").asText());
+            }
+        }
+    }
+
+    private List<JsonNode> ingest(Path input, HandHistoryIngestService.Format format, int chunkSize) throws Exception {
+        Path output = tempDir.resolve("results.ndjson");
+        HandHistoryIngestService.IngestSummary summary = ingestService.ingest(input, output, format, 2000, chunkSize);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : Files.readAllLines(output)) {
+            results.add(objectMapper.readTree(line));
+        }
+        assertEquals(results.size(), summary.getHands() + summary.getErrors());
+        return results;
+    }
+
+    private Path write(String name, String... lines) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, String.join("\n", lines) + "\n");
+        return file;
+    }
+}
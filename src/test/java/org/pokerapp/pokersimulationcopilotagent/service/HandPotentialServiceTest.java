@@ -0,0 +1,90 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.HandPotentialRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.HandPotentialResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandPotentialService
+ */
+class HandPotentialServiceTest {
+
+    private HandPotentialService handPotentialService;
+
+    @BeforeEach
+    void setUp() {
+        handPotentialService = new HandPotentialService(new HandEvaluatorService(),
+                HandPotentialService.DEFAULT_MAX_EXACT);
+    }
+
+    @Test
+    void testFlopIsEnumeratedExactly() {
+        // Reference values for AdQc on 3h 4c Jh (Billings et al.): HS 0.585, PPot 0.208, NPot 0.274
+        HandPotentialResponse response = handPotentialService.compute(
+                new HandPotentialRequest(List.of("AD", "QC"), List.of("3H", "4C", "JH"), 0));
+
+        assertTrue(response.isExact());
+        assertEquals(1081L * 990, response.getSamples());
+        assertEquals(0.585, response.getHandStrength(), 0.001);
+        assertEquals(0.208, response.getPositivePotential(), 0.001);
+        assertEquals(0.274, response.getNegativePotential(), 0.001);
+        assertEquals(response.getHandStrength() * (1 - response.getNegativePotential())
+                        + (1 - response.getHandStrength()) * response.getPositivePotential(),
+                response.getEffectiveHandStrength(), 1e-12);
+        assertEquals(1.0, response.getAheadNow() + response.getTiedNow() + response.getBehindNow(), 1e-12);
+    }
+
+    @Test
+    void testRiverHasNoPotential() {
+        // The nut straight flush beats every opponent hand
+        HandPotentialResponse response = handPotentialService.compute(
+                new HandPotentialRequest(List.of("AS", "KS"), List.of("QS", "JS", "10S", "2D", "3C"), 0));
+
+        assertEquals(1.0, response.getHandStrength());
+        assertEquals(0.0, response.getPositivePotential());
+        assertEquals(0.0, response.getNegativePotential());
+        assertEquals(1.0, response.getEffectiveHandStrength());
+        assertEquals(990, response.getSamples());
+    }
+
+    @Test
+    void testSamplingMatchesEnumeration() {
+        HandPotentialRequest exact = new HandPotentialRequest(List.of("9H", "8H"), List.of("7H", "6C", "2H", "KD"), 0);
+        HandPotentialRequest sampled =
+                new HandPotentialRequest(List.of("9H", "8H"), List.of("7H", "6C", "2H", "KD"), 200_000);
+
+        HandPotentialResponse expected = handPotentialService.compute(exact);
+        HandPotentialResponse actual = handPotentialService.compute(sampled);
+
+        assertFalse(actual.isExact());
+        assertEquals(200_000, actual.getSamples());
+        assertEquals(expected.getHandStrength(), actual.getHandStrength(), 0.01);
+        assertEquals(expected.getPositivePotential(), actual.getPositivePotential(), 0.01);
+        assertEquals(expected.getEffectiveHandStrength(), actual.getEffectiveHandStrength(), 0.01);
+    }
+
+    @Test
+    void testLargeEnumerationFallsBackToSampling() {
+        HandPotentialService limited = new HandPotentialService(new HandEvaluatorService(), 10_000);
+
+        HandPotentialResponse response = limited.compute(
+                new HandPotentialRequest(List.of("AD", "QC"), List.of("3H", "4C", "JH"), 0));
+
+        assertFalse(response.isExact());
+        assertEquals(10_000, response.getSamples());
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> handPotentialService.compute(
+                new HandPotentialRequest(List.of("AD", "QC"), List.of("3H", "4C"), 0)));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () ->
+                handPotentialService.compute(new HandPotentialRequest(List.of("AD", "QC"), List.of("3H", "4C", "AD"), 0)));
+        assertEquals("Duplicate card found: AD", duplicate.getMessage());
+    }
+}
@@ -0,0 +1,144 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pokerapp.pokersimulationcopilotagent.model.Cards;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongRunSimulationService
+ */
+class LongRunSimulationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LongRunSimulationService longRunSimulationService;
+
+    @BeforeEach
+    void setUp() {
+        longRunSimulationService = new LongRunSimulationService(
+                new PokerSimulationService(new HandEvaluatorService()));
+    }
+
+    @Test
+    void testCountersGoBeyondIntRange() throws Exception {
+        // A complete board resolves one showdown per chunk, so billions of samples are cheap
+        SimulationSpec spec = new SimulationSpec(List.of("Alice", "Bob"), cards("AS", "KS", "2H", "3H"),
+                cards("QS", "JS", "10S", "9H", "8H"), 1);
+        long samples = 3_000_000_000L;
+
+        LongRunSimulationService.LongRunSummary summary = longRunSimulationService.run(
+                new LongRunSimulationService.Job(spec, samples, 1, 1_000_000), tempDir.resolve("royal"), (done, total) -> { });
+
+        assertEquals(samples, summary.getWins()[0]);
+        assertEquals(0, summary.getWins()[1]);
+        assertEquals(samples, summary.handRankCount(0, HandRank.ROYAL_FLUSH));
+        assertEquals(100.0, summary.winPercentage(0), 0.0);
+    }
+
+    @Test
+    void testSameSeedGivesSameCounts() throws Exception {
+        LongRunSimulationService.LongRunSummary first = longRunSimulationService.run(
+                job(7), tempDir.resolve("first"), (done, total) -> { });
+        LongRunSimulationService.LongRunSummary second = longRunSimulationService.run(
+                job(7), tempDir.resolve("second"), (done, total) -> { });
+        LongRunSimulationService.LongRunSummary other = longRunSimulationService.run(
+                job(8), tempDir.resolve("other"), (done, total) -> { });
+
+        assertArrayEquals(first.getWins(), second.getWins());
+        assertEquals(first.getTies(), second.getTies());
+        assertArrayEquals(first.getHandRankCounts(), second.getHandRankCounts());
+        assertFalse(Arrays.equals(first.getWins(), other.getWins()));
+        assertEquals(150_000, first.getWins()[0] + first.getWins()[1] + first.getTies());
+        // AKs against QQ preflop
+        assertEquals(46.0, first.winPercentage(0), 1.0);
+    }
+
+    @Test
+    void testResumeAfterInterruption() throws Exception {
+        Path checkpoint = tempDir.resolve("resumed");
+        long chunkSize = 1000;
+
+        // Stop the job right after its first checkpoint
+        assertThrows(IllegalStateException.class, () -> longRunSimulationService.run(job(7), checkpoint, (done, total) -> {
+            if (done > 0) {
+                throw new IllegalStateException("Interrupted");
+            }
+        }));
+
+        LongRunSimulationService.LongRunSummary resumed = longRunSimulationService.run(job(7), checkpoint, (done, total) -> { });
+        LongRunSimulationService.LongRunSummary uninterrupted = longRunSimulationService.run(
+                job(7), tempDir.resolve("uninterrupted"), (done, total) -> { });
+
+        assertEquals(LongRunSimulationService.CHUNKS_PER_CHECKPOINT * chunkSize, resumed.getResumedSamples());
+        assertArrayEquals(uninterrupted.getWins(), resumed.getWins());
+        assertArrayEquals(uninterrupted.getHandRankCounts(), resumed.getHandRankCounts());
+
+        // A finished checkpoint just returns its counts
+        LongRunSimulationService.LongRunSummary finished = longRunSimulationService.run(job(7), checkpoint, (done, total) -> { });
+        assertEquals(150_000, finished.getResumedSamples());
+        assertArrayEquals(resumed.getWins(), finished.getWins());
+    }
+
+    @Test
+    void testCheckpointOfDifferentJobIsRejected() throws Exception {
+        Path checkpoint = tempDir.resolve("job");
+        longRunSimulationService.run(job(7), checkpoint, (done, total) -> { });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> longRunSimulationService.run(job(8), checkpoint, (done, total) -> { }));
+        assertEquals("Checkpoint " + checkpoint + " belongs to a different job", e.getMessage());
+    }
+
+    @Test
+    void testCheckpointOfOlderRandomStreamsIsRejected() throws Exception {
+        Path checkpoint = tempDir.resolve("job");
+        longRunSimulationService.run(job(7), checkpoint, (done, total) -> { });
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.ISO_8859_1);
+        lines.removeIf(line -> line.startsWith("rngVersion="));
+        Files.write(checkpoint, lines, StandardCharsets.ISO_8859_1);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> longRunSimulationService.run(job(7), checkpoint, (done, total) -> { }));
+        assertEquals("Checkpoint " + checkpoint + " belongs to a different job", e.getMessage());
+    }
+
+    @Test
+    void testValidation() {
+        SimulationSpec perStreet = new SimulationSpec(List.of("Alice", "Bob"), cards("AS", "KS", "QD", "QC"),
+                new int[0], 1, true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> longRunSimulationService.run(job(0, 0), tempDir.resolve("empty"), (done, total) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> longRunSimulationService.run(
+                new LongRunSimulationService.Job(perStreet, 100, 0, 100), tempDir.resolve("streets"), (done, total) -> { }));
+    }
+
+    private static LongRunSimulationService.Job job(long seed) {
+        return job(seed, 150_000);
+    }
+
+    private static LongRunSimulationService.Job job(long seed, long samples) {
+        SimulationSpec spec = new SimulationSpec(List.of("Alice", "Bob"), cards("AS", "KS", "QD", "QC"), new int[0], 1);
+        return new LongRunSimulationService.Job(spec, samples, seed, 1000);
+    }
+
+    private static int[] cards(String... cards) {
+        int[] indices = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            indices[i] = Cards.parse(cards[i]);
+        }
+        return indices;
+    }
+}
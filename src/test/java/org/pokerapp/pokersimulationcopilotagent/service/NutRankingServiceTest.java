@@ -0,0 +1,115 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingGroup;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.NutRankingResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.Card;
+import org.pokerapp.pokersimulationcopilotagent.model.HandEvaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NutRankingService
+ */
+class NutRankingServiceTest {
+
+    private HandEvaluatorService handEvaluatorService;
+    private NutRankingService nutRankingService;
+
+    @BeforeEach
+    void setUp() {
+        handEvaluatorService = new HandEvaluatorService();
+        nutRankingService = new NutRankingService(handEvaluatorService, 16);
+    }
+
+    @Test
+    void testRanksEveryComboWithTiesGrouped() {
+        NutRankingResponse response = nutRankingService.rank(
+                new NutRankingRequest(List.of("AS", "KS", "QS", "7D", "2C"), null));
+
+        assertEquals(1081, response.getCombos());
+        NutRankingGroup nuts = response.getGroups().get(0);
+        assertEquals(1, nuts.getRank());
+        assertEquals("Royal Flush", nuts.getHandRank());
+        assertEquals(List.of("JS 10S"), nuts.getCombos());
+        // The best flushes hold the jack of spades
+        assertEquals("Flush", response.getGroups().get(1).getHandRank());
+        assertEquals(List.of("JS 9S"), response.getGroups().get(1).getCombos());
+
+        // Every combo appears once and combosAhead counts the combos of all earlier groups
+        int total = 0;
+        for (NutRankingGroup group : response.getGroups()) {
+            assertEquals(total, group.getCombosAhead());
+            total += group.getCombos().size();
+        }
+        assertEquals(1081, total);
+    }
+
+    @Test
+    void testOrderMatchesReferenceEvaluator() {
+        List<String> board = List.of("9H", "9D", "4C", "JH", "2S");
+        NutRankingResponse response = nutRankingService.rank(new NutRankingRequest(board, null));
+
+        List<Card> boardCards = new ArrayList<>();
+        board.forEach(card -> boardCards.add(Card.fromString(card)));
+        HandEvaluation previous = null;
+        for (NutRankingGroup group : response.getGroups()) {
+            HandEvaluation first = evaluate(group.getCombos().get(0), boardCards);
+            for (String combo : group.getCombos()) {
+                assertEquals(0, first.compareTo(evaluate(combo, boardCards)), combo);
+            }
+            if (previous != null) {
+                assertTrue(previous.compareTo(first) > 0);
+            }
+            previous = first;
+        }
+    }
+
+    @Test
+    void testIsomorphicBoardsShareTheCachedRanking() {
+        NutRankingResponse spades = nutRankingService.rank(
+                new NutRankingRequest(List.of("AS", "KS", "QS", "7D", "2C"), null));
+        NutRankingResponse hearts = nutRankingService.rank(
+                new NutRankingRequest(List.of("AH", "KH", "QH", "7C", "2D"), null));
+
+        assertEquals(NutRankingService.permute(0b111L, NutRankingService.canonicalPermutation(0b111L)),
+                NutRankingService.permute(0b111L << 13, NutRankingService.canonicalPermutation(0b111L << 13)));
+        assertEquals(List.of("JH 10H"), hearts.getGroups().get(0).getCombos());
+        assertEquals(spades.getGroups().size(), hearts.getGroups().size());
+        for (int g = 0; g < spades.getGroups().size(); g++) {
+            assertEquals(spades.getGroups().get(g).getCombos().size(), hearts.getGroups().get(g).getCombos().size());
+        }
+    }
+
+    @Test
+    void testDeadCardsRemoveBlockedCombos() {
+        NutRankingResponse response = nutRankingService.rank(
+                new NutRankingRequest(List.of("AS", "KS", "QS", "7D", "2C"), List.of("JS", "3H")));
+
+        // 45 cards are left for opponents
+        assertEquals(990, response.getCombos());
+        assertEquals(List.of("10S 9S"), response.getGroups().get(0).getCombos());
+        assertTrue(response.getGroups().stream()
+                .flatMap(group -> group.getCombos().stream())
+                .noneMatch(combo -> combo.contains("JS") || combo.contains("3H")));
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> nutRankingService.rank(
+                new NutRankingRequest(List.of("AS", "KS", "QS", "7D"), null)));
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> nutRankingService.rank(
+                new NutRankingRequest(List.of("AS", "KS", "QS", "7D", "2C"), List.of("KS"))));
+        assertEquals("Duplicate card found: KS", duplicate.getMessage());
+    }
+
+    private HandEvaluation evaluate(String combo, List<Card> board) {
+        String[] cards = combo.split(" ");
+        return handEvaluatorService.evaluateHand(List.of(Card.fromString(cards[0]), Card.fromString(cards[1])), board);
+    }
+}
@@ -0,0 +1,96 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OutsService
+ */
+class OutsServiceTest {
+
+    private OutsService outsService;
+
+    @BeforeEach
+    void setUp() {
+        outsService = new OutsService(new EquityService(new HandEvaluatorService()));
+    }
+
+    @Test
+    void testTurnOuts() {
+        OutsRequest request = new OutsRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("QD", "7C", "4S", "2H"));
+
+        OutsResponse response = outsService.analyze(request);
+
+        assertEquals(44, response.getNextCards().size());
+        assertEquals(List.of("KD", "KC"), response.getPlayers().get(1).getOuts());
+        assertTrue(response.getPlayers().get(0).getOuts().isEmpty());
+        assertEquals(4200.0 / 44, response.getPlayers().get(0).getEquityPercentage(), 1e-9);
+
+        NextCardEquity king = response.getNextCards().stream()
+                .filter(next -> next.getCard().equals("KD"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of(0.0, 100.0), king.getEquityPercentages());
+    }
+
+    @Test
+    void testFlopBranchesAreExact() {
+        OutsRequest request = new OutsRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("9H", "8H"))),
+                Arrays.asList("7H", "6H", "2C"));
+
+        OutsResponse response = outsService.analyze(request);
+
+        assertEquals(45, response.getNextCards().size());
+        for (NextCardEquity next : response.getNextCards()) {
+            assertEquals(100.0, next.getEquityPercentages().get(0) + next.getEquityPercentages().get(1), 1e-9);
+        }
+
+        // The combo draw is a slight favourite, every blank turns it around for Alice
+        assertTrue(response.getPlayers().get(1).getEquityPercentage() > 50);
+        assertTrue(response.getPlayers().get(1).getOuts().isEmpty());
+        List<String> aliceOuts = response.getPlayers().get(0).getOuts();
+        assertTrue(aliceOuts.containsAll(List.of("AD", "KS", "2D")));
+        assertFalse(aliceOuts.contains("2H"));
+        assertFalse(aliceOuts.contains("10S"));
+        assertFalse(aliceOuts.contains("5D"));
+        assertEquals(100.0, response.getPlayers().get(0).getEquityPercentage()
+                + response.getPlayers().get(1).getEquityPercentage(), 1e-9);
+    }
+
+    @Test
+    void testRequiresFlopOrTurn() {
+        OutsRequest request = new OutsRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("QD", "7C", "4S", "2H", "3H"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> outsService.analyze(request));
+        assertEquals("Outs analysis requires 3 or 4 community cards", e.getMessage());
+    }
+
+    @Test
+    void testRejectsDuplicateCards() {
+        OutsRequest request = new OutsRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "QD"))),
+                Arrays.asList("QD", "7C", "4S"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> outsService.analyze(request));
+        assertEquals("Duplicate card found: QD", e.getMessage());
+    }
+}
@@ -3,9 +3,16 @@ package org.pokerapp.pokersimulationcopilotagent.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pokerapp.pokersimulationcopilotagent.dto.*;
+import org.pokerapp.pokersimulationcopilotagent.model.HandRank;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -281,5 +288,277 @@ class PokerSimulationServiceTest {
             assertNotNull(result.getBestHandRank(), "Best hand rank should be included with 5 community cards");
         }
     }
-}
 
+    @Test
+    void testPerStreetEquityPreflop() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("7D", "6D"))),
+                null, 20000, true);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request);
+
+        List<StreetEquity> streets = response.getStreetEquities();
+        assertEquals(List.of("Flop", "Turn", "River"), streets.stream().map(StreetEquity::getStreet).toList());
+        for (StreetEquity street : streets) {
+            double total = street.getPlayerEquities().stream().mapToDouble(PlayerEquity::getEquityPercentage).sum();
+            assertEquals(100.0, total, 1e-6);
+        }
+
+        // The river is the showdown reported in the player results
+        StreetEquity river = streets.get(2);
+        assertEquals(response.getPlayerResults().get(0).getWinPercentage(),
+                river.getPlayerEquities().get(0).getWinPercentage());
+        assertEquals(response.getTiePercentage(), river.getTiePercentage());
+        assertEquals(77.0, river.getPlayerEquities().get(0).getEquityPercentage(), 2.0);
+        assertTrue(response.getLeadChangePercentage() > 0 && response.getLeadChangePercentage() < 50);
+    }
+
+    @Test
+    void testPerStreetEquityWithMadeHand() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "KS")),
+                        new PlayerRequest("Bob", Arrays.asList("2H", "3H"))),
+                Arrays.asList("QS", "JS", "10S"), 500, true);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request);
+
+        List<StreetEquity> streets = response.getStreetEquities();
+        assertEquals(List.of("Turn", "River"), streets.stream().map(StreetEquity::getStreet).toList());
+        for (StreetEquity street : streets) {
+            assertEquals(100.0, street.getPlayerEquities().get(0).getEquityPercentage(), 1e-9);
+        }
+        assertEquals(0.0, response.getLeadChangePercentage());
+    }
+
+    @Test
+    void testStreetEquitiesOnlyIncludedWhenRequested() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "KS")),
+                        new PlayerRequest("Bob", Arrays.asList("2H", "3H"))),
+                null, 100);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request);
+
+        assertNull(response.getStreetEquities());
+        assertNull(response.getLeadChangePercentage());
+    }
+
+    @Test
+    void testHandRankDistribution() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("7D", "6D"))),
+                Arrays.asList("AD", "5D", "9C"), 5000);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request);
+
+        for (PlayerResult result : response.getPlayerResults()) {
+            Map<String, Double> distribution = result.getHandRankDistribution();
+            assertEquals(HandRank.values().length, distribution.size());
+            assertEquals(100.0, distribution.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-6);
+        }
+
+        // Alice holds trips already, Bob never ends with less than high card but often with a draw completed
+        Map<String, Double> alice = response.getPlayerResults().get(0).getHandRankDistribution();
+        assertEquals(0.0, alice.get("High Card"));
+        assertEquals(0.0, alice.get("One Pair"));
+        assertTrue(alice.get("Full House") > 0);
+        assertTrue(response.getPlayerResults().get(1).getHandRankDistribution().get("Flush") > 0);
+    }
+
+    @Test
+    void testHandRankDistributionWithCompleteBoard() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "KS")),
+                        new PlayerRequest("Bob", Arrays.asList("2H", "3H"))),
+                Arrays.asList("QS", "JS", "10S", "9H", "8H"), 100);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request);
+
+        assertEquals(100.0, response.getPlayerResults().get(0).getHandRankDistribution().get("Royal Flush"));
+        assertEquals(100.0, response.getPlayerResults().get(1).getHandRankDistribution().get("Straight"));
+    }
+
+    @Test
+    void testPrecomputedRunoutsMatchExactEquity() {
+        // Flop and turn runs resolve every distinct runout once and weight it by how often it was dealt
+        EquityService equityService = new EquityService(handEvaluatorService);
+        String[][] boards = {{"QD", "7C", "4S", "2H"}, {"QD", "7C", "4S"}};
+        for (String[] board : boards) {
+            SimulationRequest request = new SimulationRequest(
+                    Arrays.asList(
+                            new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                            new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                    Arrays.asList(board), 50000);
+            SimulationSpec spec = request.toSpec();
+
+            SimulationResponse response = pokerSimulationService.runSimulation(spec);
+            double[] exact = equityService.exactEquity(new long[]{spec.holeMask(0), spec.holeMask(1)},
+                    spec.communityMask());
+
+            assertEquals(exact[1] * 100, response.getPlayerResults().get(1).getWinPercentage(), 0.5);
+        }
+    }
+
+    @Test
+    void testRunoutCountingKeepsTotals() {
+        // Bob is drawing dead against quads, every dealt runout must still be counted exactly once
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AC", "2D")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("AS", "AH", "AD", "KC"), 1000);
+
+        SimulationResult result = pokerSimulationService.simulate(request.toSpec());
+
+        assertEquals(1000, result.getWins()[0]);
+        assertEquals(0, result.getWins()[1]);
+        assertEquals(0, result.getTies());
+        assertEquals(1000, result.getHandRankCount(0, HandRank.FOUR_OF_A_KIND));
+        int bobTotal = 0;
+        for (HandRank handRank : HandRank.values()) {
+            bobTotal += result.getHandRankCount(1, handRank);
+        }
+        assertEquals(1000, bobTotal);
+        assertEquals(1000 - result.getHandRankCount(1, HandRank.FOUR_OF_A_KIND),
+                result.getHandRankCount(1, HandRank.FULL_HOUSE));
+    }
+
+    @Test
+    void testRandomOpponentPreflop() {
+        // Pocket aces win about 85% against one random hand
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Hero", Arrays.asList("AS", "AH")),
+                        PlayerRequest.random("Villain")),
+                null, 50000);
+
+        SimulationResponse response = pokerSimulationService.runSimulation(request.toSpec());
+
+        assertEquals(85.0, response.getPlayerResults().get(0).getWinPercentage(), 1.5);
+    }
+
+    @Test
+    void testNineRandomOpponentsOnCompleteBoard() {
+        // The board is complete, but the random hands are dealt anew in every simulation
+        List<PlayerRequest> players = new ArrayList<>();
+        players.add(new PlayerRequest("Hero", Arrays.asList("AS", "KS")));
+        for (int i = 1; i <= 9; i++) {
+            players.add(PlayerRequest.random("Villain " + i));
+        }
+        SimulationRequest request = new SimulationRequest(players, Arrays.asList("AH", "7C", "2D", "9H", "4S"), 2000);
+
+        SimulationResult result = pokerSimulationService.simulate(request.toSpec());
+
+        int total = result.getTies();
+        for (int wins : result.getWins()) {
+            total += wins;
+        }
+        assertEquals(2000, total);
+        assertTrue(result.getWins()[0] > 0 && result.getWins()[0] < 2000);
+        assertEquals(HandRank.ONE_PAIR, result.getBestHandRanks()[0]);
+        assertNull(result.getBestHandRanks()[1]);
+        assertEquals(2000, result.getHandRankCount(0, HandRank.ONE_PAIR));
+    }
+
+    @Test
+    void testValidation_RandomPlayerWithHoleCards() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Hero", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Villain", Arrays.asList("KS", "KH"), true)),
+                null, 100);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, request::toSpec);
+        assertEquals("Random players cannot have hole cards", e.getMessage());
+    }
+
+    @Test
+    void testCompiledPlan_ReusedAcrossRuns() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KD", "KC"))),
+                Arrays.asList("2C", "7D", "9H", "JS"), 100);
+
+        SimulationPlan plan = pokerSimulationService.compile(request.toSpec());
+        assertEquals(SimulationPlan.Mode.RUNOUT_COUNTING, plan.getMode());
+        int[] deck = plan.getDeck().clone();
+
+        // 44 rivers: Bob only wins with one of the two remaining kings
+        for (int iterations : new int[]{1000, 5000}) {
+            SimulationResult result = pokerSimulationService.simulate(plan, iterations);
+            assertEquals(iterations, result.getWins()[0] + result.getWins()[1] + result.getTies());
+            assertEquals(2.0 / 44, (double) result.getWins()[1] / iterations, 0.02);
+        }
+        assertArrayEquals(deck, plan.getDeck());
+        assertThrows(IllegalArgumentException.class, () -> pokerSimulationService.simulate(plan, 0));
+    }
+
+    @Test
+    void testCompiledPlan_Modes() {
+        PlayerRequest alice = new PlayerRequest("Alice", Arrays.asList("AS", "AH"));
+        PlayerRequest bob = new PlayerRequest("Bob", Arrays.asList("KD", "KC"));
+
+        assertEquals(SimulationPlan.Mode.RUNOUT_SAMPLING, pokerSimulationService.compile(
+                new SimulationRequest(Arrays.asList(alice, bob), null, 10).toSpec()).getMode());
+        assertEquals(SimulationPlan.Mode.RANDOM_OPPONENTS, pokerSimulationService.compile(
+                new SimulationRequest(Arrays.asList(alice, PlayerRequest.random("V")), null, 10).toSpec()).getMode());
+
+        SimulationPlan showdown = pokerSimulationService.compile(new SimulationRequest(Arrays.asList(alice, bob),
+                Arrays.asList("2C", "7D", "9H", "JS", "3S"), 10).toSpec());
+        assertEquals(SimulationPlan.Mode.SHOWDOWN, showdown.getMode());
+        assertEquals(HandRank.ONE_PAIR, showdown.getBestHandRanks()[0]);
+    }
+
+    @Test
+    void testSeededRunIsReproducible() throws Exception {
+        // Several chunks on the runout counting path
+        SimulationPlan plan = pokerSimulationService.compile(new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KD", "KC")),
+                        PlayerRequest.random("Carol")),
+                Arrays.asList("2C", "7D", "9H"), 1).toSpec());
+
+        SimulationResult first = pokerSimulationService.simulateSeeded(plan, 200_000, 42);
+        SimulationResult second = pokerSimulationService.simulateSeeded(plan, 200_000, 42);
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        SimulationResult sequential;
+        try {
+            sequential = singleThread.submit(() -> pokerSimulationService.simulateSeeded(plan, 200_000, 42)).get();
+        } finally {
+            singleThread.shutdown();
+        }
+        SimulationResult other = pokerSimulationService.simulateSeeded(plan, 200_000, 43);
+
+        assertArrayEquals(first.getWins(), second.getWins());
+        assertEquals(first.getTies(), second.getTies());
+        assertArrayEquals(first.getHandRankCounts(), second.getHandRankCounts());
+        assertArrayEquals(first.getWins(), sequential.getWins());
+        assertArrayEquals(first.getHandRankCounts(), sequential.getHandRankCounts());
+        assertFalse(Arrays.equals(first.getWins(), other.getWins()));
+        assertEquals(200_000, first.getWins()[0] + first.getWins()[1] + first.getWins()[2] + first.getTies());
+    }
+
+    @Test
+    void testSeedFromRequest() {
+        SimulationRequest request = new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KD", "KC"))),
+                null, 100_000, true, 7L);
+
+        SimulationResponse first = pokerSimulationService.runSimulation(request.toSpec());
+        SimulationResponse second = pokerSimulationService.runSimulation(request.toSpec());
+
+        assertEquals(first, second);
+        assertEquals(3, first.getStreetEquities().size());
+    }
+}
@@ -0,0 +1,97 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.PreparedSimulationResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PreparedSimulationService
+ */
+class PreparedSimulationServiceTest {
+
+    private PreparedSimulationService preparedSimulationService;
+
+    @BeforeEach
+    void setUp() {
+        preparedSimulationService = new PreparedSimulationService(
+                new PokerSimulationService(new HandEvaluatorService()), 2);
+    }
+
+    @Test
+    void testPrepareAndExecute() {
+        PreparedSimulationResponse prepared = preparedSimulationService.prepare(spec(500));
+
+        assertEquals("RUNOUT_SAMPLING", prepared.getMode());
+        assertEquals(500, prepared.getNumberOfSimulations());
+
+        SimulationResponse response = preparedSimulationService.execute(prepared.getHandle(), null, null);
+        assertEquals(500, response.getTotalSimulations());
+        assertEquals("Alice", response.getPlayerResults().get(0).getName());
+
+        response = preparedSimulationService.execute(prepared.getHandle(), 2000, null);
+        assertEquals(2000, response.getTotalSimulations());
+
+        SimulationResponse seeded = preparedSimulationService.execute(prepared.getHandle(), 2000, 7L);
+        assertEquals(seeded.getPlayerResults().get(0).getWinPercentage(),
+                preparedSimulationService.execute(prepared.getHandle(), 2000, 7L)
+                        .getPlayerResults().get(0).getWinPercentage());
+    }
+
+    @Test
+    void testLeastRecentlyUsedPlanIsEvicted() {
+        String first = preparedSimulationService.prepare(spec(10)).getHandle();
+        String second = preparedSimulationService.prepare(spec(10)).getHandle();
+
+        // Touching the first plan makes the second one the eldest
+        preparedSimulationService.execute(first, null, null);
+        String third = preparedSimulationService.prepare(spec(10)).getHandle();
+
+        assertEquals(2, preparedSimulationService.size());
+        assertNotNull(preparedSimulationService.execute(first, null, null));
+        assertNotNull(preparedSimulationService.execute(third, null, null));
+        assertThrows(NoSuchElementException.class, () -> preparedSimulationService.execute(second, null, null));
+    }
+
+    @Test
+    void testUnknownHandle() {
+        assertThrows(NoSuchElementException.class, () -> preparedSimulationService.execute("missing", null, null));
+        assertFalse(preparedSimulationService.remove("missing"));
+
+        String handle = preparedSimulationService.prepare(spec(10)).getHandle();
+        assertTrue(preparedSimulationService.remove(handle));
+        assertThrows(NoSuchElementException.class, () -> preparedSimulationService.execute(handle, null, null));
+    }
+
+    @Test
+    void testInvalidNumberOfSimulations() {
+        String handle = preparedSimulationService.prepare(spec(10)).getHandle();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> preparedSimulationService.execute(handle, SimulationSpec.MAX_SIMULATIONS + 1, null));
+    }
+
+    @Test
+    void testCacheMustHoldAPlan() {
+        PokerSimulationService pokerSimulationService = new PokerSimulationService(new HandEvaluatorService());
+
+        assertThrows(IllegalArgumentException.class, () -> new PreparedSimulationService(pokerSimulationService, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PreparedSimulationService(pokerSimulationService, -1));
+    }
+
+    private static SimulationSpec spec(int numberOfSimulations) {
+        return new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KD", "KC"))),
+                null, numberOfSimulations).toSpec();
+    }
+}
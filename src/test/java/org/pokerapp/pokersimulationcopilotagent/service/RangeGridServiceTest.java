@@ -0,0 +1,95 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridCell;
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.RangeGridResponse;
+import org.pokerapp.pokersimulationcopilotagent.model.HandClass;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RangeGridService
+ */
+class RangeGridServiceTest {
+
+    private RangeGridService rangeGridService;
+
+    @BeforeEach
+    void setUp() {
+        rangeGridService = new RangeGridService(new HandEvaluatorService());
+    }
+
+    @Test
+    void testRiverGridAgainstAces() {
+        RangeGridResponse response = rangeGridService.computeGrid(
+                new RangeGridRequest(List.of("AA"), List.of("2C", "7D", "9H", "JS", "3C"), 100));
+
+        assertEquals(6, response.getVillainCombos());
+        assertEquals(13, response.getGrid().size());
+        assertEquals("A", response.getRanks().get(0));
+
+        // Aces against the last remaining aces always split
+        RangeGridCell aces = cell(response, "AA");
+        assertEquals(6, aces.getCombos());
+        assertEquals(600, aces.getSamples());
+        assertEquals(50.0, aces.getEquityPercentage(), 1e-9);
+
+        // 2C is on the board, the three remaining deuce combos make a set
+        RangeGridCell deuces = cell(response, "22");
+        assertEquals(3, deuces.getCombos());
+        assertEquals(300, deuces.getSamples());
+        assertEquals(100.0, deuces.getEquityPercentage(), 1e-9);
+
+        assertEquals(0.0, cell(response, "KK").getEquityPercentage(), 1e-9);
+    }
+
+    @Test
+    void testPreflopGridAgainstAnyTwoCards() {
+        RangeGridResponse response = rangeGridService.computeGrid(
+                new RangeGridRequest(null, null, 5000), new SplittableRandom(42));
+
+        assertEquals(1326, response.getVillainCombos());
+        // Reference equities against a random hand
+        assertEquals(85.2, cell(response, "AA").getEquityPercentage(), 1.5);
+        assertEquals(67.0, cell(response, "AKs").getEquityPercentage(), 1.5);
+        assertEquals(34.6, cell(response, "72o").getEquityPercentage(), 1.5);
+        // Common random numbers keep the ordering of close classes stable
+        assertTrue(cell(response, "AKs").getEquityPercentage() > cell(response, "AKo").getEquityPercentage());
+    }
+
+    @Test
+    void testClassesBlockedByTheBoardHaveNoSamples() {
+        RangeGridResponse response = rangeGridService.computeGrid(
+                new RangeGridRequest(List.of("KK"), List.of("AS", "AH", "AD", "AC"), 10));
+
+        RangeGridCell aces = cell(response, "AA");
+        assertEquals(0, aces.getCombos());
+        assertEquals(0, aces.getSamples());
+        assertNull(aces.getEquityPercentage());
+        RangeGridCell kingQueen = cell(response, "KQo");
+        assertEquals(12, kingQueen.getCombos());
+        assertEquals(120, kingQueen.getSamples());
+    }
+
+    @Test
+    void testValidation() {
+        IllegalArgumentException empty = assertThrows(IllegalArgumentException.class, () ->
+                rangeGridService.computeGrid(new RangeGridRequest(List.of("AA"), List.of("AS", "AH", "AD"), 10)));
+        assertEquals("Villain range has no combos left on this board", empty.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                rangeGridService.computeGrid(new RangeGridRequest(List.of("AK"), null, 10)));
+        assertThrows(IllegalArgumentException.class, () ->
+                rangeGridService.computeGrid(new RangeGridRequest(null, null, 0)));
+    }
+
+    private static RangeGridCell cell(RangeGridResponse response, String hand) {
+        int handClass = HandClass.parse(hand);
+        return response.getGrid().get(handClass / HandClass.GRID_SIZE).get(handClass % HandClass.GRID_SIZE);
+    }
+}
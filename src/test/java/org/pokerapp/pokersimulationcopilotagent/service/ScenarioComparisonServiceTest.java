@@ -0,0 +1,106 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.ComparisonScenario;
+import org.pokerapp.pokersimulationcopilotagent.dto.EquityDifference;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioComparisonService
+ */
+class ScenarioComparisonServiceTest {
+
+    private ScenarioComparisonService scenarioComparisonService;
+
+    @BeforeEach
+    void setUp() {
+        scenarioComparisonService = new ScenarioComparisonService(new HandEvaluatorService());
+    }
+
+    @Test
+    void testIdenticalScenariosHaveNoDifference() {
+        ComparisonScenario scenario = scenario("A", hand("Hero", "AS", "KS"), PlayerRequest.random("Villain"));
+        ComparisonResponse response = compare(5000, scenario, scenario);
+
+        EquityDifference difference = response.getDifferences().get(0);
+        assertEquals(0.0, difference.getDifference(), 0.0);
+        assertEquals(0.0, difference.getStandardError(), 0.0);
+        assertTrue(difference.getIndependentStandardError() > 0.5);
+        assertEquals(response.getScenarios().get(0).getEquityPercentage(),
+                response.getScenarios().get(1).getEquityPercentage(), 0.0);
+    }
+
+    @Test
+    void testCommonRunoutsShrinkTheErrorOfTheDifference() {
+        // Same spot with and without a spade blocker in the villain's hand
+        ComparisonResponse response = compare(20_000,
+                scenario("Without blocker", hand("Hero", "AS", "KS"), hand("Villain", "QD", "QC")),
+                scenario("With blocker", hand("Hero", "AS", "KS"), hand("Villain", "QS", "QC")));
+
+        // About 46% and 44% preflop
+        assertEquals(46.0, response.getScenarios().get(0).getEquityPercentage(), 2.0);
+        assertEquals(44.0, response.getScenarios().get(1).getEquityPercentage(), 2.0);
+
+        EquityDifference difference = response.getDifferences().get(0);
+        assertEquals("With blocker", difference.getScenario());
+        assertEquals("Without blocker", difference.getBaseline());
+        assertTrue(difference.getDifference() < 0);
+        assertTrue(difference.getStandardError() < difference.getIndependentStandardError() / 2,
+                difference.getStandardError() + " vs " + difference.getIndependentStandardError());
+    }
+
+    @Test
+    void testCompleteBoardIsExact() {
+        List<String> board = Arrays.asList("QS", "JS", "10S", "9H", "8H");
+        ComparisonResponse response = compare(100,
+                new ComparisonScenario("Royal", Arrays.asList(hand("Alice", "AS", "KS"), hand("Bob", "2H", "3H")), board),
+                new ComparisonScenario("Split", Arrays.asList(hand("Alice", "2C", "3C"), hand("Bob", "2D", "3D")), board));
+
+        assertEquals(100.0, response.getScenarios().get(0).getEquityPercentage(), 0.0);
+        assertEquals(50.0, response.getScenarios().get(1).getEquityPercentage(), 0.0);
+        assertEquals(-50.0, response.getDifferences().get(0).getDifference(), 0.0);
+        assertEquals(0.0, response.getDifferences().get(0).getStandardError(), 0.0);
+    }
+
+    @Test
+    void testStandardError() {
+        // Samples 0, 1, 0, 1: variance 1/3, standard error sqrt(1/12)
+        assertEquals(Math.sqrt(1.0 / 12), ScenarioComparisonService.standardError(2, 2, 4), 1e-12);
+        assertEquals(0.0, ScenarioComparisonService.standardError(1, 1, 1), 0.0);
+    }
+
+    @Test
+    void testValidation() {
+        ComparisonRequest single = new ComparisonRequest(
+                List.of(scenario("A", hand("Hero", "AS", "KS"), PlayerRequest.random("Villain"))), 100);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> scenarioComparisonService.compare(single));
+        assertEquals("At least 2 scenarios are required for a comparison", e.getMessage());
+
+        ComparisonScenario duplicate = scenario("B", hand("Hero", "AS", "KS"), hand("Villain", "AS", "QC"));
+        ComparisonRequest invalid = new ComparisonRequest(List.of(duplicate, duplicate), 100);
+        assertThrows(IllegalArgumentException.class, () -> scenarioComparisonService.compare(invalid));
+    }
+
+    private ComparisonResponse compare(int iterations, ComparisonScenario... scenarios) {
+        return scenarioComparisonService.compare(new ComparisonRequest(Arrays.asList(scenarios), iterations),
+                new SplittableRandom(42));
+    }
+
+    private static ComparisonScenario scenario(String name, PlayerRequest... players) {
+        return new ComparisonScenario(name, Arrays.asList(players), null);
+    }
+
+    private static PlayerRequest hand(String name, String first, String second) {
+        return new PlayerRequest(name, Arrays.asList(first, second));
+    }
+}
@@ -0,0 +1,127 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShowdownService
+ */
+class ShowdownServiceTest {
+
+    private ShowdownService showdownService;
+
+    @BeforeEach
+    void setUp() {
+        showdownService = new ShowdownService(new HandEvaluatorService());
+    }
+
+    @Test
+    void testSingleWinner() {
+        ShowdownHandRequest hand = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("AD", "KD", "7C", "4S", "2H"));
+
+        ShowdownBatchResponse response = showdownService.evaluateBatch(new ShowdownBatchRequest(List.of(hand)));
+
+        assertEquals(1, response.getTotalHands());
+        ShowdownHandResult result = response.getResults().get(0);
+        assertEquals(List.of("Alice"), result.getWinners());
+        assertEquals("Three of a Kind", result.getPlayers().get(0).getHandRank());
+        assertTrue(result.getPlayers().get(0).isWinner());
+        assertFalse(result.getPlayers().get(1).isWinner());
+    }
+
+    @Test
+    void testSplitPot() {
+        ShowdownHandRequest hand = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("2H", "3H")),
+                        new PlayerRequest("Bob", Arrays.asList("2D", "3D"))),
+                Arrays.asList("AS", "KS", "QS", "JS", "10S"));
+
+        ShowdownHandResult result = showdownService.evaluateBatch(new ShowdownBatchRequest(List.of(hand)))
+                .getResults().get(0);
+
+        assertEquals(List.of("Alice", "Bob"), result.getWinners());
+        assertEquals("Royal Flush", result.getPlayers().get(1).getHandRank());
+    }
+
+    @Test
+    void testLargeBatchKeepsOrder() {
+        List<ShowdownHandRequest> hands = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            List<PlayerRequest> players = i % 2 == 0
+                    ? Arrays.asList(new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                                    new PlayerRequest("Bob", Arrays.asList("KS", "KH")))
+                    : Arrays.asList(new PlayerRequest("Alice", Arrays.asList("KS", "KH")),
+                                    new PlayerRequest("Bob", Arrays.asList("AS", "AH")));
+            hands.add(new ShowdownHandRequest(players, Arrays.asList("9D", "8C", "5S", "4H", "2D")));
+        }
+
+        List<ShowdownHandResult> results = showdownService.evaluateBatch(new ShowdownBatchRequest(hands)).getResults();
+
+        assertEquals(5000, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(List.of(i % 2 == 0 ? "Alice" : "Bob"), results.get(i).getWinners());
+        }
+    }
+
+    @Test
+    void testInvalidHandIsReportedWithIndex() {
+        ShowdownHandRequest valid = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("9D", "8C", "5S", "4H", "2D"));
+        ShowdownHandRequest duplicate = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("AS", "KH"))),
+                Arrays.asList("9D", "8C", "5S", "4H", "2D"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> showdownService.evaluateBatch(new ShowdownBatchRequest(List.of(valid, duplicate))));
+        assertEquals("Hand 2: Duplicate card found: AS", e.getMessage());
+    }
+
+    @Test
+    void testIncompleteBoardIsRejected() {
+        ShowdownHandRequest hand = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("9D", "8C", "5S"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> showdownService.evaluateBatch(new ShowdownBatchRequest(List.of(hand))));
+    }
+
+    @Test
+    void testNullEntriesAreRejected() {
+        ShowdownHandRequest valid = new ShowdownHandRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KS", "KH"))),
+                Arrays.asList("9D", "8C", "5S", "4H", "2D"));
+        ShowdownHandRequest nullPlayer = new ShowdownHandRequest(
+                Arrays.asList(new PlayerRequest("Alice", Arrays.asList("AS", "AH")), null),
+                Arrays.asList("9D", "8C", "5S", "4H", "2D"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> showdownService.evaluateBatch(new ShowdownBatchRequest(Arrays.asList(valid, null))));
+        assertEquals("Hand 2: Hand cannot be null", e.getMessage());
+
+        e = assertThrows(IllegalArgumentException.class,
+                () -> showdownService.evaluateBatch(new ShowdownBatchRequest(List.of(valid, nullPlayer))));
+        assertEquals("Hand 2: Player cannot be null", e.getMessage());
+    }
+}
@@ -0,0 +1,293 @@
+package org.pokerapp.pokersimulationcopilotagent.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pokerapp.pokersimulationcopilotagent.dto.BatchingStatsResponse;
+import org.pokerapp.pokersimulationcopilotagent.dto.PlayerRequest;
+import org.pokerapp.pokersimulationcopilotagent.dto.SimulationRequest;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationPlan;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationResult;
+import org.pokerapp.pokersimulationcopilotagent.model.SimulationSpec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationBatchDispatcher
+ */
+class SimulationBatchDispatcherTest {
+
+    private SimulationBatchDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testConcurrentRequestsAreBatched() throws Exception {
+        // A wide window so the concurrent requests reliably meet in one batch on a loaded machine
+        dispatcher = dispatcher(true, 200_000, 8);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SimulationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int iterations = 1000 + i;
+                results.add(callers.submit(() -> dispatcher.simulate(spec(iterations, "2C", "7D", "9H"))));
+            }
+            for (int i = 0; i < 8; i++) {
+                SimulationResult result = results.get(i).get();
+                assertEquals(1000 + i, result.getTotalSimulations());
+                assertEquals(1000 + i, result.getWins()[0] + result.getWins()[1] + result.getTies());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        BatchingStatsResponse stats = dispatcher.stats();
+        assertEquals(8, stats.getBatchedRequests());
+        assertEquals(0, stats.getInlineRequests());
+        assertTrue(stats.getBatches() < 8, "expected fewer batches than requests, got " + stats.getBatches());
+        assertTrue(stats.getAverageBatchSize() > 1);
+        assertTrue(stats.getMaxAddedLatencyMicros() > 0);
+    }
+
+    @Test
+    void testLargeRequestsRunInline() {
+        dispatcher = dispatcher(true, 1000, 8);
+
+        assertEquals(20_000, dispatcher.simulate(spec(20_000)).getTotalSimulations());
+        assertEquals(500, dispatcher.runSimulation(spec(500)).getTotalSimulations());
+
+        BatchingStatsResponse stats = dispatcher.stats();
+        assertEquals(1, stats.getInlineRequests());
+        assertEquals(1, stats.getBatchedRequests());
+    }
+
+    @Test
+    void testDisabledRunsInline() {
+        dispatcher = dispatcher(false, 1000, 8);
+
+        assertEquals(100, dispatcher.runSimulation(spec(100)).getTotalSimulations());
+        assertEquals(1, dispatcher.stats().getInlineRequests());
+        assertEquals(0, dispatcher.stats().getBatches());
+    }
+
+    @Test
+    void testWorkerErrorsReachTheCaller() {
+        PokerSimulationService failing = new PokerSimulationService(new HandEvaluatorService()) {
+            @Override
+            public SimulationResult simulate(SimulationPlan plan, int iterations) {
+                throw new IllegalStateException("Kernel failure");
+            }
+        };
+        dispatcher = dispatcher(failing, 1, 1000);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> dispatcher.simulate(spec(100)));
+        assertEquals("Kernel failure", e.getMessage());
+        assertEquals(1, dispatcher.stats().getBatchedRequests());
+    }
+
+    @Test
+    void testWorkerSurvivesErrors() {
+        AtomicBoolean failed = new AtomicBoolean();
+        PokerSimulationService failingOnce = new PokerSimulationService(new HandEvaluatorService()) {
+            @Override
+            public SimulationResult simulate(SimulationPlan plan, int iterations) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new AssertionError("Kernel error");
+                }
+                return super.simulate(plan, iterations);
+            }
+        };
+        dispatcher = dispatcher(failingOnce, 1, 1000);
+
+        AssertionError e = assertThrows(AssertionError.class, () -> dispatcher.simulate(spec(100)));
+        assertEquals("Kernel error", e.getMessage());
+        assertEquals(100, dispatcher.simulate(spec(100)).getTotalSimulations());
+        assertEquals(2, dispatcher.stats().getBatchedRequests());
+    }
+
+    @Test
+    void testShutdownFailsQueuedRequestsAndLaterOnesRunInline() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = dispatcher(blockingFirstRun(running, release), 1, 60_000);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<SimulationResult> first = callers.submit(() -> dispatcher.simulate(spec(100)));
+            running.await();
+            AtomicReference<Thread> caller = new AtomicReference<>();
+            Future<SimulationResult> queued = callers.submit(() -> {
+                caller.set(Thread.currentThread());
+                return dispatcher.simulate(spec(200));
+            });
+            awaitParked(caller);
+
+            dispatcher.shutdown();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(SimulationUnavailableException.class, e.getCause());
+            assertEquals("Simulation dispatcher stopped", e.getCause().getMessage());
+            release.countDown();
+            assertEquals(100, first.get(10, TimeUnit.SECONDS).getTotalSimulations());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+
+        assertEquals(300, dispatcher.simulate(spec(300)).getTotalSimulations());
+        assertEquals(1, dispatcher.stats().getInlineRequests());
+    }
+
+    @Test
+    void testWaitsAreBounded() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = dispatcher(blockingFirstRun(running, release), 1, 100);
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<SimulationResult> first = callers.submit(() -> dispatcher.simulate(spec(100)));
+            running.await();
+
+            // Still queued behind the stuck run when the wait is over, so it runs on the caller's thread
+            assertEquals(200, dispatcher.simulate(spec(200)).getTotalSimulations());
+            assertEquals(1, dispatcher.stats().getInlineRequests());
+
+            // Already running: the caller gives up
+            ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(SimulationUnavailableException.class, e.getCause());
+            assertEquals("Timed out waiting for the batched simulation", e.getCause().getMessage());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAbandonedRequestsAreSkipped() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        PokerSimulationService counting = new PokerSimulationService(new HandEvaluatorService()) {
+            @Override
+            public SimulationResult simulate(SimulationPlan plan, int iterations) {
+                runs.incrementAndGet();
+                return super.simulate(plan, iterations);
+            }
+        };
+        // The window outlasts the timeout: both requests are held by the collecting worker when their callers give up
+        dispatcher = new SimulationBatchDispatcher(counting, true, 500_000, 8,
+                SimulationBatchDispatcher.DEFAULT_MAX_ITERATIONS, SimulationBatchDispatcher.DEFAULT_MAX_BATCH_ITERATIONS,
+                1, 50);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<SimulationResult> first = callers.submit(() -> dispatcher.simulate(spec(100)));
+            Future<SimulationResult> second = callers.submit(() -> dispatcher.simulate(spec(200)));
+            for (Future<SimulationResult> abandoned : List.of(first, second)) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> abandoned.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(SimulationUnavailableException.class, e.getCause());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // Both were cancelled before the batch started, so the worker skips them instead of running them
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (dispatcher.stats().getBatches() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Batch did not start");
+            Thread.sleep(1);
+        }
+        Thread.sleep(100);
+        assertEquals(2, dispatcher.stats().getLargestBatch());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testBatchIterationsAreCapped() throws Exception {
+        dispatcher = new SimulationBatchDispatcher(new PokerSimulationService(new HandEvaluatorService()), true, 200_000,
+                8, SimulationBatchDispatcher.DEFAULT_MAX_ITERATIONS, 2500, 1, SimulationBatchDispatcher.DEFAULT_TIMEOUT_MILLIS);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SimulationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> dispatcher.simulate(spec(1000))));
+            }
+            for (Future<SimulationResult> result : results) {
+                assertEquals(1000, result.get(10, TimeUnit.SECONDS).getTotalSimulations());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // At most two requests of 1000 iterations fit under the cap of 2500
+        BatchingStatsResponse stats = dispatcher.stats();
+        assertEquals(4, stats.getBatchedRequests());
+        assertTrue(stats.getLargestBatch() <= 2, "largest batch " + stats.getLargestBatch());
+        assertTrue(stats.getBatches() >= 2);
+        assertEquals(2500, stats.getMaxBatchIterations());
+    }
+
+    private static SimulationBatchDispatcher dispatcher(boolean enabled, long windowMicros, int maxBatchSize) {
+        return new SimulationBatchDispatcher(new PokerSimulationService(new HandEvaluatorService()), enabled,
+                windowMicros, maxBatchSize, SimulationBatchDispatcher.DEFAULT_MAX_ITERATIONS,
+                SimulationBatchDispatcher.DEFAULT_MAX_BATCH_ITERATIONS, 1, SimulationBatchDispatcher.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    private static SimulationBatchDispatcher dispatcher(PokerSimulationService service, int workers, long timeoutMillis) {
+        return new SimulationBatchDispatcher(service, true, 0, 8, SimulationBatchDispatcher.DEFAULT_MAX_ITERATIONS,
+                SimulationBatchDispatcher.DEFAULT_MAX_BATCH_ITERATIONS, workers, timeoutMillis);
+    }
+
+    /**
+     * Service whose first run signals {@code running} and then blocks until {@code release}
+     */
+    private static PokerSimulationService blockingFirstRun(CountDownLatch running, CountDownLatch release) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return new PokerSimulationService(new HandEvaluatorService()) {
+            @Override
+            public SimulationResult simulate(SimulationPlan plan, int iterations) {
+                if (first.compareAndSet(true, false)) {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.simulate(plan, iterations);
+            }
+        };
+    }
+
+    /**
+     * Wait until the caller thread waits for the result of its queued request
+     */
+    private static void awaitParked(AtomicReference<Thread> caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (caller.get() == null || caller.get().getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Request was not queued");
+            Thread.sleep(1);
+        }
+    }
+
+    private static SimulationSpec spec(int numberOfSimulations, String... communityCards) {
+        return new SimulationRequest(
+                Arrays.asList(
+                        new PlayerRequest("Alice", Arrays.asList("AS", "AH")),
+                        new PlayerRequest("Bob", Arrays.asList("KD", "KC"))),
+                Arrays.asList(communityCards), numberOfSimulations).toSpec();
+    }
+}